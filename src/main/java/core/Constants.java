@@ -90,9 +90,111 @@ public class Constants {
     public static final String GRAPH_BUILD_ERROR = "Erro durante a construção do grafo: ";
     /** Mensagem de erro para adjacência */
     public static final String ADJACENCY_ERROR = "Erro durante a análise de adjacência: ";
+    /** Padrão DE-9IM satisfeito quando os interiores de duas geometrias se intersetam */
+    public static final String INTERIORS_INTERSECT_PATTERN = "T********";
+    /** Mensagem de erro para arestas com índices de vértice inválidos */
+    public static final String ADJACENCY_INDEX_ERROR = "Aresta com índice de vértice inválido";
     /** Mensagem de erro para proprietário inválido */
     public static final String INVALID_OWNER_ERROR = "ID do proprietário deve ser maior que zero";
 
+    // ================ Constantes de Consulta Espacial ================
+    /** Mensagem de erro para índice espacial nulo */
+    public static final String NULL_INDEX_ERROR = "Índice espacial não pode ser nulo";
+    /** Mensagem de erro para envelope nulo */
+    public static final String NULL_ENVELOPE_ERROR = "Envelope de pesquisa não pode ser nulo";
+    /** Mensagem de erro para coordenadas nulas */
+    public static final String NULL_COORDINATE_ERROR = "Coordenadas não podem ser nulas";
+    /** Mensagem de erro para lista de zonas nula */
+    public static final String NULL_ZONES_ERROR = "Lista de zonas não pode ser nula nem conter elementos nulos";
+    /** Mensagem de erro para geometria de zona que não é poligonal */
+    public static final String INVALID_ZONE_GEOMETRY_ERROR = " não é um Polygon nem um MultiPolygon";
+    /** Mensagem de erro para destino de resultados nulo */
+    public static final String NULL_SINK_ERROR = "Destino dos resultados não pode ser nulo";
+    /** Mensagem de erro para escrita de resultados */
+    public static final String FILE_WRITE_ERROR = "Erro ao escrever o ficheiro de resultados";
+    /** Mensagem de erro para tolerância inválida */
+    public static final String INVALID_TOLERANCE_ERROR = "Tolerância deve ser maior que zero";
+    /** Índice do campo ID no CSV de zonas */
+    public static final int ZONE_ID_INDEX = 0;
+    /** Índice do campo forma geométrica no CSV de zonas */
+    public static final int ZONE_SHAPE_INDEX = 1;
+    /** Número de elementos processados em paralelo antes de cada escrita de resultados */
+    public static final int SPATIAL_BATCH_SIZE = 4096;
+
+    // ================ Constantes de Construção de Grafos ================
+    /** Número de propriedades processadas por cada tarefa na construção paralela */
+    public static final int PARALLEL_BUILD_GRAIN = 256;
+    /** Mensagem de erro para motor de adjacências nulo */
+    public static final String NULL_ENGINE_ERROR = "Motor de adjacências não pode ser nulo";
+    /** Número máximo de propriedades para o qual a comparação exaustiva é escolhida */
+    public static final int ENGINE_BRUTE_FORCE_LIMIT = 32;
+    /** Número médio de vértices a partir do qual compensa preparar as geometrias */
+    public static final int ENGINE_PREPARED_VERTEX_THRESHOLD = 12;
+    /** Número de propriedades a partir do qual a partilha de segmentos, no modo exato, é escolhida */
+    public static final int ENGINE_SHARED_EDGE_LIMIT = 5000;
+    /** Mensagem de erro para propriedade já presente no grafo */
+    public static final String DUPLICATE_PROPERTY_ERROR = "Propriedade já pertence ao grafo";
+    /** Mensagem de erro para propriedade que não pertence ao grafo */
+    public static final String UNKNOWN_PROPERTY_ERROR = "Propriedade não pertence ao grafo";
+    /** Mensagem de erro para tamanho de mosaico inválido */
+    public static final String INVALID_TILE_SIZE_ERROR = "Tamanho do mosaico deve ser positivo";
+    /** Número máximo de arestas de uma lista, limitado pelo tamanho máximo de um vetor */
+    public static final int MAX_EDGE_COUNT = Integer.MAX_VALUE - 8;
+    /** Mensagem de erro para grafo com mais arestas do que uma lista suporta */
+    public static final String EDGE_LIMIT_ERROR = "Número de arestas excede o máximo suportado por uma lista";
+    /** Mensagem de erro para ficheiro de grafo em mosaicos inválido */
+    public static final String INVALID_TILED_GRAPH_ERROR = "Ficheiro de grafo em mosaicos inválido";
+    /** Número máximo de ficheiros de mosaico abertos em simultâneo durante a partição */
+    public static final int MAX_OPEN_TILE_FILES = 128;
+    /** Identificador no início de cada ficheiro de grafo em mosaicos */
+    public static final int TILED_GRAPH_MAGIC = 0x47524154;
+    /** Versão do formato dos ficheiros de grafo em mosaicos, independente da versão da cache de adjacências */
+    public static final int TILED_GRAPH_VERSION = 3;
+    /** Mensagem de erro para diretório de cache nulo */
+    public static final String NULL_CACHE_DIRECTORY_ERROR = "Diretório da cache de adjacências não pode ser nulo";
+    /** Pasta da cache de adjacências, relativa à pasta pessoal do utilizador */
+    public static final String ADJACENCY_CACHE_FOLDER = ".georegistry/adjacency";
+    /** Extensão dos ficheiros da cache de adjacências */
+    public static final String ADJACENCY_CACHE_EXTENSION = ".adj";
+    /** Identificador no início de cada ficheiro da cache de adjacências */
+    public static final int ADJACENCY_CACHE_MAGIC = 0x47524144;
+    /** Versão do formato dos ficheiros da cache de adjacências */
+    public static final int ADJACENCY_CACHE_VERSION = 3;
+    /** Sufixo da identidade na cache do motor de partilha de segmentos em modo noded */
+    public static final String NODED_ENGINE_SUFFIX = "#noded";
+    /** Mensagem de erro para ficheiro de origem nulo */
+    public static final String NULL_SOURCE_ERROR = "Ficheiro de origem não pode ser nulo";
+    /** Mensagem de erro para lista de adjacências maior do que um ficheiro da cache suporta */
+    public static final String ADJACENCY_CACHE_SIZE_ERROR = "Lista de adjacências demasiado grande para a cache";
+    /** Mensagem de erro para construção de grafo cancelada */
+    public static final String BUILD_CANCELLED_ERROR = "Construção do grafo cancelada";
+    /** Mensagem de erro para monitor de construção nulo */
+    public static final String NULL_MONITOR_ERROR = "Monitor de construção não pode ser nulo";
+    /** Número máximo de vezes que o progresso de uma construção é comunicado */
+    public static final int PROGRESS_REPORT_STEPS = 100;
+    /** Número de propriedades avaliadas entre cada registo de progresso de uma tarefa */
+    public static final int PROGRESS_BATCH_SIZE = 64;
+
+    // ================ Constantes de Análise de Grafos ================
+    /** Mensagem de erro para lista de adjacências nula */
+    public static final String NULL_ADJACENCY_ERROR = "Lista de adjacências não pode ser nula";
+    /** Mensagem de erro para vértice fora do grafo */
+    public static final String INVALID_VERTEX_ERROR = "Vértice não pertence ao grafo: ";
+    /** Mensagem de erro para número de saltos inválido */
+    public static final String INVALID_HOPS_ERROR = "Número de saltos não pode ser negativo";
+    /** Mensagem de erro para custo de propriedade negativo ou não finito */
+    public static final String INVALID_COST_ERROR = "Custo inválido para a propriedade ";
+    /** Número máximo de rondas da propagação de etiquetas na deteção de comunidades */
+    public static final int LABEL_PROPAGATION_MAX_ITERATIONS = 50;
+    /** Número máximo de varrimentos de pesquisa em largura na estimativa do diâmetro */
+    public static final int DIAMETER_SWEEPS = 4;
+    /** Tamanho da fronteira a partir do qual a pesquisa em largura expande a fronteira em paralelo */
+    public static final int PARALLEL_FRONTIER_THRESHOLD = 4096;
+    /** Mensagem de erro para identificador de vértice repetido na comparação de grafos */
+    public static final String DUPLICATE_VERTEX_ID_ERROR = "Identificador repetido no grafo: ";
+    /** Mensagem de erro para consumidor de arestas nulo */
+    public static final String NULL_CONSUMER_ERROR = "Consumidor de arestas não pode ser nulo";
+
     // ================ Constantes da Interface Gráfica ================
     // Configuração da janela
     /** Título exibido na janela principal da aplicação */
@@ -173,6 +275,10 @@ public class Constants {
     public static final String PROPERTY_GRAPH_WINDOW_TITLE = "Visualização do Grafo de Propriedades";
     /** Título para a janela do grafo de proprietários */
     public static final String OWNER_GRAPH_WINDOW_TITLE = "Visualização do Grafo de Proprietários";
+    /** Texto da janela de carregamento antes de existir progresso */
+    public static final String LOADING_TEXT = "A carregar...";
+    /** Formato do progresso da construção de um grafo: propriedades avaliadas, total e segundos restantes */
+    public static final String BUILD_PROGRESS_FORMAT = "<html>%d de %d propriedades<br>Tempo restante: %d s</html>";
     /** Título para a janela de sugestões de troca */
     public static final String PROPERTY_EXCHANGE_WINDOW_TITLE = "Sugestões de Troca de Propriedades";
     /** Título da janela de cálculo de área média de propriedades */
@@ -0,0 +1,104 @@
+package model;
+
+import core.Constants;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record que representa uma zona de uma camada externa (zonamento, área protegida,
+ * perímetro de rega), lida de um ficheiro CSV com a geometria em WKT.
+ * 
+ * @param id O identificador da zona
+ * @param shape A geometria poligonal da zona
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public record Zone(String id, Geometry shape) {
+
+    /**
+     * Valida os campos da zona.
+     * 
+     * @throws IllegalArgumentException se o identificador ou a geometria forem inválidos
+     */
+    public Zone {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID" + Constants.NULL_OR_EMPTY_ERROR);
+        }
+        if (shape == null) {
+            throw new IllegalArgumentException(Constants.NULL_SHAPE_ERROR);
+        }
+        if (!(shape instanceof Polygonal)) {
+            throw new IllegalArgumentException(shape.getGeometryType() + Constants.INVALID_ZONE_GEOMETRY_ERROR);
+        }
+    }
+
+    /**
+     * Constrói uma zona a partir de um registo CSV.
+     * 
+     * @param record O registo CSV contendo o identificador e a geometria WKT
+     * @return A zona correspondente
+     * @throws IllegalArgumentException se o registo for nulo ou os seus campos forem inválidos
+     */
+    public static Zone fromRecord(CSVRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException("Record cannot be null");
+        }
+        String wkt = record.get(Constants.ZONE_SHAPE_INDEX);
+        try {
+            return new Zone(record.get(Constants.ZONE_ID_INDEX), new WKTReader().read(wkt));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid WKT format: " + wkt, e);
+        }
+    }
+
+    /**
+     * Lê um ficheiro CSV de zonas (separado por ';', com cabeçalho) e retorna a lista de zonas.
+     * Registos inválidos são ignorados.
+     * 
+     * @param path O caminho do ficheiro CSV
+     * @return Lista de zonas lidas do ficheiro
+     * @throws Exception Se houver erro ao ler o ficheiro ou se não houver zonas válidas
+     */
+    public static List<Zone> getZones(String path) throws Exception {
+        List<Zone> zones = new ArrayList<>();
+
+        try (Reader in = new FileReader(path);
+                CSVParser parser = CSVFormat.newFormat(';').parse(in)) {
+
+            boolean header = true;
+            for (CSVRecord record : parser) {
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                if (record.size() <= Constants.ZONE_SHAPE_INDEX) {
+                    continue;
+                }
+                try {
+                    zones.add(fromRecord(record));
+                } catch (IllegalArgumentException e) {
+                    // Registo inválido, ignorado tal como na importação de cadastros
+                }
+            }
+        } catch (IOException e) {
+            throw new Exception(Constants.FILE_READ_ERROR, e);
+        }
+
+        if (zones.isEmpty()) {
+            throw new IllegalStateException(Constants.EMPTY_FILE_ERROR);
+        }
+        return zones;
+    }
+}
@@ -0,0 +1,145 @@
+package service;
+
+import core.Constants;
+import service.spatial.CadastroIndex;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Divisão do trabalho partilhada pelos motores de adjacências.
+ * Cada motor fornece o avaliador das adjacências de uma propriedade com as seguintes;
+ * esta classe percorre as posições do índice e acumula as arestas por ordem.
+ * 
+ * No modo paralelo as posições são divididas recursivamente num ForkJoinPool;
+ * cada partição acumula as suas arestas num acumulador próprio e os acumuladores
+ * são concatenados pela ordem das partições, pelo que o resultado é idêntico
+ * ao do modo sequencial.
+ * 
+ * Cada partição verifica o cancelamento do {@link BuildMonitor} e regista o progresso em
+ * lotes de propriedades avaliadas, pelo que uma construção cancelada termina pouco depois
+ * em todas as threads.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+final class AdjacencyBuilder {
+    private AdjacencyBuilder() {
+        // Classe utilitária
+    }
+
+    /**
+     * Acrescenta as arestas entre uma propriedade e as propriedades seguintes.
+     */
+    @FunctionalInterface
+    interface NeighbourCollector {
+        /**
+         * Avalia a propriedade na posição i contra os seus candidatos posteriores.
+         * 
+         * @param index Índice espacial das propriedades
+         * @param i Posição da propriedade
+         * @param edges Acumulador onde as arestas (i, j) são acrescentadas por ordem de j
+         */
+        void collect(CadastroIndex index, int i, EdgeList.Builder edges);
+    }
+
+    /**
+     * Calcula a lista ordenada de adjacências usando o avaliador indicado.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @param collector Avaliador das adjacências de cada propriedade
+     * @return Lista de arestas ordenada
+     * @throws IllegalArgumentException se o índice for nulo
+     */
+    static EdgeList build(CadastroIndex index, boolean parallel, NeighbourCollector collector) {
+        return build(index, parallel, new BuildMonitor(), collector);
+    }
+
+    /**
+     * Calcula a lista ordenada de adjacências usando o avaliador indicado, comunicando o
+     * progresso em propriedades avaliadas.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @param monitor Monitor de cancelamento e progresso
+     * @param collector Avaliador das adjacências de cada propriedade
+     * @return Lista de arestas ordenada
+     * @throws IllegalArgumentException se o índice ou o monitor forem nulos
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    static EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor, NeighbourCollector collector) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+
+        monitor.checkCancelled();
+        monitor.start(index.size());
+        if (!parallel) {
+            return collect(index, collector, monitor, 0, index.size()).build();
+        }
+        return ForkJoinPool.commonPool().invoke(new BuildTask(index, collector, monitor, 0, index.size())).build();
+    }
+
+    /**
+     * Calcula as adjacências das propriedades nas posições [from, to).
+     * 
+     * @param index Índice espacial das propriedades
+     * @param collector Avaliador das adjacências de cada propriedade
+     * @param monitor Monitor de cancelamento e progresso
+     * @param from Primeira posição (inclusive)
+     * @param to Última posição (exclusive)
+     * @return Acumulador com as arestas encontradas, por ordem
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    private static EdgeList.Builder collect(CadastroIndex index, NeighbourCollector collector, BuildMonitor monitor,
+                                            int from, int to) {
+        EdgeList.Builder edges = new EdgeList.Builder();
+        for (int i = from; i < to; i++) {
+            // Leitura de um AtomicBoolean: o cancelamento é verificado a cada propriedade,
+            // enquanto o progresso continua a ser comunicado por lotes
+            monitor.checkCancelled();
+            collector.collect(index, i, edges);
+            if ((i - from + 1) % Constants.PROGRESS_BATCH_SIZE == 0) {
+                monitor.advance(Constants.PROGRESS_BATCH_SIZE);
+            }
+        }
+        monitor.advance((to - from) % Constants.PROGRESS_BATCH_SIZE);
+        return edges;
+    }
+
+    /**
+     * Tarefa que divide um intervalo de posições ao meio até atingir o tamanho mínimo.
+     */
+    private static final class BuildTask extends RecursiveTask<EdgeList.Builder> {
+        private final CadastroIndex index;
+        private final NeighbourCollector collector;
+        private final BuildMonitor monitor;
+        private final int from;
+        private final int to;
+
+        BuildTask(CadastroIndex index, NeighbourCollector collector, BuildMonitor monitor, int from, int to) {
+            this.index = index;
+            this.collector = collector;
+            this.monitor = monitor;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected EdgeList.Builder compute() {
+            if (to - from <= Constants.PARALLEL_BUILD_GRAIN) {
+                return collect(index, collector, monitor, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            BuildTask left = new BuildTask(index, collector, monitor, from, middle);
+            BuildTask right = new BuildTask(index, collector, monitor, middle, to);
+            right.fork();
+            EdgeList.Builder leftEdges = left.compute();
+            return leftEdges.append(right.join());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cache persistente de listas de adjacências em disco.
+ * Cada lista é guardada num ficheiro cujo nome é uma impressão digital (SHA-256) que inclui
+ * a identidade do motor que a calculou e, ou as geometrias das propriedades pela ordem em que
+ * aparecem na lista, ou o caminho, o tamanho e a data de modificação do ficheiro importado.
+ * Qualquer alteração a uma geometria, à ordem, ao ficheiro ou ao motor produz outra chave e,
+ * portanto, uma nova construção. A chave do ficheiro é calculada sem ler as geometrias.
+ * 
+ * Formato do ficheiro (big-endian): identificador, versão, número de vértices,
+ * número de arestas, origens e destinos em inteiros de 32 bits, seguidos dos
+ * comprimentos partilhados de cada aresta em reais de 64 bits e de um byte por aresta,
+ * 1 se as propriedades se tocarem apenas em pontos.
+ * O ficheiro é lido através de um mapeamento em memória, pelo que listas com mais de
+ * {@link Integer#MAX_VALUE} bytes não são guardadas.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class AdjacencyCache {
+    /** Número de inteiros no cabeçalho de cada ficheiro */
+    private static final int HEADER_INTS = 4;
+
+    private final Path directory;
+
+    /**
+     * Cria uma cache de adjacências num diretório, que é criado quando necessário.
+     * 
+     * @param directory Diretório onde os ficheiros são guardados
+     * @throws IllegalArgumentException se o diretório for nulo
+     */
+    public AdjacencyCache(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException(Constants.NULL_CACHE_DIRECTORY_ERROR);
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Cria a cache no diretório por omissão, dentro da pasta pessoal do utilizador.
+     * 
+     * @return Cache de adjacências
+     */
+    public static AdjacencyCache inUserHome() {
+        return new AdjacencyCache(Path.of(System.getProperty("user.home"), Constants.ADJACENCY_CACHE_FOLDER));
+    }
+
+    /**
+     * Calcula a impressão digital das geometrias de uma lista de propriedades.
+     * 
+     * @param cadastros Lista de propriedades
+     * @param engine Identidade do motor, de {@link AdjacencyEngine#getCacheIdentity()}
+     * @return Impressão digital em hexadecimal
+     * @throws IllegalArgumentException se a lista ou o motor forem nulos
+     */
+    public static String fingerprint(List<Cadastro> cadastros, String engine) {
+        if (cadastros == null) {
+            throw new IllegalArgumentException(Constants.NULL_CADASTROS_ERROR);
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+
+        MessageDigest digest = sha256();
+        try (DataOutputStream out = digestStream(digest)) {
+            out.writeInt(Constants.ADJACENCY_CACHE_VERSION);
+            out.writeUTF(engine);
+            out.writeInt(cadastros.size());
+            for (Cadastro cadastro : cadastros) {
+                writeShape(out, cadastro.getShape());
+            }
+        } catch (IOException e) {
+            // A escrita para um fluxo nulo não falha
+            throw new IllegalStateException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Calcula a impressão digital de um ficheiro importado a partir do caminho, do tamanho
+     * e da data de modificação, sem ler o seu conteúdo nem as geometrias.
+     * 
+     * @param source Ficheiro de onde as propriedades foram importadas
+     * @param engine Identidade do motor, de {@link AdjacencyEngine#getCacheIdentity()}
+     * @return Impressão digital em hexadecimal
+     * @throws IllegalArgumentException se o ficheiro ou o motor forem nulos
+     * @throws IOException se não for possível ler os atributos do ficheiro
+     */
+    public static String fingerprint(Path source, String engine) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException(Constants.NULL_SOURCE_ERROR);
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        MessageDigest digest = sha256();
+        try (DataOutputStream out = digestStream(digest)) {
+            out.writeInt(Constants.ADJACENCY_CACHE_VERSION);
+            out.writeUTF(engine);
+            out.writeUTF(source.toAbsolutePath().normalize().toString());
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().toMillis());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todas as implementações Java são obrigadas a suportar SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataOutputStream digestStream(MessageDigest digest) {
+        return new DataOutputStream(new BufferedOutputStream(
+                new DigestOutputStream(OutputStream.nullOutputStream(), digest)));
+    }
+
+    /**
+     * Escreve a estrutura e as coordenadas de uma geometria no fluxo da impressão digital.
+     * 
+     * @param out Fluxo de saída
+     * @param shape Geometria da propriedade, possivelmente nula
+     * @throws IOException se ocorrer um erro de escrita
+     */
+    private static void writeShape(DataOutputStream out, MultiPolygon shape) throws IOException {
+        if (shape == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(shape.getNumGeometries());
+        for (int n = 0; n < shape.getNumGeometries(); n++) {
+            Polygon polygon = (Polygon) shape.getGeometryN(n);
+            out.writeInt(polygon.getNumInteriorRing());
+            writeRing(out, polygon.getExteriorRing());
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                writeRing(out, polygon.getInteriorRingN(r));
+            }
+        }
+    }
+
+    private static void writeRing(DataOutputStream out, LineString ring) throws IOException {
+        Coordinate[] coordinates = ring.getCoordinates();
+        out.writeInt(coordinates.length);
+        for (Coordinate coordinate : coordinates) {
+            out.writeDouble(coordinate.x);
+            out.writeDouble(coordinate.y);
+        }
+    }
+
+    /**
+     * Carrega a lista de adjacências guardada para uma chave.
+     * 
+     * @param key Impressão digital do conjunto de dados
+     * @param vertexCount Número de propriedades esperado
+     * @return Lista de arestas, ou null se não existir um ficheiro válido para a chave
+     * @throws IOException se ocorrer um erro de leitura
+     */
+    public EdgeList load(String key, int vertexCount) throws IOException {
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes < HEADER_INTS * Integer.BYTES) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            IntBuffer ints = buffer.asIntBuffer();
+            if (ints.get() != Constants.ADJACENCY_CACHE_MAGIC
+                    || ints.get() != Constants.ADJACENCY_CACHE_VERSION
+                    || ints.get() != vertexCount) {
+                return null;
+            }
+            int edgeCount = ints.get();
+            long lengthsOffset = (HEADER_INTS + 2L * edgeCount) * Integer.BYTES;
+            long pointOnlyOffset = lengthsOffset + (long) edgeCount * Double.BYTES;
+            if (edgeCount < 0 || bytes != pointOnlyOffset + edgeCount) {
+                return null;
+            }
+
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            double[] lengths = new double[edgeCount];
+            ints.get(sources);
+            ints.get(targets);
+            DoubleBuffer doubles = buffer.position((int) lengthsOffset).asDoubleBuffer();
+            doubles.get(lengths);
+            boolean[] pointOnly = new boolean[edgeCount];
+            buffer.position((int) pointOnlyOffset);
+            for (int k = 0; k < edgeCount; k++) {
+                pointOnly[k] = buffer.get() != 0;
+            }
+            return EdgeList.of(sources, targets, lengths, pointOnly, vertexCount);
+        } catch (IllegalArgumentException e) {
+            // Ficheiro corrompido: é tratado como inexistente e reconstruído
+            return null;
+        }
+    }
+
+    /**
+     * Guarda uma lista de adjacências para uma chave, substituindo a anterior.
+     * O ficheiro é escrito com outro nome e movido no fim, pelo que uma leitura
+     * concorrente nunca encontra um ficheiro incompleto.
+     * 
+     * @param key Impressão digital do conjunto de dados
+     * @param vertexCount Número de propriedades
+     * @param edges Lista de arestas
+     * @throws IOException se ocorrer um erro de escrita ou a lista for demasiado grande para um ficheiro
+     */
+    public void store(String key, int vertexCount, EdgeList edges) throws IOException {
+        long lengthsOffset = (HEADER_INTS + 2L * edges.size()) * Integer.BYTES;
+        long pointOnlyOffset = lengthsOffset + (long) edges.size() * Double.BYTES;
+        long bytes = pointOnlyOffset + edges.size();
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException(Constants.ADJACENCY_CACHE_SIZE_ERROR);
+        }
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate((int) bytes);
+            IntBuffer ints = buffer.asIntBuffer();
+            ints.put(Constants.ADJACENCY_CACHE_MAGIC);
+            ints.put(Constants.ADJACENCY_CACHE_VERSION);
+            ints.put(vertexCount);
+            ints.put(edges.size());
+            for (int k = 0; k < edges.size(); k++) {
+                ints.put(edges.getSource(k));
+            }
+            for (int k = 0; k < edges.size(); k++) {
+                ints.put(edges.getTarget(k));
+            }
+            DoubleBuffer doubles = buffer.position((int) lengthsOffset).asDoubleBuffer();
+            for (int k = 0; k < edges.size(); k++) {
+                doubles.put(edges.getSharedLength(k));
+            }
+            buffer.position((int) pointOnlyOffset);
+            for (int k = 0; k < edges.size(); k++) {
+                buffer.put((byte) (edges.isPointOnly(k) ? 1 : 0));
+            }
+            buffer.rewind();
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, fileFor(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Remove o ficheiro guardado para uma chave.
+     * 
+     * @param key Impressão digital do conjunto de dados
+     * @throws IOException se ocorrer um erro ao remover o ficheiro
+     */
+    public void invalidate(String key) throws IOException {
+        Files.deleteIfExists(fileFor(key));
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + Constants.ADJACENCY_CACHE_EXTENSION);
+    }
+}
@@ -0,0 +1,76 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import service.spatial.CadastroIndex;
+
+import java.util.List;
+
+/**
+ * Estratégia de cálculo das adjacências físicas entre propriedades.
+ * Todas as implementações produzem exatamente a mesma lista de arestas para o mesmo
+ * índice, pelo que podem ser trocadas livremente e comparadas entre si; diferem apenas
+ * no custo, que depende do número de propriedades e da complexidade das geometrias.
+ * A exceção é o modo noded de {@link SharedEdgeAdjacencyEngine}, que só é exato para
+ * coberturas noded e por isso tem uma identidade própria na cache de adjacências.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ * @see AdjacencyEngineSelector
+ */
+public interface AdjacencyEngine {
+    /**
+     * Calcula a lista ordenada de adjacências.
+     * Duas propriedades são adjacentes se se tocam, ou se se intersetam sem que
+     * nenhuma esteja contida na outra.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @return Lista de arestas ordenada por posição no índice
+     * @throws IllegalArgumentException se o índice for nulo
+     * @throws IllegalStateException se ocorrer um erro durante a análise de adjacência
+     */
+    EdgeList build(CadastroIndex index, boolean parallel);
+
+    /**
+     * Calcula a lista ordenada de adjacências, podendo ser cancelada e comunicando o progresso
+     * ao monitor indicado. Os motores do sistema verificam o cancelamento durante todo o
+     * cálculo; a implementação por omissão apenas o verifica antes de começar.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @param monitor Monitor de cancelamento e progresso
+     * @return Lista de arestas ordenada por posição no índice
+     * @throws IllegalArgumentException se o índice ou o monitor forem nulos
+     * @throws IllegalStateException se ocorrer um erro durante a análise de adjacência
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    default EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+        monitor.checkCancelled();
+        return build(index, parallel);
+    }
+
+    /**
+     * Devolve a lista de adjacências já calculada para as propriedades indicadas, sem
+     * construir o índice espacial. A implementação por omissão não guarda listas.
+     * 
+     * @param cadastros Propriedades, pela ordem do índice que seria construído
+     * @return Lista de arestas, ou null se tiver de ser calculada com {@link #build}
+     */
+    default EdgeList lookup(List<Cadastro> cadastros) {
+        return null;
+    }
+
+    /**
+     * Identifica o motor e o seu modo nas chaves da {@link AdjacencyCache}. Motores que
+     * possam produzir listas diferentes para o mesmo índice devolvem identidades diferentes.
+     * 
+     * @return Identidade do motor; por omissão, o nome da classe
+     */
+    default String getCacheIdentity() {
+        return getClass().getName();
+    }
+}
@@ -0,0 +1,73 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.MultiPolygon;
+
+import java.util.List;
+
+/**
+ * Escolhe o motor de adjacências mais adequado a um conjunto de propriedades,
+ * a partir do número de propriedades e do número médio de vértices por geometria.
+ * 
+ * - Conjuntos muito pequenos: comparação exaustiva, sem custo de indexação.
+ * - Geometrias simples: índice espacial com predicados exatos.
+ * - Conjuntos muito grandes: partilha de segmentos no modo exato, que dispensa os predicados dos
+ *   pares que partilham segmentos mas continua a consultar o índice e a avaliar os restantes
+ *   candidatos com predicados preparados. O modo noded, sem índice nem predicados, nunca é
+ *   escolhido aqui, porque não é possível confirmar que os dados são noded a partir da lista.
+ * - Restantes casos: geometrias preparadas.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class AdjacencyEngineSelector {
+    private AdjacencyEngineSelector() {
+        // Classe utilitária
+    }
+
+    /**
+     * Escolhe o motor de adjacências para um conjunto de propriedades.
+     * 
+     * @param cadastros Lista de propriedades
+     * @return Motor de adjacências recomendado
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    public static AdjacencyEngine select(List<Cadastro> cadastros) {
+        if (cadastros == null) {
+            throw new IllegalArgumentException(Constants.NULL_CADASTROS_ERROR);
+        }
+
+        if (cadastros.size() <= Constants.ENGINE_BRUTE_FORCE_LIMIT) {
+            return new BruteForceAdjacencyEngine();
+        }
+        if (averageVertexCount(cadastros) < Constants.ENGINE_PREPARED_VERTEX_THRESHOLD) {
+            return new IndexedAdjacencyEngine();
+        }
+        if (cadastros.size() >= Constants.ENGINE_SHARED_EDGE_LIMIT) {
+            // Modo exato: ainda consulta o índice e avalia com predicados os pares sem vértices comuns
+            return new SharedEdgeAdjacencyEngine();
+        }
+        return new PreparedAdjacencyEngine();
+    }
+
+    /**
+     * Calcula o número médio de vértices das geometrias de um conjunto de propriedades.
+     * Propriedades sem geometria não são consideradas.
+     * 
+     * @param cadastros Lista de propriedades
+     * @return Número médio de vértices, ou 0 se nenhuma propriedade tiver geometria
+     */
+    public static double averageVertexCount(List<Cadastro> cadastros) {
+        long vertices = 0;
+        int shapes = 0;
+        for (Cadastro cadastro : cadastros) {
+            MultiPolygon shape = cadastro.getShape();
+            if (shape != null) {
+                vertices += shape.getNumPoints();
+                shapes++;
+            }
+        }
+        return shapes == 0 ? 0 : (double) vertices / shapes;
+    }
+}
@@ -0,0 +1,15 @@
+package service;
+
+/**
+ * Record que descreve o contacto entre duas propriedades adjacentes, obtido numa única
+ * avaliação do par pelos motores de adjacências.
+ *
+ * @param length Comprimento da fronteira partilhada
+ * @param pointOnly true se as propriedades se tocarem apenas em pontos, sem troços de
+ *        fronteira comuns nem interiores sobrepostos
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+record BoundaryContact(double length, boolean pointOnly) {
+}
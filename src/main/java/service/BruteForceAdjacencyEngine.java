@@ -0,0 +1,43 @@
+package service;
+
+import model.Cadastro;
+import service.spatial.CadastroIndex;
+
+/**
+ * Motor de adjacências que compara todos os pares de propriedades com os predicados exatos,
+ * sem recorrer ao índice espacial. Serve de referência para os restantes motores e é
+ * o mais rápido em conjuntos muito pequenos.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class BruteForceAdjacencyEngine implements AdjacencyEngine {
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel) {
+        return build(index, parallel, new BuildMonitor());
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        return AdjacencyBuilder.build(index, parallel, monitor, BruteForceAdjacencyEngine::collect);
+    }
+
+    /**
+     * Compara a propriedade na posição i com todas as propriedades seguintes.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param i Posição da propriedade
+     * @param edges Acumulador de arestas
+     */
+    private static void collect(CadastroIndex index, int i, EdgeList.Builder edges) {
+        Cadastro prop1 = index.get(i);
+        for (int j = i + 1; j < index.size(); j++) {
+            Cadastro prop2 = index.get(j);
+            BoundaryContact contact = Graph.physicalContact(prop1, prop2);
+            if (contact != null) {
+                edges.add(i, j, contact.length(), contact.pointOnly());
+            }
+        }
+    }
+}
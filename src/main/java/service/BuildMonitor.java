@@ -0,0 +1,182 @@
+package service;
+
+import core.Constants;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acompanhamento de uma construção de grafo: permite cancelá-la a partir de outra thread e
+ * recebe o progresso dos motores de adjacências, que o comunicam a um observador opcional.
+ *
+ * Os motores verificam o cancelamento entre propriedades, incluindo nas tarefas paralelas,
+ * e terminam com {@link CancellationException} pouco depois de {@link #cancel()} ser chamado.
+ * O progresso é contado em unidades de trabalho definidas por quem chama {@link #start(long)},
+ * normalmente propriedades avaliadas, e é comunicado no máximo {@link Constants#PROGRESS_REPORT_STEPS}
+ * vezes por construção, juntamente com uma estimativa do tempo restante.
+ *
+ * Um monitor acompanha uma única construção de cada vez e pode ser usado por várias threads.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class BuildMonitor {
+    /**
+     * Observador do progresso de uma construção.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Recebe o progresso da construção, a partir da thread que o comunicou.
+         *
+         * @param processed Unidades de trabalho concluídas
+         * @param total Total de unidades de trabalho
+         * @param remainingMillis Estimativa do tempo restante em milissegundos, ou -1 se ainda não existir
+         */
+        void onProgress(long processed, long total, long remainingMillis);
+    }
+
+    /** Estado de cancelamento, partilhado com os monitores das subtarefas */
+    private final AtomicBoolean cancelled;
+    private final ProgressListener listener;
+
+    private final AtomicLong processed = new AtomicLong();
+    private volatile long total;
+    private volatile long startNanos;
+
+    /** Unidades concluídas a partir das quais o progresso volta a ser comunicado */
+    private final AtomicLong nextReport = new AtomicLong();
+
+    /**
+     * Cria um monitor sem observador, que serve apenas para cancelar a construção.
+     */
+    public BuildMonitor() {
+        this(null);
+    }
+
+    /**
+     * Cria um monitor que comunica o progresso ao observador indicado.
+     *
+     * @param listener Observador do progresso, ou null para não comunicar o progresso
+     */
+    public BuildMonitor(ProgressListener listener) {
+        this(new AtomicBoolean(), listener);
+    }
+
+    private BuildMonitor(AtomicBoolean cancelled, ProgressListener listener) {
+        this.cancelled = cancelled;
+        this.listener = listener;
+    }
+
+    /**
+     * Cria um monitor para uma subtarefa, cancelado juntamente com este monitor mas sem
+     * observador, para que o progresso da subtarefa não substitua o da construção completa.
+     *
+     * @return Monitor da subtarefa
+     */
+    public BuildMonitor nested() {
+        return new BuildMonitor(cancelled, null);
+    }
+
+    /**
+     * Pede o cancelamento da construção acompanhada.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Indica se foi pedido o cancelamento.
+     *
+     * @return true se a construção deve terminar
+     */
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Termina a construção se tiver sido pedido o cancelamento, ou se a thread atual
+     * tiver sido interrompida.
+     *
+     * @throws CancellationException se a construção tiver sido cancelada
+     */
+    public void checkCancelled() {
+        if (cancelled.get() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException(Constants.BUILD_CANCELLED_ERROR);
+        }
+    }
+
+    /**
+     * Inicia a contagem do progresso de uma construção.
+     *
+     * @param total Total de unidades de trabalho
+     */
+    public void start(long total) {
+        this.total = Math.max(0, total);
+        this.startNanos = System.nanoTime();
+        processed.set(0);
+        nextReport.set(0);
+        report(0);
+    }
+
+    /**
+     * Regista unidades de trabalho concluídas e verifica o cancelamento.
+     *
+     * @param count Unidades concluídas desde a última chamada
+     * @throws CancellationException se a construção tiver sido cancelada
+     */
+    public void advance(long count) {
+        long done = processed.addAndGet(count);
+        long threshold = nextReport.get();
+        // A conclusão é sempre comunicada, pela única chamada que atinge o total
+        boolean finished = done >= total && done - count < total;
+        if (finished || (done >= threshold && nextReport.compareAndSet(threshold, done + reportStep()))) {
+            report(done);
+        }
+        checkCancelled();
+    }
+
+    /**
+     * Retorna as unidades de trabalho concluídas.
+     *
+     * @return Unidades concluídas
+     */
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * Retorna o total de unidades de trabalho da construção em curso.
+     *
+     * @return Total de unidades, 0 se a construção ainda não começou
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Estima o tempo restante pela velocidade média desde o início da construção.
+     *
+     * @return Tempo restante em milissegundos, ou -1 se ainda não houver trabalho concluído
+     */
+    public long getRemainingMillis() {
+        long done = processed.get();
+        if (done <= 0) {
+            return -1;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long remaining = Math.max(0, total - done);
+        return (long) ((double) elapsedNanos * remaining / done / 1_000_000);
+    }
+
+    private long reportStep() {
+        return Math.max(1, total / Constants.PROGRESS_REPORT_STEPS);
+    }
+
+    private void report(long done) {
+        if (listener != null) {
+            listener.onProgress(Math.min(done, total), total, getRemainingMillis());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import service.spatial.CadastroIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Motor de adjacências que reutiliza listas guardadas numa {@link AdjacencyCache}.
+ * Se existir uma lista para a chave das propriedades e do motor delegado, é carregada do disco;
+ * caso contrário é calculada pelo motor delegado e guardada para as construções seguintes.
+ * Quando o motor é criado para um ficheiro importado, a chave é a impressão digital desse
+ * ficheiro, calculada uma única vez, e {@link #lookup} encontra a lista sem construir o índice
+ * espacial nem ler as geometrias. Erros de leitura ou escrita da cache, incluindo listas
+ * demasiado grandes para um ficheiro, são tratados como ausência da lista e não impedem a
+ * construção do grafo; uma construção cancelada não é guardada.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public class CachedAdjacencyEngine implements AdjacencyEngine {
+    private final AdjacencyEngine delegate;
+    private final AdjacencyCache cache;
+
+    /** Chave do ficheiro importado, ou null para usar as geometrias */
+    private final String sourceKey;
+
+    /**
+     * Cria um motor com cache cujas chaves são calculadas a partir das geometrias.
+     *
+     * @param delegate Motor usado quando a lista não está na cache
+     * @param cache Cache de adjacências
+     * @throws IllegalArgumentException se algum dos parâmetros for nulo
+     */
+    public CachedAdjacencyEngine(AdjacencyEngine delegate, AdjacencyCache cache) {
+        if (delegate == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException(Constants.NULL_CACHE_DIRECTORY_ERROR);
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+        this.sourceKey = null;
+    }
+
+    /**
+     * Cria um motor com cache para as propriedades importadas de um ficheiro. O motor só deve
+     * ser usado com as propriedades desse ficheiro, pela ordem em que foram importadas.
+     * Se os atributos do ficheiro não puderem ser lidos, as chaves são calculadas a partir
+     * das geometrias.
+     *
+     * @param delegate Motor usado quando a lista não está na cache
+     * @param cache Cache de adjacências
+     * @param source Ficheiro de onde as propriedades foram importadas
+     * @throws IllegalArgumentException se algum dos parâmetros for nulo
+     */
+    public CachedAdjacencyEngine(AdjacencyEngine delegate, AdjacencyCache cache, Path source) {
+        if (delegate == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException(Constants.NULL_CACHE_DIRECTORY_ERROR);
+        }
+        if (source == null) {
+            throw new IllegalArgumentException(Constants.NULL_SOURCE_ERROR);
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+        String key;
+        try {
+            key = AdjacencyCache.fingerprint(source, delegate.getCacheIdentity());
+        } catch (IOException e) {
+            key = null;
+        }
+        this.sourceKey = key;
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel) {
+        return build(index, parallel, new BuildMonitor());
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+
+        String key = keyFor(index.getCadastros());
+        EdgeList cached = load(key, index.size());
+        if (cached != null) {
+            return cached;
+        }
+
+        EdgeList edges = delegate.build(index, parallel, monitor);
+        try {
+            cache.store(key, index.size(), edges);
+        } catch (IOException | RuntimeException e) {
+            // A cache é apenas uma otimização; o grafo continua válido sem ela
+        }
+        return edges;
+    }
+
+    @Override
+    public EdgeList lookup(List<Cadastro> cadastros) {
+        if (cadastros == null) {
+            throw new IllegalArgumentException(Constants.NULL_CADASTROS_ERROR);
+        }
+        return load(keyFor(cadastros), cadastros.size());
+    }
+
+    @Override
+    public String getCacheIdentity() {
+        return delegate.getCacheIdentity();
+    }
+
+    /**
+     * Carrega a lista guardada para uma chave, tratando qualquer erro como ausência da lista.
+     *
+     * @param key Chave da lista
+     * @param vertexCount Número de propriedades
+     * @return Lista de arestas, ou null se não estiver na cache
+     */
+    private EdgeList load(String key, int vertexCount) {
+        try {
+            return cache.load(key, vertexCount);
+        } catch (IOException | RuntimeException e) {
+            // Cache ilegível: a lista é reconstruída
+            return null;
+        }
+    }
+
+    /**
+     * Devolve a chave das propriedades: a do ficheiro importado, se existir, ou a das geometrias.
+     *
+     * @param cadastros Propriedades
+     * @return Chave da lista na cache
+     */
+    private String keyFor(List<Cadastro> cadastros) {
+        return sourceKey != null ? sourceKey : AdjacencyCache.fingerprint(cadastros, delegate.getCacheIdentity());
+    }
+}
@@ -0,0 +1,80 @@
+package service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Floresta de conjuntos disjuntos (union-find) sem bloqueios, que pode receber uniões
+ * de várias threads em simultâneo.
+ *
+ * Cada união liga a raiz de maior posição à de menor posição com uma operação atómica;
+ * como as ligações descem sempre de posição, nunca se formam ciclos, e se a raiz mudar
+ * entretanto a união é repetida. As procuras encurtam o caminho a meio (path halving),
+ * também com operações atómicas que podem falhar sem prejuízo da correção.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Cria uma floresta em que cada posição é o seu próprio conjunto.
+     *
+     * @param size Número de posições
+     */
+    public ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int v = 0; v < size; v++) {
+            parent.set(v, v);
+        }
+    }
+
+    /**
+     * Procura a raiz do conjunto de uma posição.
+     *
+     * @param v Posição
+     * @return Raiz do conjunto, que é a menor posição do conjunto quando não há uniões em curso
+     */
+    public int find(int v) {
+        int p = parent.get(v);
+        while (p != v) {
+            int grandparent = parent.get(p);
+            if (grandparent != p) {
+                parent.compareAndSet(v, p, grandparent);
+            }
+            v = p;
+            p = parent.get(v);
+        }
+        return v;
+    }
+
+    /**
+     * Junta os conjuntos de duas posições.
+     *
+     * @param v Primeira posição
+     * @param w Segunda posição
+     */
+    public void union(int v, int w) {
+        while (true) {
+            int root1 = find(v);
+            int root2 = find(w);
+            if (root1 == root2) {
+                return;
+            }
+            int high = Math.max(root1, root2);
+            int low = Math.min(root1, root2);
+            if (parent.compareAndSet(high, high, low)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retorna o número de posições.
+     *
+     * @return Número de posições
+     */
+    public int size() {
+        return parent.length();
+    }
+}
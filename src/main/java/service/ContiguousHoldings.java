@@ -0,0 +1,235 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Explorações contíguas: componentes conexas das propriedades do mesmo proprietário
+ * sobre as adjacências de um grafo. Cada cadeia de propriedades adjacentes do mesmo
+ * proprietário forma uma única exploração, independentemente da ordem das propriedades.
+ *
+ * As componentes são calculadas com um {@link ConcurrentUnionFind}, percorrendo as arestas
+ * em paralelo, e o custo total é praticamente linear no número de arestas.
+ *
+ * O resultado é imutável e guarda, por propriedade, a componente a que pertence; por
+ * componente, a área e o proprietário; e por proprietário, o número de componentes e
+ * a área total.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class ContiguousHoldings {
+    /** Componente de cada posição do grafo, ou -1 se a propriedade não foi incluída */
+    private final int[] componentOf;
+
+    /** Área de cada componente */
+    private final double[] componentAreas;
+
+    /** Proprietário de cada componente */
+    private final int[] componentOwners;
+
+    /** Posição de cada proprietário em {@link #owners} */
+    private final OwnerIndex ownerIndex;
+
+    /** Proprietários com pelo menos uma propriedade incluída, por ordem crescente */
+    private final int[] owners;
+
+    /** Número de componentes de cada proprietário */
+    private final int[] ownerComponentCounts;
+
+    /** Área total de cada proprietário */
+    private final double[] ownerAreas;
+
+    /**
+     * Calcula as explorações contíguas de todas as propriedades de um grafo.
+     *
+     * @param graph Grafo com as adjacências entre propriedades
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public ContiguousHoldings(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Calcula as explorações contíguas de um subconjunto das propriedades de um grafo.
+     * Apenas as adjacências entre propriedades do subconjunto são consideradas.
+     *
+     * @param graph Grafo com as adjacências entre propriedades
+     * @param subset Propriedades a incluir, ou null para incluir todas; as que não pertencem
+     *        ao grafo são ignoradas
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public ContiguousHoldings(Graph graph, List<Cadastro> subset) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+
+        List<Cadastro> cadastros = graph.cadastros;
+        CsrAdjacency adjacency = graph.propertyAdjacency;
+        int n = cadastros.size();
+        boolean[] included = new boolean[n];
+        if (subset == null) {
+            Arrays.fill(included, true);
+        } else {
+            for (Cadastro cadastro : subset) {
+                int position = graph.positionOf(cadastro);
+                if (position >= 0) {
+                    included[position] = true;
+                }
+            }
+        }
+
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        IntStream.range(0, n).parallel().forEach(v -> {
+            if (!included[v]) {
+                return;
+            }
+            int owner = cadastros.get(v).getOwner();
+            for (int k = 0; k < adjacency.getDegree(v); k++) {
+                int w = adjacency.getNeighbour(v, k);
+                if (w > v && included[w] && cadastros.get(w).getOwner() == owner) {
+                    sets.union(v, w);
+                }
+            }
+        });
+
+        // Componentes numeradas pela ordem da sua primeira propriedade
+        componentOf = new int[n];
+        int[] rootComponent = new int[n];
+        Arrays.fill(rootComponent, -1);
+        int components = 0;
+        for (int v = 0; v < n; v++) {
+            if (!included[v]) {
+                componentOf[v] = -1;
+                continue;
+            }
+            int root = sets.find(v);
+            if (rootComponent[root] < 0) {
+                rootComponent[root] = components++;
+            }
+            componentOf[v] = rootComponent[root];
+        }
+
+        componentAreas = new double[components];
+        componentOwners = new int[components];
+        OwnerIndex index = new OwnerIndex(16);
+        for (int v = 0; v < n; v++) {
+            int component = componentOf[v];
+            if (component >= 0) {
+                componentAreas[component] += cadastros.get(v).getArea();
+                componentOwners[component] = cadastros.get(v).getOwner();
+                if (componentOwners[component] > 0) {
+                    index.intern(componentOwners[component]);
+                }
+            }
+        }
+
+        owners = index.keysByPosition();
+        Arrays.sort(owners);
+        for (int position = 0; position < owners.length; position++) {
+            index.put(owners[position], position);
+        }
+        ownerIndex = index;
+        ownerComponentCounts = new int[owners.length];
+        ownerAreas = new double[owners.length];
+        for (int component = 0; component < components; component++) {
+            int position = index.get(componentOwners[component]);
+            if (position >= 0) {
+                ownerComponentCounts[position]++;
+                ownerAreas[position] += componentAreas[component];
+            }
+        }
+    }
+
+    /**
+     * Retorna o número de explorações contíguas.
+     *
+     * @return Número de componentes
+     */
+    public int getNumberOfComponents() {
+        return componentAreas.length;
+    }
+
+    /**
+     * Retorna a componente de uma propriedade, pela sua posição no grafo.
+     *
+     * @param position Posição da propriedade no grafo
+     * @return Identificador da componente, ou -1 se a propriedade não foi incluída
+     */
+    public int getComponent(int position) {
+        return componentOf[position];
+    }
+
+    /**
+     * Retorna a área de uma componente.
+     *
+     * @param component Identificador da componente
+     * @return Soma das áreas das propriedades da componente
+     */
+    public double getComponentArea(int component) {
+        return componentAreas[component];
+    }
+
+    /**
+     * Retorna o proprietário de uma componente.
+     *
+     * @param component Identificador da componente
+     * @return Identificador do proprietário
+     */
+    public int getComponentOwner(int component) {
+        return componentOwners[component];
+    }
+
+    /**
+     * Retorna os proprietários com propriedades incluídas, por ordem crescente.
+     *
+     * @return Cópia dos identificadores dos proprietários
+     */
+    public int[] getOwners() {
+        return owners.clone();
+    }
+
+    /**
+     * Retorna o número de explorações contíguas de um proprietário.
+     *
+     * @param owner Identificador do proprietário
+     * @return Número de componentes do proprietário, 0 se não tiver propriedades incluídas
+     */
+    public int getComponentCount(int owner) {
+        int position = ownerIndex.get(owner);
+        return position < 0 ? 0 : ownerComponentCounts[position];
+    }
+
+    /**
+     * Retorna a área total de um proprietário.
+     *
+     * @param owner Identificador do proprietário
+     * @return Soma das áreas das explorações do proprietário, 0 se não tiver propriedades incluídas
+     */
+    public double getOwnerArea(int owner) {
+        int position = ownerIndex.get(owner);
+        return position < 0 ? 0 : ownerAreas[position];
+    }
+
+    /**
+     * Retorna a área média por proprietário.
+     *
+     * @return Média das áreas totais dos proprietários, ou 0 se não houver proprietários
+     */
+    public double getAverageOwnerArea() {
+        return Arrays.stream(ownerAreas).average().orElse(0.0);
+    }
+
+    /**
+     * Retorna a área média por exploração contígua.
+     *
+     * @return Média das áreas das componentes, ou 0 se não houver componentes
+     */
+    public double getAverageHoldingArea() {
+        return Arrays.stream(componentAreas).average().orElse(0.0);
+    }
+}
@@ -0,0 +1,306 @@
+package service;
+
+import core.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Lista de adjacências imutável em formato CSR (compressed sparse row).
+ * Os vizinhos do vértice v ocupam as posições [offsets[v], offsets[v + 1]) do vetor
+ * de vizinhos, por ordem crescente, pelo que cada aresta custa dois inteiros e a
+ * verificação de adjacência é uma pesquisa binária.
+ * Cada vizinho tem ainda um peso, guardado na mesma posição do vetor de pesos, que
+ * nos grafos é o comprimento da fronteira partilhada, uma multiplicidade, que conta
+ * as arestas repetidas juntas nessa posição, e a indicação de que o contacto entre os
+ * vértices é feito apenas por pontos.
+ * 
+ * Os vértices são índices densos entre 0 e {@link #getVertexCount()} - 1.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class CsrAdjacency {
+    /** Lista sem vértices nem arestas */
+    public static final CsrAdjacency EMPTY = new CsrAdjacency(new int[1], new int[0], new double[0], new boolean[0], null);
+
+    /** Início da linha de cada vértice; tem tamanho igual ao número de vértices mais um */
+    private final int[] offsets;
+
+    /** Vizinhos de todos os vértices, concatenados e ordenados dentro de cada linha */
+    private final int[] neighbours;
+
+    /** Peso de cada posição de {@link #neighbours} */
+    private final double[] weights;
+
+    /** Indica, para cada posição de {@link #neighbours}, se o contacto é feito apenas por pontos */
+    private final boolean[] pointOnly;
+
+    /** Multiplicidade de cada posição de {@link #neighbours}, ou null se forem todas 1 */
+    private final int[] multiplicities;
+
+    private CsrAdjacency(int[] offsets, int[] neighbours, double[] weights, boolean[] pointOnly, int[] multiplicities) {
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.weights = weights;
+        this.pointOnly = pointOnly;
+        this.multiplicities = multiplicities;
+    }
+
+    /**
+     * Cria a lista de adjacências a partir de uma lista de arestas não orientadas.
+     * Cada aresta (i, j) é guardada nas linhas de i e de j, com o comprimento partilhado
+     * da aresta como peso; os pesos de arestas repetidas são somados, o número de
+     * repetições fica registado como multiplicidade, e o contacto só é feito por pontos
+     * se o for em todas as repetições.
+     * 
+     * @param vertexCount Número de vértices
+     * @param edges Lista de arestas com índices entre 0 e vertexCount - 1
+     * @return Lista de adjacências
+     * @throws IllegalArgumentException se a lista de arestas for nula ou contiver índices inválidos
+     */
+    public static CsrAdjacency fromEdges(int vertexCount, EdgeList edges) {
+        if (edges == null || vertexCount < 0) {
+            throw new IllegalArgumentException(Constants.ADJACENCY_INDEX_ERROR);
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        for (int k = 0; k < edges.size(); k++) {
+            int source = edges.getSource(k);
+            int target = edges.getTarget(k);
+            if (source < 0 || target < 0 || source >= vertexCount || target >= vertexCount || source == target) {
+                throw new IllegalArgumentException(Constants.ADJACENCY_INDEX_ERROR);
+            }
+            offsets[source + 1]++;
+            offsets[target + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] neighbours = new int[offsets[vertexCount]];
+        double[] weights = new double[neighbours.length];
+        boolean[] pointOnly = new boolean[neighbours.length];
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        for (int k = 0; k < edges.size(); k++) {
+            int source = edges.getSource(k);
+            int target = edges.getTarget(k);
+            double weight = edges.getSharedLength(k);
+            boolean points = edges.isPointOnly(k);
+            weights[next[source]] = weight;
+            pointOnly[next[source]] = points;
+            neighbours[next[source]++] = target;
+            weights[next[target]] = weight;
+            pointOnly[next[target]] = points;
+            neighbours[next[target]++] = source;
+        }
+        return compact(offsets, neighbours, weights, pointOnly);
+    }
+
+    /**
+     * Ordena cada linha e junta vizinhos repetidos, somando os respetivos pesos e contando-os.
+     * O vetor de multiplicidades só é guardado se houver alguma repetição.
+     * 
+     * @param offsets Início de cada linha
+     * @param neighbours Vizinhos por linha, possivelmente desordenados
+     * @param weights Peso de cada vizinho
+     * @param pointOnly Indica se o contacto com cada vizinho é feito apenas por pontos
+     * @return Lista de adjacências compactada
+     */
+    private static CsrAdjacency compact(int[] offsets, int[] neighbours, double[] weights, boolean[] pointOnly) {
+        int vertexCount = offsets.length - 1;
+        int[] compactOffsets = new int[offsets.length];
+        int[] multiplicities = new int[neighbours.length];
+        boolean repeated = false;
+        int size = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            sortRow(neighbours, weights, pointOnly, from, to);
+            for (int k = from; k < to; k++) {
+                if (k == from || neighbours[k] != neighbours[k - 1]) {
+                    neighbours[size] = neighbours[k];
+                    multiplicities[size] = 1;
+                    pointOnly[size] = pointOnly[k];
+                    weights[size++] = weights[k];
+                } else {
+                    weights[size - 1] += weights[k];
+                    pointOnly[size - 1] &= pointOnly[k];
+                    multiplicities[size - 1]++;
+                    repeated = true;
+                }
+            }
+            compactOffsets[v + 1] = size;
+        }
+        if (!repeated) {
+            return new CsrAdjacency(compactOffsets, neighbours, weights, pointOnly, null);
+        }
+        return new CsrAdjacency(compactOffsets, Arrays.copyOf(neighbours, size), Arrays.copyOf(weights, size),
+                Arrays.copyOf(pointOnly, size), Arrays.copyOf(multiplicities, size));
+    }
+
+    /**
+     * Ordena uma linha por vizinho, levando os pesos e os tipos de contacto consigo.
+     * As linhas geradas a partir de listas de arestas ordenadas já estão ordenadas,
+     * caso em que não é feita qualquer alocação.
+     * 
+     * @param neighbours Vizinhos
+     * @param weights Pesos
+     * @param pointOnly Tipos de contacto
+     * @param from Início da linha
+     * @param to Fim da linha (exclusivo)
+     */
+    private static void sortRow(int[] neighbours, double[] weights, boolean[] pointOnly, int from, int to) {
+        boolean sorted = true;
+        for (int k = from + 1; k < to && sorted; k++) {
+            sorted = neighbours[k - 1] <= neighbours[k];
+        }
+        if (sorted) {
+            return;
+        }
+
+        long[] keys = new long[to - from];
+        for (int k = from; k < to; k++) {
+            keys[k - from] = ((long) neighbours[k] << 32) | (k - from);
+        }
+        Arrays.sort(keys);
+        double[] rowWeights = Arrays.copyOfRange(weights, from, to);
+        boolean[] rowPointOnly = Arrays.copyOfRange(pointOnly, from, to);
+        for (int k = 0; k < keys.length; k++) {
+            neighbours[from + k] = (int) (keys[k] >>> 32);
+            weights[from + k] = rowWeights[(int) keys[k]];
+            pointOnly[from + k] = rowPointOnly[(int) keys[k]];
+        }
+    }
+
+    /**
+     * Retorna o número de vértices.
+     * 
+     * @return Número de vértices
+     */
+    public int getVertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Retorna o número de arestas não orientadas.
+     * 
+     * @return Número de arestas
+     */
+    public int getEdgeCount() {
+        return neighbours.length / 2;
+    }
+
+    /**
+     * Retorna o número de vizinhos de um vértice.
+     * 
+     * @param vertex Índice do vértice
+     * @return Grau do vértice
+     */
+    public int getDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Retorna o k-ésimo vizinho de um vértice, por ordem crescente.
+     * 
+     * @param vertex Índice do vértice
+     * @param k Posição do vizinho, entre 0 e o grau do vértice - 1
+     * @return Índice do vizinho
+     */
+    public int getNeighbour(int vertex, int k) {
+        return neighbours[offsets[vertex] + k];
+    }
+
+    /**
+     * Retorna o peso da aresta para o k-ésimo vizinho de um vértice.
+     * 
+     * @param vertex Índice do vértice
+     * @param k Posição do vizinho, entre 0 e o grau do vértice - 1
+     * @return Peso da aresta
+     */
+    public double getNeighbourWeight(int vertex, int k) {
+        return weights[offsets[vertex] + k];
+    }
+
+    /**
+     * Retorna o peso da aresta entre dois vértices.
+     * 
+     * @param vertex1 Índice do primeiro vértice
+     * @param vertex2 Índice do segundo vértice
+     * @return Peso da aresta, ou 0 se os vértices não forem adjacentes
+     */
+    public double getWeight(int vertex1, int vertex2) {
+        int k = Arrays.binarySearch(neighbours, offsets[vertex1], offsets[vertex1 + 1], vertex2);
+        return k < 0 ? 0 : weights[k];
+    }
+
+    /**
+     * Indica se o contacto com o k-ésimo vizinho de um vértice é feito apenas por pontos.
+     * 
+     * @param vertex Índice do vértice
+     * @param k Posição do vizinho, entre 0 e o grau do vértice - 1
+     * @return true se o contacto for feito apenas por pontos
+     */
+    public boolean isNeighbourPointOnly(int vertex, int k) {
+        return pointOnly[offsets[vertex] + k];
+    }
+
+    /**
+     * Indica se dois vértices são adjacentes e o contacto entre eles é feito apenas por pontos.
+     * 
+     * @param vertex1 Índice do primeiro vértice
+     * @param vertex2 Índice do segundo vértice
+     * @return true se existir uma aresta só por pontos entre os vértices
+     */
+    public boolean isPointOnly(int vertex1, int vertex2) {
+        int k = Arrays.binarySearch(neighbours, offsets[vertex1], offsets[vertex1 + 1], vertex2);
+        return k >= 0 && pointOnly[k];
+    }
+
+    /**
+     * Retorna a multiplicidade da aresta para o k-ésimo vizinho de um vértice.
+     * 
+     * @param vertex Índice do vértice
+     * @param k Posição do vizinho, entre 0 e o grau do vértice - 1
+     * @return Número de arestas repetidas juntas nessa posição
+     */
+    public int getNeighbourMultiplicity(int vertex, int k) {
+        return multiplicities == null ? 1 : multiplicities[offsets[vertex] + k];
+    }
+
+    /**
+     * Retorna a multiplicidade da aresta entre dois vértices.
+     * 
+     * @param vertex1 Índice do primeiro vértice
+     * @param vertex2 Índice do segundo vértice
+     * @return Número de arestas repetidas entre os vértices, ou 0 se não forem adjacentes
+     */
+    public int getMultiplicity(int vertex1, int vertex2) {
+        int k = Arrays.binarySearch(neighbours, offsets[vertex1], offsets[vertex1 + 1], vertex2);
+        if (k < 0) {
+            return 0;
+        }
+        return multiplicities == null ? 1 : multiplicities[k];
+    }
+
+    /**
+     * Retorna uma cópia dos vizinhos de um vértice, por ordem crescente.
+     * 
+     * @param vertex Índice do vértice
+     * @return Vizinhos do vértice
+     */
+    public int[] getNeighbours(int vertex) {
+        return Arrays.copyOfRange(neighbours, offsets[vertex], offsets[vertex + 1]);
+    }
+
+    /**
+     * Verifica se dois vértices são adjacentes, por pesquisa binária na linha do primeiro.
+     * 
+     * @param vertex1 Índice do primeiro vértice
+     * @param vertex2 Índice do segundo vértice
+     * @return true se existir uma aresta entre os vértices
+     */
+    public boolean areAdjacent(int vertex1, int vertex2) {
+        return Arrays.binarySearch(neighbours, offsets[vertex1], offsets[vertex1 + 1], vertex2) >= 0;
+    }
+}
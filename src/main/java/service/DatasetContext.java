@@ -0,0 +1,271 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import service.analysis.GraphMetrics;
+import service.exchange.PropertyExchangeService;
+import service.spatial.CadastroIndex;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Contexto de um conjunto de dados importado, partilhado por todos os painéis e serviços.
+ * Cada grafo e índice é construído uma única vez, na primeira vez que é pedido, e
+ * reutilizado por todos os pedidos seguintes. Como as propriedades importadas não mudam,
+ * o contexto nunca precisa de ser atualizado: uma nova importação cria um novo contexto.
+ * 
+ * Os métodos podem ser chamados de várias threads e nenhum bloqueia o contexto inteiro:
+ * cada grafo, índice ou serviço tem a sua própria construção, feita na thread que o pede
+ * primeiro, e apenas os pedidos desse mesmo valor aguardam por ela. Se uma construção
+ * falhar, o erro é propagado e a construção é tentada de novo no pedido seguinte; se for
+ * cancelada, os pedidos que a aguardavam repetem-na com o seu próprio monitor.
+ * As construções podem demorar, pelo que não devem ser pedidas na thread da interface.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class DatasetContext {
+    private final List<Cadastro> cadastros;
+    private final AdjacencyEngine engine;
+
+    private final Lazy<PropertyGraph> propertyGraph = new Lazy<>();
+    private final Lazy<OwnerGraph> ownerGraph = new Lazy<>();
+    private final Lazy<PropertyExchangeService> exchangeService = new Lazy<>();
+    private final Lazy<CadastroIndex> spatialIndex = new Lazy<>();
+    private final Lazy<GraphMetrics> propertyGraphMetrics = new Lazy<>();
+    private final Lazy<GraphMetrics> ownerGraphMetrics = new Lazy<>();
+
+    /**
+     * Cria o contexto de um conjunto de dados, escolhendo o motor de adjacências
+     * com {@link AdjacencyEngineSelector} e guardando as adjacências na cache em disco.
+     * 
+     * @param cadastros Propriedades importadas
+     * @throws IllegalArgumentException se a lista for nula ou vazia
+     */
+    public DatasetContext(List<Cadastro> cadastros) {
+        this(cadastros, new CachedAdjacencyEngine(AdjacencyEngineSelector.select(requireCadastros(cadastros)),
+                AdjacencyCache.inUserHome()));
+    }
+
+    /**
+     * Cria o contexto das propriedades importadas de um ficheiro. As adjacências ficam na
+     * cache em disco com a chave do ficheiro, pelo que uma nova importação do mesmo ficheiro
+     * sem alterações as carrega sem construir o índice espacial.
+     * 
+     * @param cadastros Propriedades importadas, pela ordem do ficheiro
+     * @param source Ficheiro de onde as propriedades foram importadas
+     * @throws IllegalArgumentException se a lista for nula ou vazia, ou o ficheiro for nulo
+     */
+    public DatasetContext(List<Cadastro> cadastros, Path source) {
+        this(cadastros, new CachedAdjacencyEngine(AdjacencyEngineSelector.select(requireCadastros(cadastros)),
+                AdjacencyCache.inUserHome(), source));
+    }
+
+    /**
+     * Cria o contexto de um conjunto de dados com o motor de adjacências indicado.
+     * 
+     * @param cadastros Propriedades importadas
+     * @param engine Motor de adjacências
+     * @throws IllegalArgumentException se a lista for nula ou vazia, ou o motor for nulo
+     */
+    public DatasetContext(List<Cadastro> cadastros, AdjacencyEngine engine) {
+        requireCadastros(cadastros);
+        if (engine == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+        // Cópia imutável: as ordenações da interface não alteram as posições dos grafos
+        this.cadastros = List.copyOf(cadastros);
+        this.engine = engine;
+    }
+
+    private static List<Cadastro> requireCadastros(List<Cadastro> cadastros) {
+        if (cadastros == null || cadastros.isEmpty()) {
+            throw new IllegalArgumentException(Constants.EMPTY_LIST_ERROR);
+        }
+        return cadastros;
+    }
+
+    /**
+     * Retorna as propriedades do conjunto de dados, pela ordem de importação.
+     * 
+     * @return Lista imutável de propriedades
+     */
+    public List<Cadastro> getCadastros() {
+        return cadastros;
+    }
+
+    /**
+     * Retorna o grafo de propriedades, construindo-o em paralelo no primeiro pedido.
+     * 
+     * @return Grafo de propriedades
+     * @throws IllegalStateException se ocorrer um erro durante a construção
+     */
+    public PropertyGraph getPropertyGraph() {
+        return getPropertyGraph(new BuildMonitor());
+    }
+
+    /**
+     * Retorna o grafo de propriedades, construindo-o em paralelo no primeiro pedido com o
+     * monitor indicado. Se o grafo já existir, o monitor não é usado; se a construção for
+     * cancelada, o grafo é construído de novo no pedido seguinte.
+     * 
+     * @param monitor Monitor de cancelamento e progresso da construção
+     * @return Grafo de propriedades
+     * @throws IllegalArgumentException se o monitor for nulo
+     * @throws IllegalStateException se ocorrer um erro durante a construção
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    public PropertyGraph getPropertyGraph(BuildMonitor monitor) {
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+        return propertyGraph.get(() -> new PropertyGraph(cadastros, engine, true, monitor));
+    }
+
+    /**
+     * Retorna o grafo de proprietários, projetado a partir do grafo de propriedades.
+     * 
+     * @return Grafo de proprietários
+     * @throws IllegalStateException se ocorrer um erro durante a construção
+     */
+    public OwnerGraph getOwnerGraph() {
+        return getOwnerGraph(new BuildMonitor());
+    }
+
+    /**
+     * Retorna o grafo de proprietários, construindo o grafo de propriedades com o monitor
+     * indicado se ainda não existir.
+     * 
+     * @param monitor Monitor de cancelamento e progresso da construção
+     * @return Grafo de proprietários
+     * @throws IllegalArgumentException se o monitor for nulo
+     * @throws IllegalStateException se ocorrer um erro durante a construção
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    public OwnerGraph getOwnerGraph(BuildMonitor monitor) {
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+        return ownerGraph.get(() -> new OwnerGraph(getPropertyGraph(monitor)));
+    }
+
+    /**
+     * Retorna o índice espacial das propriedades. Se o grafo de propriedades já existir,
+     * é usado o seu índice; caso contrário o índice é construído sem construir os grafos.
+     * 
+     * @return Índice espacial
+     */
+    public CadastroIndex getSpatialIndex() {
+        return spatialIndex.get(() -> {
+            PropertyGraph graph = propertyGraph.peek();
+            return graph != null ? graph.getSpatialIndex() : new CadastroIndex(cadastros);
+        });
+    }
+
+    /**
+     * Retorna o serviço de sugestões de troca, construído sobre os grafos partilhados.
+     * 
+     * @return Serviço de sugestões de troca
+     * @throws IllegalStateException se ocorrer um erro durante a construção dos grafos
+     */
+    public PropertyExchangeService getExchangeService() {
+        return exchangeService.get(() -> new PropertyExchangeService(getOwnerGraph(), getPropertyGraph(), cadastros));
+    }
+
+    /**
+     * Retorna as estatísticas do grafo de propriedades, calculadas no primeiro pedido.
+     * 
+     * @return Estatísticas do grafo de propriedades
+     * @throws IllegalStateException se ocorrer um erro durante a construção do grafo
+     */
+    public GraphMetrics getPropertyGraphMetrics() {
+        return propertyGraphMetrics.get(() -> GraphMetrics.forProperties(getPropertyGraph()));
+    }
+
+    /**
+     * Retorna as estatísticas do grafo de proprietários, calculadas no primeiro pedido.
+     * 
+     * @return Estatísticas do grafo de proprietários
+     * @throws IllegalStateException se ocorrer um erro durante a construção dos grafos
+     */
+    public GraphMetrics getOwnerGraphMetrics() {
+        return ownerGraphMetrics.get(() -> GraphMetrics.forOwners(getOwnerGraph()));
+    }
+
+    /**
+     * Indica se o grafo de propriedades já foi construído, ou seja, se os pedidos
+     * de grafos são imediatos.
+     * 
+     * @return true se o grafo de propriedades já existir
+     */
+    public boolean isPropertyGraphBuilt() {
+        return propertyGraph.peek() != null;
+    }
+
+    /**
+     * Valor construído uma única vez, no primeiro pedido, fora de qualquer bloqueio partilhado.
+     * A thread que publica a construção executa-a; as restantes aguardam apenas por esse valor.
+     * Uma construção falhada ou cancelada é retirada para que o pedido seguinte a repita.
+     */
+    private static final class Lazy<T> {
+        private final AtomicReference<CompletableFuture<T>> future = new AtomicReference<>();
+
+        /**
+         * Devolve o valor, construindo-o com o construtor indicado se ainda não existir.
+         * 
+         * @param builder Construção do valor, executada na thread atual se for a primeira
+         * @return Valor construído
+         * @throws CancellationException se a construção da thread atual for cancelada ou a
+         *         thread for interrompida enquanto aguarda outra construção
+         */
+        T get(Supplier<T> builder) {
+            while (true) {
+                CompletableFuture<T> current = future.get();
+                if (current == null) {
+                    CompletableFuture<T> created = new CompletableFuture<>();
+                    if (!future.compareAndSet(null, created)) {
+                        continue;
+                    }
+                    try {
+                        T value = builder.get();
+                        created.complete(value);
+                        return value;
+                    } catch (RuntimeException | Error e) {
+                        future.compareAndSet(created, null);
+                        created.completeExceptionally(e);
+                        throw e;
+                    }
+                }
+                try {
+                    return current.get();
+                } catch (CancellationException e) {
+                    // Cancelada pelo monitor de outra thread: repetir com o desta
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException(Constants.BUILD_CANCELLED_ERROR);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw (Error) e.getCause();
+                }
+            }
+        }
+
+        /**
+         * Devolve o valor apenas se já tiver sido construído, sem esperar nem construir.
+         * 
+         * @return Valor construído, ou null
+         */
+        T peek() {
+            CompletableFuture<T> current = future.get();
+            return current != null && current.isDone() && !current.isCompletedExceptionally() ? current.join() : null;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package service;
+
+import core.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Lista imutável de arestas entre propriedades, identificadas pela sua posição
+ * na lista de cadastros do grafo.
+ * Cada aresta é guardada uma única vez, com a origem menor que o destino, e as
+ * arestas estão ordenadas por origem e depois por destino.
+ * 
+ * Cada aresta tem ainda o comprimento da fronteira partilhada pelas duas propriedades e
+ * indica se as propriedades se tocam apenas em pontos. Um comprimento nulo não basta para
+ * o saber: duas propriedades sobrepostas também podem não ter troços de fronteira comuns.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class EdgeList {
+    /** Posições de origem das arestas */
+    private final int[] sources;
+
+    /** Posições de destino das arestas */
+    private final int[] targets;
+
+    /** Comprimento da fronteira partilhada de cada aresta */
+    private final double[] lengths;
+
+    /** Indica, para cada aresta, se as propriedades se tocam apenas em pontos */
+    private final boolean[] pointOnly;
+
+    private EdgeList(int[] sources, int[] targets, double[] lengths, boolean[] pointOnly) {
+        this.sources = sources;
+        this.targets = targets;
+        this.lengths = lengths;
+        this.pointOnly = pointOnly;
+    }
+
+    /**
+     * Cria uma lista a partir de vetores já ordenados, sem os copiar.
+     * 
+     * @param sources Posições de origem
+     * @param targets Posições de destino
+     * @param lengths Comprimento da fronteira partilhada de cada aresta
+     * @param pointOnly Indica se cada aresta liga propriedades que se tocam apenas em pontos
+     * @param vertexCount Número de propriedades do grafo
+     * @return Lista de arestas
+     * @throws IllegalArgumentException se os vetores tiverem tamanhos diferentes, posições
+     *         fora do intervalo, arestas com origem maior ou igual ao destino, comprimentos
+     *         negativos, arestas só por pontos com comprimento positivo, ou não estiverem ordenados
+     */
+    static EdgeList of(int[] sources, int[] targets, double[] lengths, boolean[] pointOnly, int vertexCount) {
+        if (sources.length != targets.length || sources.length != lengths.length || sources.length != pointOnly.length) {
+            throw new IllegalArgumentException(Constants.ADJACENCY_INDEX_ERROR);
+        }
+        for (int k = 0; k < sources.length; k++) {
+            boolean valid = sources[k] >= 0 && sources[k] < targets[k] && targets[k] < vertexCount
+                    && lengths[k] >= 0 && (!pointOnly[k] || lengths[k] == 0);
+            boolean ordered = k == 0 || sources[k - 1] < sources[k]
+                    || (sources[k - 1] == sources[k] && targets[k - 1] < targets[k]);
+            if (!valid || !ordered) {
+                throw new IllegalArgumentException(Constants.ADJACENCY_INDEX_ERROR);
+            }
+        }
+        return new EdgeList(sources, targets, lengths, pointOnly);
+    }
+
+    /**
+     * Devolve o número de arestas.
+     * 
+     * @return Número de arestas
+     */
+    public int size() {
+        return sources.length;
+    }
+
+    /**
+     * Devolve a posição de origem da aresta k.
+     * 
+     * @param k Índice da aresta
+     * @return Posição de origem
+     */
+    public int getSource(int k) {
+        return sources[k];
+    }
+
+    /**
+     * Devolve a posição de destino da aresta k.
+     * 
+     * @param k Índice da aresta
+     * @return Posição de destino
+     */
+    public int getTarget(int k) {
+        return targets[k];
+    }
+
+    /**
+     * Devolve o comprimento da fronteira partilhada da aresta k.
+     * 
+     * @param k Índice da aresta
+     * @return Comprimento da fronteira partilhada
+     */
+    public double getSharedLength(int k) {
+        return lengths[k];
+    }
+
+    /**
+     * Indica se as propriedades da aresta k se tocam apenas em pontos.
+     * 
+     * @param k Índice da aresta
+     * @return true se as propriedades não partilharem troços de fronteira nem se sobrepuserem
+     */
+    public boolean isPointOnly(int k) {
+        return pointOnly[k];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EdgeList other)) return false;
+        return Arrays.equals(sources, other.sources) && Arrays.equals(targets, other.targets)
+                && Arrays.equals(lengths, other.lengths) && Arrays.equals(pointOnly, other.pointOnly);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * Arrays.hashCode(sources) + Arrays.hashCode(targets)) + Arrays.hashCode(lengths);
+        return 31 * hash + Arrays.hashCode(pointOnly);
+    }
+
+    /**
+     * Acumulador de arestas usado durante a construção.
+     * Cada thread usa o seu próprio acumulador; os acumuladores são depois
+     * concatenados pela ordem das partições, sem qualquer bloqueio partilhado.
+     * Um acumulador guarda no máximo {@link Constants#MAX_EDGE_COUNT} arestas; acima disso
+     * a construção é recusada em vez de o número de arestas dar a volta.
+     */
+    public static final class Builder {
+        private int[] sources = new int[64];
+        private int[] targets = new int[64];
+        private double[] lengths = new double[64];
+        private boolean[] pointOnly = new boolean[64];
+        private int size;
+
+        /**
+         * Acrescenta uma aresta entre propriedades que se tocam apenas em pontos. As arestas devem ser acrescentadas por ordem.
+         * 
+         * @param source Posição de origem
+         * @param target Posição de destino (maior que a origem)
+         */
+        public void add(int source, int target) {
+            add(source, target, 0, true);
+        }
+
+        /**
+         * Acrescenta uma aresta entre propriedades que não se sobrepõem, que se tocam apenas
+         * em pontos se o comprimento for nulo. As arestas devem ser acrescentadas por ordem.
+         * 
+         * @param source Posição de origem
+         * @param target Posição de destino (maior que a origem)
+         * @param length Comprimento da fronteira partilhada
+         */
+        public void add(int source, int target, double length) {
+            add(source, target, length, length == 0);
+        }
+
+        /**
+         * Acrescenta uma aresta. As arestas devem ser acrescentadas por ordem.
+         * 
+         * @param source Posição de origem
+         * @param target Posição de destino (maior que a origem)
+         * @param length Comprimento da fronteira partilhada
+         * @param pointOnly true se as propriedades se tocarem apenas em pontos
+         * @throws IllegalStateException se o acumulador já tiver o número máximo de arestas
+         */
+        public void add(int source, int target, double length, boolean pointOnly) {
+            if (size == sources.length) {
+                grow(size + 1L);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            lengths[size] = length;
+            this.pointOnly[size] = pointOnly;
+            size++;
+        }
+
+        /**
+         * Acrescenta todas as arestas de outro acumulador, a seguir às atuais.
+         * 
+         * @param other Acumulador com arestas posteriores
+         * @return Este acumulador
+         * @throws IllegalStateException se o total exceder o número máximo de arestas
+         */
+        public Builder append(Builder other) {
+            long required = (long) size + other.size;
+            if (required > sources.length) {
+                if (required > Constants.MAX_EDGE_COUNT) {
+                    throw new IllegalStateException(Constants.EDGE_LIMIT_ERROR);
+                }
+                resize((int) required);
+            }
+            System.arraycopy(other.sources, 0, sources, size, other.size);
+            System.arraycopy(other.targets, 0, targets, size, other.size);
+            System.arraycopy(other.lengths, 0, lengths, size, other.size);
+            System.arraycopy(other.pointOnly, 0, pointOnly, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        /**
+         * Aumenta a capacidade para pelo menos o número de arestas indicado, duplicando-a
+         * sem exceder {@link Constants#MAX_EDGE_COUNT}.
+         * 
+         * @param required Número de arestas necessário
+         * @throws IllegalStateException se for maior do que o número máximo de arestas
+         */
+        private void grow(long required) {
+            if (required > Constants.MAX_EDGE_COUNT) {
+                throw new IllegalStateException(Constants.EDGE_LIMIT_ERROR);
+            }
+            resize((int) Math.max(required, Math.min(2L * sources.length, Constants.MAX_EDGE_COUNT)));
+        }
+
+        private void resize(int capacity) {
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            pointOnly = Arrays.copyOf(pointOnly, capacity);
+        }
+
+        /**
+         * Cria a lista imutável com as arestas acumuladas.
+         * 
+         * @return Lista de arestas
+         */
+        public EdgeList build() {
+            return new EdgeList(Arrays.copyOf(sources, size), Arrays.copyOf(targets, size), Arrays.copyOf(lengths, size),
+                    Arrays.copyOf(pointOnly, size));
+        }
+
+        /**
+         * Cria a lista imutável ordenando primeiro as arestas, que podem ter sido
+         * acrescentadas por qualquer ordem. As arestas são distribuídas por origem em
+         * tempo linear e cada grupo é depois ordenado por destino.
+         * 
+         * @param vertexCount Número de propriedades do grafo
+         * @return Lista de arestas ordenada
+         */
+        public EdgeList buildSorted(int vertexCount) {
+            int[] offsets = new int[vertexCount + 1];
+            for (int k = 0; k < size; k++) {
+                offsets[sources[k] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] sortedSources = new int[size];
+            int[] sortedTargets = new int[size];
+            double[] sortedLengths = new double[size];
+            boolean[] sortedPointOnly = new boolean[size];
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            for (int k = 0; k < size; k++) {
+                int slot = next[sources[k]]++;
+                sortedSources[slot] = sources[k];
+                sortedTargets[slot] = targets[k];
+                sortedLengths[slot] = lengths[k];
+                sortedPointOnly[slot] = pointOnly[k];
+            }
+
+            // Os grupos de cada origem são pequenos: ordenação por inserção
+            for (int v = 0; v < vertexCount; v++) {
+                for (int k = offsets[v] + 1; k < offsets[v + 1]; k++) {
+                    int target = sortedTargets[k];
+                    double length = sortedLengths[k];
+                    boolean points = sortedPointOnly[k];
+                    int j = k - 1;
+                    while (j >= offsets[v] && sortedTargets[j] > target) {
+                        sortedTargets[j + 1] = sortedTargets[j];
+                        sortedLengths[j + 1] = sortedLengths[j];
+                        sortedPointOnly[j + 1] = sortedPointOnly[j];
+                        j--;
+                    }
+                    sortedTargets[j + 1] = target;
+                    sortedLengths[j + 1] = length;
+                    sortedPointOnly[j + 1] = points;
+                }
+            }
+            return new EdgeList(sortedSources, sortedTargets, sortedLengths, sortedPointOnly);
+        }
+    }
+}
@@ -3,8 +3,16 @@ package service;
 import model.Cadastro;
 import core.Constants;
 import model.Location;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
 import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.TopologyException;
+import service.spatial.CadastroIndex;
 
 import java.util.*;
 
@@ -19,8 +27,17 @@ public class Graph {
     /** Lista de todas as propriedades no grafo */
     protected final List<Cadastro> cadastros;
     
-    /** Mapa que armazena as relações de adjacência entre propriedades */
-    protected final Map<Cadastro, Set<Cadastro>> propertyAdjacencyList;
+    /** Adjacências entre propriedades, indexadas pela posição em {@link #cadastros} */
+    protected CsrAdjacency propertyAdjacency;
+
+    /** Posição de cada propriedade em {@link #cadastros} */
+    private final Map<Cadastro, Integer> positions;
+
+    /** Índice espacial das propriedades, construído apenas quando é pedido */
+    private volatile CadastroIndex spatialIndex;
+
+    /** Explorações contíguas de todas as propriedades, calculadas apenas quando são pedidas */
+    private volatile ContiguousHoldings contiguousHoldings;
 
     /**
      * Cria um grafo a partir de uma lista de propriedades.
@@ -35,12 +52,191 @@ public class Graph {
         if (cadastros.isEmpty()) {
             throw new IllegalArgumentException(Constants.EMPTY_CADASTROS_ERROR);
         }
-        if (cadastros.contains(null)) {
-            throw new IllegalArgumentException(Constants.NULL_ELEMENTS_ERROR);
+        // contains(null) não serve: as listas imutáveis lançam NullPointerException
+        for (Cadastro cadastro : cadastros) {
+            if (cadastro == null) {
+                throw new IllegalArgumentException(Constants.NULL_ELEMENTS_ERROR);
+            }
+        }
+
+        // Cópia imutável: as posições não podem mudar se a lista original for ordenada ou alterada
+        this.cadastros = List.copyOf(cadastros);
+        this.propertyAdjacency = CsrAdjacency.fromEdges(this.cadastros.size(), new EdgeList.Builder().build());
+        this.positions = new HashMap<>(this.cadastros.size() * 2);
+        for (int i = 0; i < this.cadastros.size(); i++) {
+            positions.put(this.cadastros.get(i), i);
+        }
+    }
+
+    /**
+     * Cria um grafo que partilha as adjacências e o índice espacial de outro grafo
+     * já construído sobre a mesma lista de propriedades.
+     * 
+     * @param cadastros Lista de propriedades do grafo de origem
+     * @param propertyAdjacency Adjacências entre propriedades do grafo de origem, que são imutáveis
+     * @param spatialIndex Índice espacial do grafo de origem, ou null para o construir só quando for pedido
+     * @throws IllegalArgumentException se a lista for nula ou vazia
+     */
+    protected Graph(List<Cadastro> cadastros, CsrAdjacency propertyAdjacency, CadastroIndex spatialIndex) {
+        this(cadastros);
+        this.propertyAdjacency = propertyAdjacency;
+        this.spatialIndex = spatialIndex;
+    }
+
+    /**
+     * Calcula as adjacências entre propriedades com o motor indicado e guarda-as
+     * em {@link #propertyAdjacency}.
+     * 
+     * @param engine Motor de adjacências
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @return Lista de arestas calculada, por posição em {@link #cadastros}
+     * @throws IllegalArgumentException se o motor for nulo
+     * @throws IllegalStateException se ocorrer um erro durante a análise topológica
+     */
+    protected EdgeList computePropertyAdjacencies(AdjacencyEngine engine, boolean parallel) {
+        return computePropertyAdjacencies(engine, parallel, new BuildMonitor());
+    }
+
+    /**
+     * Calcula as adjacências entre propriedades com o motor indicado, podendo ser cancelado
+     * e comunicando o progresso ao monitor, e guarda-as em {@link #propertyAdjacency}.
+     * 
+     * @param engine Motor de adjacências
+     * @param parallel true para dividir o trabalho pelos núcleos disponíveis
+     * @param monitor Monitor de cancelamento e progresso
+     * @return Lista de arestas calculada, por posição em {@link #cadastros}
+     * @throws IllegalArgumentException se o motor ou o monitor forem nulos
+     * @throws IllegalStateException se ocorrer um erro durante a análise topológica
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    protected EdgeList computePropertyAdjacencies(AdjacencyEngine engine, boolean parallel, BuildMonitor monitor) {
+        if (engine == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+
+        try {
+            // Uma lista já guardada pelo motor dispensa a construção do índice espacial
+            EdgeList edges = engine.lookup(cadastros);
+            if (edges == null) {
+                edges = engine.build(getSpatialIndex(), parallel, monitor);
+            }
+            propertyAdjacency = CsrAdjacency.fromEdges(cadastros.size(), edges);
+            return edges;
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.GRAPH_BUILD_ERROR + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna a posição de uma propriedade na lista do grafo.
+     * 
+     * @param property Propriedade
+     * @return Posição da propriedade, ou -1 se não pertencer ao grafo
+     */
+    protected int positionOf(Cadastro property) {
+        Integer position = positions.get(property);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Retorna a posição de uma propriedade, que é o seu vértice em {@link #getPropertyAdjacency()}.
+     * 
+     * @param property Propriedade
+     * @return Posição da propriedade, ou -1 se não pertencer ao grafo
+     * @throws IllegalArgumentException se a propriedade for nula
+     */
+    public int getPosition(Cadastro property) {
+        if (property == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        return positionOf(property);
+    }
+
+    /**
+     * Retorna as adjacências entre propriedades em formato compacto, indexadas pela posição
+     * de cada propriedade em {@link #getCadastros()}. A estrutura é imutável e pode ser
+     * percorrida por algoritmos de análise sem criar objetos por vértice.
+     * 
+     * @return Lista de adjacências entre propriedades
+     */
+    public CsrAdjacency getPropertyAdjacency() {
+        return propertyAdjacency;
+    }
+
+    /**
+     * Retorna as propriedades adjacentes a uma propriedade.
+     * O conjunto devolvido é uma vista só de leitura sobre a linha da propriedade
+     * em {@link #propertyAdjacency}, sem cópia dos vizinhos.
+     * 
+     * @param property Propriedade alvo
+     * @return Conjunto de propriedades adjacentes, vazio se a propriedade não pertencer ao grafo
+     * @throws IllegalArgumentException se a propriedade for nula
+     */
+    public Set<Cadastro> getAdjacentProperties(Cadastro property) {
+        if (property == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+
+        int position = positionOf(property);
+        return position < 0 ? Collections.emptySet() : new AdjacentPropertySet(propertyAdjacency, position);
+    }
+
+    /**
+     * Verifica se duas propriedades do grafo são adjacentes.
+     * 
+     * @param prop1 Primeira propriedade
+     * @param prop2 Segunda propriedade
+     * @return true se as propriedades forem adjacentes
+     * @throws IllegalArgumentException se alguma das propriedades for nula
+     */
+    public boolean areAdjacentProperties(Cadastro prop1, Cadastro prop2) {
+        if (prop1 == null || prop2 == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+
+        int position1 = positionOf(prop1);
+        int position2 = positionOf(prop2);
+        return position1 >= 0 && position2 >= 0 && propertyAdjacency.areAdjacent(position1, position2);
+    }
+
+    /**
+     * Retorna o comprimento da fronteira partilhada por duas propriedades do grafo.
+     * 
+     * @param prop1 Primeira propriedade
+     * @param prop2 Segunda propriedade
+     * @return Comprimento da fronteira partilhada, ou 0 se as propriedades não forem adjacentes
+     * @throws IllegalArgumentException se alguma das propriedades for nula
+     */
+    public double getSharedBoundaryLength(Cadastro prop1, Cadastro prop2) {
+        if (prop1 == null || prop2 == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+
+        int position1 = positionOf(prop1);
+        int position2 = positionOf(prop2);
+        return position1 < 0 || position2 < 0 ? 0 : propertyAdjacency.getWeight(position1, position2);
+    }
+
+    /**
+     * Verifica se duas propriedades do grafo são adjacentes apenas por pontos.
+     * 
+     * @param prop1 Primeira propriedade
+     * @param prop2 Segunda propriedade
+     * @return true se as propriedades forem adjacentes, sem partilharem nenhum troço de fronteira
+     *         nem se sobreporem
+     * @throws IllegalArgumentException se alguma das propriedades for nula
+     */
+    public boolean isPointOnlyAdjacency(Cadastro prop1, Cadastro prop2) {
+        if (prop1 == null || prop2 == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
         }
 
-        this.cadastros = cadastros;
-        this.propertyAdjacencyList = new HashMap<>();
+        int position1 = positionOf(prop1);
+        int position2 = positionOf(prop2);
+        return position1 >= 0 && position2 >= 0 && propertyAdjacency.isPointOnly(position1, position2);
     }
 
     /**
@@ -76,6 +272,22 @@ public class Graph {
      * @return true if properties are adjacent
      */
     public static boolean arePropertiesPhysicallyAdjacent(Cadastro prop1, Cadastro prop2) {
+        return physicalContact(prop1, prop2) != null;
+    }
+
+    /**
+     * Avalia duas propriedades com uma única matriz de interseção DE-9IM, que decide a
+     * adjacência e o tipo de contacto sem um predicado exato por relação.
+     * A fronteira partilhada só é medida se a matriz indicar que as fronteiras se intersetam
+     * numa linha; as propriedades tocam-se apenas em pontos se, além disso, os interiores forem disjuntos.
+     * 
+     * @param prop1 Primeira propriedade
+     * @param prop2 Segunda propriedade
+     * @return Contacto entre as propriedades, ou null se não forem adjacentes
+     * @throws IllegalArgumentException se alguma das propriedades for nula
+     * @throws IllegalStateException se ocorrer um erro topológico
+     */
+    static BoundaryContact physicalContact(Cadastro prop1, Cadastro prop2) {
         if (prop1 == null || prop2 == null) {
             throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
         }
@@ -83,18 +295,140 @@ public class Graph {
         try {
             MultiPolygon shape1 = prop1.getShape();
             MultiPolygon shape2 = prop2.getShape();
-            
+
             if (shape1 == null || shape2 == null) {
-                return false;
+                return null;
+            }
+
+            IntersectionMatrix matrix = shape1.relate(shape2);
+            boolean adjacent = matrix.isTouches(shape1.getDimension(), shape2.getDimension())
+                    || (matrix.isIntersects() && !matrix.isWithin() && !matrix.isContains());
+            if (!adjacent) {
+                return null;
             }
+            double length = matrix.get(org.locationtech.jts.geom.Location.BOUNDARY, org.locationtech.jts.geom.Location.BOUNDARY) == Dimension.L
+                    ? sharedBoundaryLength(shape1, shape2) : 0;
+            boolean pointOnly = length == 0
+                    && matrix.get(org.locationtech.jts.geom.Location.INTERIOR, org.locationtech.jts.geom.Location.INTERIOR) == Dimension.FALSE;
+            return new BoundaryContact(length, pointOnly);
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.ADJACENCY_ERROR + e.getMessage(), e);
+        }
+    }
 
-            return shape1.touches(shape2) || 
-                   (shape1.intersects(shape2) && !shape1.within(shape2) && !shape2.within(shape1));
+    /**
+     * Calcula o contacto entre duas propriedades que já se sabe serem adjacentes, como as
+     * aceites pelos predicados preparados. Os interiores só são comparados nos pares sem
+     * troços de fronteira comuns, que são os toques em cantos e as sobreposições.
+     * 
+     * @param shape1 Forma da primeira propriedade
+     * @param shape2 Forma da segunda propriedade
+     * @return Contacto entre as propriedades
+     * @throws IllegalStateException se ocorrer um erro topológico
+     */
+    static BoundaryContact contactOfAdjacent(Geometry shape1, Geometry shape2) {
+        double length = sharedBoundaryLength(shape1, shape2);
+        if (length > 0) {
+            return new BoundaryContact(length, false);
+        }
+        try {
+            return new BoundaryContact(0, !shape1.relate(shape2, Constants.INTERIORS_INTERSECT_PATTERN));
         } catch (TopologyException e) {
             throw new IllegalStateException(Constants.ADJACENCY_ERROR + e.getMessage(), e);
         }
     }
 
+    /**
+     * Calcula o comprimento da fronteira partilhada por duas propriedades adjacentes.
+     * Um comprimento nulo indica que as fronteiras se intersetam apenas em pontos.
+     * 
+     * O comprimento é a soma das sobreposições entre segmentos colineares das duas fronteiras,
+     * considerando apenas os segmentos dentro da interseção dos envelopes; não é construída
+     * nenhuma geometria de interseção, e os segmentos só parcialmente comuns, como num vértice
+     * de uma propriedade a meio do lado da outra, contam apenas pela parte comum.
+     * 
+     * @param shape1 Forma da primeira propriedade
+     * @param shape2 Forma da segunda propriedade
+     * @return Comprimento da interseção das fronteiras, ou 0 se alguma forma for nula
+     */
+    public static double sharedBoundaryLength(Geometry shape1, Geometry shape2) {
+        if (shape1 == null || shape2 == null) {
+            return 0;
+        }
+
+        Envelope common = shape1.getEnvelopeInternal().intersection(shape2.getEnvelopeInternal());
+        if (common.isNull()) {
+            return 0;
+        }
+        List<Coordinate> segments1 = boundarySegments(shape1, common);
+        List<Coordinate> segments2 = boundarySegments(shape2, common);
+        double length = 0;
+        for (int a = 0; a < segments1.size(); a += 2) {
+            for (int b = 0; b < segments2.size(); b += 2) {
+                length += collinearOverlap(segments1.get(a), segments1.get(a + 1), segments2.get(b), segments2.get(b + 1));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Recolhe os segmentos dos anéis de uma forma cujo envelope interseta o envelope indicado.
+     * 
+     * @param shape Forma poligonal
+     * @param envelope Envelope de pesquisa
+     * @return Extremos dos segmentos, dois a dois
+     */
+    private static List<Coordinate> boundarySegments(Geometry shape, Envelope envelope) {
+        List<Coordinate> segments = new ArrayList<>();
+        for (int n = 0; n < shape.getNumGeometries(); n++) {
+            Polygon polygon = (Polygon) shape.getGeometryN(n);
+            addSegments(polygon.getExteriorRing().getCoordinates(), envelope, segments);
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                addSegments(polygon.getInteriorRingN(r).getCoordinates(), envelope, segments);
+            }
+        }
+        return segments;
+    }
+
+    private static void addSegments(Coordinate[] ring, Envelope envelope, List<Coordinate> segments) {
+        for (int k = 1; k < ring.length; k++) {
+            Coordinate a = ring[k - 1];
+            Coordinate b = ring[k];
+            if (Math.max(a.x, b.x) >= envelope.getMinX() && Math.min(a.x, b.x) <= envelope.getMaxX()
+                    && Math.max(a.y, b.y) >= envelope.getMinY() && Math.min(a.y, b.y) <= envelope.getMaxY()) {
+                segments.add(a);
+                segments.add(b);
+            }
+        }
+    }
+
+    /**
+     * Calcula o comprimento comum a dois segmentos, que só é positivo se forem colineares.
+     * A colinearidade é decidida com o teste de orientação robusto do JTS.
+     * 
+     * @param p0 Primeiro extremo do primeiro segmento
+     * @param p1 Segundo extremo do primeiro segmento
+     * @param q0 Primeiro extremo do segundo segmento
+     * @param q1 Segundo extremo do segundo segmento
+     * @return Comprimento da sobreposição
+     */
+    private static double collinearOverlap(Coordinate p0, Coordinate p1, Coordinate q0, Coordinate q1) {
+        double dx = p1.x - p0.x;
+        double dy = p1.y - p0.y;
+        double squaredLength = dx * dx + dy * dy;
+        if (squaredLength == 0
+                || Orientation.index(p0, p1, q0) != Orientation.COLLINEAR
+                || Orientation.index(p0, p1, q1) != Orientation.COLLINEAR) {
+            return 0;
+        }
+        // Posição dos extremos de q ao longo de p, em que p ocupa o intervalo [0, 1]
+        double t0 = ((q0.x - p0.x) * dx + (q0.y - p0.y) * dy) / squaredLength;
+        double t1 = ((q1.x - p0.x) * dx + (q1.y - p0.y) * dy) / squaredLength;
+        double from = Math.max(0, Math.min(t0, t1));
+        double to = Math.min(1, Math.max(t0, t1));
+        return to > from ? (to - from) * Math.sqrt(squaredLength) : 0;
+    }
+
     /**
      * Verifica se dois elementos são adjacentes no grafo.
      * 
@@ -153,6 +487,55 @@ public class Graph {
         return Collections.unmodifiableSet(adjacencyMap.getOrDefault(element, new HashSet<>()));
     }
 
+    /**
+     * Devolve o índice espacial das propriedades do grafo.
+     * O índice é construído na primeira chamada e partilhado pelas seguintes.
+     * 
+     * @return Índice espacial das propriedades
+     */
+    public CadastroIndex getSpatialIndex() {
+        CadastroIndex index = spatialIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = spatialIndex;
+                if (index == null) {
+                    index = new CadastroIndex(cadastros);
+                    spatialIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Devolve o índice espacial apenas se já tiver sido construído, sem o construir.
+     * 
+     * @return Índice espacial, ou null se ainda não tiver sido pedido
+     */
+    CadastroIndex builtSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Devolve as explorações contíguas de todas as propriedades do grafo, isto é, as componentes
+     * conexas das propriedades do mesmo proprietário. São calculadas na primeira chamada.
+     * 
+     * @return Explorações contíguas
+     */
+    public ContiguousHoldings getContiguousHoldings() {
+        ContiguousHoldings holdings = contiguousHoldings;
+        if (holdings == null) {
+            synchronized (this) {
+                holdings = contiguousHoldings;
+                if (holdings == null) {
+                    holdings = new ContiguousHoldings(this);
+                    contiguousHoldings = holdings;
+                }
+            }
+        }
+        return holdings;
+    }
+
     /**
      * Returns total number of properties.
      * 
@@ -179,4 +562,51 @@ public class Graph {
     public List<Cadastro> getCadastros() {
         return cadastros;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Vista só de leitura sobre os vizinhos de uma propriedade.
+     */
+    private final class AdjacentPropertySet extends AbstractSet<Cadastro> {
+        private final CsrAdjacency adjacency;
+        private final int vertex;
+
+        AdjacentPropertySet(CsrAdjacency adjacency, int vertex) {
+            this.adjacency = adjacency;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public int size() {
+            return adjacency.getDegree(vertex);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Cadastro cadastro)) {
+                return false;
+            }
+            int position = positionOf(cadastro);
+            return position >= 0 && adjacency.areAdjacent(vertex, position);
+        }
+
+        @Override
+        public Iterator<Cadastro> iterator() {
+            return new Iterator<>() {
+                private int k;
+
+                @Override
+                public boolean hasNext() {
+                    return k < adjacency.getDegree(vertex);
+                }
+
+                @Override
+                public Cadastro next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return cadastros.get(adjacency.getNeighbour(vertex, k++));
+                }
+            };
+        }
+    }
+}
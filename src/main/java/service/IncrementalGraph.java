@@ -0,0 +1,366 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.index.quadtree.Quadtree;
+
+import java.util.*;
+
+/**
+ * Grafo de propriedades e de proprietários que pode ser atualizado propriedade a propriedade.
+ * Ao adicionar, remover ou substituir uma propriedade, apenas os candidatos cujo envelope
+ * interseta o dela são consultados numa {@link Quadtree}, pelo que o custo de cada edição
+ * depende da densidade local e não do tamanho do conjunto de dados.
+ * 
+ * As adjacências entre proprietários guardam o número de arestas entre propriedades que as
+ * suportam: uma adjacência entre proprietários só desaparece quando a última aresta entre
+ * propriedades desses proprietários é removida.
+ * 
+ * Esta classe não é segura para uso concorrente.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class IncrementalGraph {
+    /** Vizinhos de cada propriedade, com o contacto entre ambas, pela ordem de inserção das propriedades */
+    private final Map<Cadastro, Map<Cadastro, BoundaryContact>> propertyAdjacency = new LinkedHashMap<>();
+
+    /** Número de arestas entre propriedades que suportam cada adjacência entre proprietários */
+    private final Map<Integer, Map<Integer, Integer>> ownerEdgeCounts = new HashMap<>();
+
+    /** Índice espacial dinâmico das propriedades com geometria */
+    private final Quadtree index = new Quadtree();
+
+    private int propertyEdges;
+    private int ownerEdges;
+
+    /**
+     * Cria um grafo atualizável a partir de uma lista de propriedades.
+     * 
+     * @param cadastros Lista de propriedades
+     * @throws IllegalArgumentException se a lista for nula ou vazia
+     */
+    public IncrementalGraph(List<Cadastro> cadastros) {
+        this(new PropertyGraph(cadastros));
+    }
+
+    /**
+     * Cria um grafo atualizável a partir de um grafo de propriedades já construído,
+     * sem repetir a análise geométrica.
+     * 
+     * @param graph Grafo de propriedades
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public IncrementalGraph(PropertyGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+
+        for (Cadastro cadastro : graph.cadastros) {
+            propertyAdjacency.put(cadastro, new HashMap<>());
+            insertIntoIndex(cadastro);
+        }
+        for (Cadastro cadastro : graph.cadastros) {
+            for (Cadastro adjacent : graph.getAdjacentProperties(cadastro)) {
+                if (!propertyAdjacency.get(cadastro).containsKey(adjacent)) {
+                    link(cadastro, adjacent, new BoundaryContact(graph.getSharedBoundaryLength(cadastro, adjacent),
+                            graph.isPointOnlyAdjacency(cadastro, adjacent)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adiciona uma propriedade e calcula as suas adjacências.
+     * 
+     * @param property Propriedade a adicionar
+     * @throws IllegalArgumentException se a propriedade for nula ou já pertencer ao grafo
+     * @throws IllegalStateException se ocorrer um erro durante a análise de adjacência
+     */
+    public void addProperty(Cadastro property) {
+        if (property == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        if (propertyAdjacency.containsKey(property)) {
+            throw new IllegalArgumentException(Constants.DUPLICATE_PROPERTY_ERROR);
+        }
+
+        insert(property, findAdjacent(property, null));
+    }
+
+    /**
+     * Remove uma propriedade e todas as suas adjacências.
+     * 
+     * @param property Propriedade a remover
+     * @throws IllegalArgumentException se a propriedade for nula ou não pertencer ao grafo
+     */
+    public void removeProperty(Cadastro property) {
+        requireMember(property);
+
+        for (Cadastro adjacent : new ArrayList<>(propertyAdjacency.get(property).keySet())) {
+            unlink(property, adjacent);
+        }
+        propertyAdjacency.remove(property);
+        MultiPolygon shape = property.getShape();
+        if (shape != null) {
+            index.remove(shape.getEnvelopeInternal(), property);
+        }
+    }
+
+    /**
+     * Substitui uma propriedade por outra, por exemplo após alterar a geometria ou o proprietário.
+     * As adjacências da nova propriedade são calculadas antes de a antiga ser removida, pelo que
+     * um erro na análise deixa o grafo inalterado.
+     * 
+     * @param oldProperty Propriedade a substituir
+     * @param newProperty Nova versão da propriedade
+     * @throws IllegalArgumentException se alguma propriedade for nula, a antiga não pertencer
+     *         ao grafo ou a nova já pertencer
+     * @throws IllegalStateException se ocorrer um erro durante a análise de adjacência
+     */
+    public void replaceProperty(Cadastro oldProperty, Cadastro newProperty) {
+        requireMember(oldProperty);
+        if (newProperty == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        if (propertyAdjacency.containsKey(newProperty)) {
+            throw new IllegalArgumentException(Constants.DUPLICATE_PROPERTY_ERROR);
+        }
+
+        Map<Cadastro, BoundaryContact> adjacent = findAdjacent(newProperty, oldProperty);
+        removeProperty(oldProperty);
+        insert(newProperty, adjacent);
+    }
+
+    /**
+     * Retorna as propriedades adjacentes a uma propriedade.
+     * 
+     * @param property Propriedade alvo
+     * @return Conjunto só de leitura das propriedades adjacentes, vazio se não pertencer ao grafo
+     * @throws IllegalArgumentException se a propriedade for nula
+     */
+    public Set<Cadastro> getAdjacentProperties(Cadastro property) {
+        if (property == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        return Collections.unmodifiableSet(propertyAdjacency.getOrDefault(property, Collections.emptyMap()).keySet());
+    }
+
+    /**
+     * Retorna o comprimento da fronteira partilhada por duas propriedades.
+     * 
+     * @param prop1 Primeira propriedade
+     * @param prop2 Segunda propriedade
+     * @return Comprimento da fronteira partilhada, ou 0 se as propriedades não forem adjacentes
+     * @throws IllegalArgumentException se alguma das propriedades for nula
+     */
+    public double getSharedBoundaryLength(Cadastro prop1, Cadastro prop2) {
+        if (prop1 == null || prop2 == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        BoundaryContact contact = propertyAdjacency.getOrDefault(prop1, Collections.emptyMap()).get(prop2);
+        return contact == null ? 0 : contact.length();
+    }
+
+    /**
+     * Verifica se dois proprietários têm propriedades adjacentes.
+     * 
+     * @param owner1 Identificador do primeiro proprietário
+     * @param owner2 Identificador do segundo proprietário
+     * @return true se os proprietários forem adjacentes
+     */
+    public boolean areAdjacentOwners(int owner1, int owner2) {
+        return ownerEdgeCounts.getOrDefault(owner1, Collections.emptyMap()).containsKey(owner2);
+    }
+
+    /**
+     * Retorna o número de propriedades no grafo.
+     * 
+     * @return Número de propriedades
+     */
+    public int getNumberOfProperties() {
+        return propertyAdjacency.size();
+    }
+
+    /**
+     * Retorna o número de adjacências entre propriedades.
+     * 
+     * @return Número de adjacências
+     */
+    public int getNumberOfAdjacenciesBetweenProperties() {
+        return propertyEdges;
+    }
+
+    /**
+     * Retorna o número de proprietários com pelo menos uma adjacência a outro proprietário.
+     * 
+     * @return Número de proprietários
+     */
+    public int getNumberOfOwners() {
+        return ownerEdgeCounts.size();
+    }
+
+    /**
+     * Retorna o número de adjacências entre proprietários.
+     * 
+     * @return Número de adjacências
+     */
+    public int getNumberOfAdjacenciesBetweenOwners() {
+        return ownerEdges;
+    }
+
+    /**
+     * Cria um grafo de propriedades imutável com o estado atual, sem repetir a análise geométrica.
+     * O grafo de proprietários correspondente obtém-se com {@link OwnerGraph#OwnerGraph(PropertyGraph)}.
+     * 
+     * @return Grafo de propriedades
+     * @throws IllegalArgumentException se o grafo não tiver propriedades
+     */
+    public PropertyGraph snapshot() {
+        List<Cadastro> cadastros = new ArrayList<>(propertyAdjacency.keySet());
+        Map<Cadastro, Integer> positions = new HashMap<>(cadastros.size() * 2);
+        for (int i = 0; i < cadastros.size(); i++) {
+            positions.put(cadastros.get(i), i);
+        }
+
+        EdgeList.Builder edges = new EdgeList.Builder();
+        for (int i = 0; i < cadastros.size(); i++) {
+            for (Map.Entry<Cadastro, BoundaryContact> adjacent : propertyAdjacency.get(cadastros.get(i)).entrySet()) {
+                int j = positions.get(adjacent.getKey());
+                // Cada aresta é acrescentada apenas a partir da menor posição
+                if (j > i) {
+                    edges.add(i, j, adjacent.getValue().length(), adjacent.getValue().pointOnly());
+                }
+            }
+        }
+        return new PropertyGraph(cadastros, CsrAdjacency.fromEdges(cadastros.size(), edges.buildSorted(cadastros.size())));
+    }
+
+    /**
+     * Acrescenta uma propriedade com as adjacências já calculadas. Os proprietários são
+     * validados antes de qualquer alteração ao grafo.
+     * 
+     * @param property Propriedade a acrescentar
+     * @param adjacent Propriedades adjacentes, com o contacto com cada uma
+     * @throws IllegalArgumentException se alguma aresta ligar proprietários com identificador inválido
+     */
+    private void insert(Cadastro property, Map<Cadastro, BoundaryContact> adjacent) {
+        for (Cadastro other : adjacent.keySet()) {
+            if (other.getOwner() != property.getOwner() && (other.getOwner() <= 0 || property.getOwner() <= 0)) {
+                throw new IllegalArgumentException(Constants.INVALID_OWNER_ERROR);
+            }
+        }
+
+        propertyAdjacency.put(property, new HashMap<>());
+        insertIntoIndex(property);
+        for (Map.Entry<Cadastro, BoundaryContact> other : adjacent.entrySet()) {
+            link(property, other.getKey(), other.getValue());
+        }
+    }
+
+    /**
+     * Encontra as propriedades do grafo adjacentes a uma propriedade, consultando apenas
+     * os candidatos cujo envelope interseta o seu.
+     * 
+     * @param property Propriedade
+     * @param excluded Propriedade do grafo a ignorar, como a que vai ser substituída, ou null
+     * @return Propriedades adjacentes, com o contacto com cada uma
+     * @throws IllegalStateException se ocorrer um erro durante a análise de adjacência
+     */
+    private Map<Cadastro, BoundaryContact> findAdjacent(Cadastro property, Cadastro excluded) {
+        Map<Cadastro, BoundaryContact> adjacent = new LinkedHashMap<>();
+        MultiPolygon shape = property.getShape();
+        if (shape == null) {
+            return adjacent;
+        }
+
+        Envelope envelope = shape.getEnvelopeInternal();
+        for (Object item : index.query(envelope)) {
+            Cadastro candidate = (Cadastro) item;
+            // A Quadtree devolve um superconjunto dos candidatos
+            if (candidate != excluded && candidate.getShape().getEnvelopeInternal().intersects(envelope)) {
+                BoundaryContact contact = Graph.physicalContact(property, candidate);
+                if (contact != null) {
+                    adjacent.put(candidate, contact);
+                }
+            }
+        }
+        return adjacent;
+    }
+
+    private void insertIntoIndex(Cadastro property) {
+        MultiPolygon shape = property.getShape();
+        if (shape != null) {
+            index.insert(shape.getEnvelopeInternal(), property);
+        }
+    }
+
+    private void requireMember(Cadastro property) {
+        if (property == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        if (!propertyAdjacency.containsKey(property)) {
+            throw new IllegalArgumentException(Constants.UNKNOWN_PROPERTY_ERROR);
+        }
+    }
+
+    /**
+     * Acrescenta uma aresta entre propriedades e atualiza a adjacência entre os seus proprietários.
+     */
+    private void link(Cadastro prop1, Cadastro prop2, BoundaryContact contact) {
+        propertyAdjacency.get(prop1).put(prop2, contact);
+        propertyAdjacency.get(prop2).put(prop1, contact);
+        propertyEdges++;
+
+        int owner1 = prop1.getOwner();
+        int owner2 = prop2.getOwner();
+        if (owner1 != owner2) {
+            if (owner1 <= 0 || owner2 <= 0) {
+                throw new IllegalArgumentException(Constants.INVALID_OWNER_ERROR);
+            }
+            if (ownerEdgeCounts.computeIfAbsent(owner1, _ -> new HashMap<>()).merge(owner2, 1, Integer::sum) == 1) {
+                ownerEdges++;
+            }
+            ownerEdgeCounts.computeIfAbsent(owner2, _ -> new HashMap<>()).merge(owner1, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Remove uma aresta entre propriedades e, se era a última entre os seus proprietários,
+     * a adjacência entre eles.
+     */
+    private void unlink(Cadastro prop1, Cadastro prop2) {
+        propertyAdjacency.get(prop1).remove(prop2);
+        propertyAdjacency.get(prop2).remove(prop1);
+        propertyEdges--;
+
+        int owner1 = prop1.getOwner();
+        int owner2 = prop2.getOwner();
+        if (owner1 != owner2) {
+            if (decrement(owner1, owner2)) {
+                ownerEdges--;
+            }
+            decrement(owner2, owner1);
+        }
+    }
+
+    /**
+     * Decrementa o número de arestas que suportam a adjacência do proprietário owner ao other.
+     * 
+     * @return true se a adjacência deixou de existir
+     */
+    private boolean decrement(int owner, int other) {
+        Map<Integer, Integer> counts = ownerEdgeCounts.get(owner);
+        Integer remaining = counts.merge(other, -1, Integer::sum);
+        if (remaining != null && remaining > 0) {
+            return false;
+        }
+        counts.remove(other);
+        if (counts.isEmpty()) {
+            ownerEdgeCounts.remove(owner);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package service;
+
+import model.Cadastro;
+import service.spatial.CadastroIndex;
+
+/**
+ * Motor de adjacências que consulta primeiro o índice espacial e aplica os predicados
+ * exatos de {@link Graph#arePropertiesPhysicallyAdjacent} apenas aos pares cujos
+ * envelopes se intersetam. É o motor usado por omissão pelos grafos, por ser o único
+ * que reporta sempre os erros topológicos de geometrias inválidas.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class IndexedAdjacencyEngine implements AdjacencyEngine {
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel) {
+        return build(index, parallel, new BuildMonitor());
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        return AdjacencyBuilder.build(index, parallel, monitor, IndexedAdjacencyEngine::collect);
+    }
+
+    /**
+     * Avalia uma propriedade contra os candidatos posteriores com os predicados exatos.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param i Posição da propriedade
+     * @param edges Acumulador de arestas
+     */
+    private static void collect(CadastroIndex index, int i, EdgeList.Builder edges) {
+        Cadastro prop1 = index.get(i);
+        for (int j : index.queryCandidatesAfter(i, 0)) {
+            Cadastro prop2 = index.get(j);
+            BoundaryContact contact = Graph.physicalContact(prop1, prop2);
+            if (contact != null) {
+                edges.add(i, j, contact.length(), contact.pointOnly());
+            }
+        }
+    }
+}
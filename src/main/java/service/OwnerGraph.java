@@ -2,7 +2,6 @@ package service;
 
 import model.Cadastro;
 import core.Constants;
-import org.locationtech.jts.geom.TopologyException;
 
 import java.util.*;
 
@@ -14,7 +13,17 @@ import java.util.*;
  * @version 1.0
  */
 public class OwnerGraph extends Graph {
-    private final Map<Integer, Set<Integer>> adjacencyList;
+    /** Identificadores dos proprietários com pelo menos uma adjacência, por ordem crescente */
+    private int[] ownerIds;
+
+    /** Posição de cada proprietário em {@link #ownerIds} */
+    private OwnerIndex ownerIndex;
+
+    /** Adjacências entre proprietários, indexadas pela posição em {@link #ownerIds} */
+    private CsrAdjacency ownerAdjacency;
+
+    /** Número de arestas entre propriedades de proprietários diferentes */
+    private int ownerEdgeCount;
 
     /**
      * Construtor da classe OwnerGraph.
@@ -24,37 +33,149 @@ public class OwnerGraph extends Graph {
      * @throws IllegalArgumentException se a lista de cadastros for nula ou vazia
      */
     public OwnerGraph(List<Cadastro> cadastros) {
+        this(cadastros, false);
+    }
+
+    /**
+     * Cria um grafo a partir da lista de cadastros, podendo avaliar as adjacências
+     * em paralelo. O grafo resultante é o mesmo nos dois modos.
+     * 
+     * @param cadastros Lista de cadastros para criar o grafo
+     * @param parallel true para construir o grafo em paralelo
+     * @throws IllegalArgumentException se a lista de cadastros for nula ou vazia
+     */
+    public OwnerGraph(List<Cadastro> cadastros, boolean parallel) {
+        this(cadastros, new IndexedAdjacencyEngine(), parallel);
+    }
+
+    /**
+     * Cria um grafo a partir da lista de cadastros usando o motor de adjacências indicado.
+     * Todos os motores produzem o mesmo grafo; apenas o tempo de construção difere.
+     * 
+     * @param cadastros Lista de cadastros para criar o grafo
+     * @param engine Motor de adjacências, por exemplo de {@link AdjacencyEngineSelector#select}
+     * @param parallel true para construir o grafo em paralelo
+     * @throws IllegalArgumentException se a lista de cadastros for nula ou vazia, ou o motor for nulo
+     */
+    public OwnerGraph(List<Cadastro> cadastros, AdjacencyEngine engine, boolean parallel) {
+        this(cadastros, engine, parallel, new BuildMonitor());
+    }
+
+    /**
+     * Cria um grafo a partir da lista de cadastros usando o motor de adjacências indicado,
+     * comunicando o progresso ao monitor e terminando assim que o monitor for cancelado.
+     * 
+     * @param cadastros Lista de cadastros para criar o grafo
+     * @param engine Motor de adjacências
+     * @param parallel true para construir o grafo em paralelo
+     * @param monitor Monitor de cancelamento e progresso
+     * @throws IllegalArgumentException se a lista de cadastros for nula ou vazia, ou o motor ou o monitor forem nulos
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    public OwnerGraph(List<Cadastro> cadastros, AdjacencyEngine engine, boolean parallel, BuildMonitor monitor) {
         super(cadastros);
-        this.adjacencyList = new HashMap<>();
-        createGraph();
-    }
-
-    private void createGraph() {
-        try {
-            // Primeiro, criar o grafo de propriedades
-            for (int i = 0; i < cadastros.size(); i++) {
-                for (int j = i + 1; j < cadastros.size(); j++) {
-                    Cadastro prop1 = cadastros.get(i);
-                    Cadastro prop2 = cadastros.get(j);
-                    
-                    if (arePropertiesPhysicallyAdjacent(prop1, prop2)) {
-                        addAdjacency(prop1, prop2, propertyAdjacencyList);
-                        
-                        // Se os proprietários forem diferentes, adicionar adjacência no grafo de proprietários
-                        if (prop1.getOwner() != prop2.getOwner()) {
-                            addAdjacency(prop1.getOwner(), prop2.getOwner(), adjacencyList);
-                        }
+        computePropertyAdjacencies(engine, parallel, monitor);
+        monitor.checkCancelled();
+        projectPropertyAdjacencies();
+    }
+
+    /**
+     * Cria um grafo de proprietários a partir de um grafo de propriedades já construído,
+     * projetando cada aresta entre propriedades de proprietários diferentes numa aresta
+     * entre esses proprietários. Não repete nenhuma análise geométrica nem constrói o
+     * índice espacial: o tempo é linear no número de arestas do grafo de propriedades.
+     * O índice do grafo de origem só é partilhado se já tiver sido construído.
+     * 
+     * @param propertyGraph Grafo de propriedades já construído
+     * @throws IllegalArgumentException se o grafo de propriedades for nulo
+     */
+    public OwnerGraph(PropertyGraph propertyGraph) {
+        super(requireGraph(propertyGraph).cadastros, propertyGraph.propertyAdjacency,
+                propertyGraph.builtSpatialIndex());
+        projectPropertyAdjacencies();
+    }
+
+    /**
+     * Valida o grafo de propriedades recebido antes de ser usado pelo construtor.
+     * 
+     * @param propertyGraph Grafo de propriedades
+     * @return O mesmo grafo
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    private static PropertyGraph requireGraph(PropertyGraph propertyGraph) {
+        if (propertyGraph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        return propertyGraph;
+    }
+
+    /**
+     * Projeta as adjacências entre propriedades nas adjacências entre proprietários.
+     * Uma primeira passagem regista os proprietários envolvidos em {@link #ownerIndex};
+     * a segunda acrescenta uma aresta por cada aresta entre propriedades de proprietários
+     * diferentes, com o comprimento da fronteira partilhada. As arestas repetidas são
+     * juntas na lista de adjacências compacta, que soma os comprimentos e conta as repetições.
+     * 
+     * @throws IllegalArgumentException se algum proprietário tiver identificador inválido
+     */
+    private void projectPropertyAdjacencies() {
+        OwnerIndex index = new OwnerIndex(16);
+        int edgeCount = 0;
+        for (int v = 0; v < propertyAdjacency.getVertexCount(); v++) {
+            int owner1 = cadastros.get(v).getOwner();
+            for (int k = 0; k < propertyAdjacency.getDegree(v); k++) {
+                int owner2 = cadastros.get(propertyAdjacency.getNeighbour(v, k)).getOwner();
+                if (owner1 != owner2) {
+                    if (owner1 <= 0 || owner2 <= 0) {
+                        throw new IllegalArgumentException(Constants.INVALID_OWNER_ERROR);
                     }
+                    index.intern(owner1);
+                    edgeCount++;
+                }
+            }
+        }
+
+        // Posições por ordem crescente de identificador
+        ownerIds = index.keysByPosition();
+        Arrays.sort(ownerIds);
+        for (int position = 0; position < ownerIds.length; position++) {
+            index.put(ownerIds[position], position);
+        }
+        ownerIndex = index;
+
+        EdgeList.Builder edges = new EdgeList.Builder();
+        for (int v = 0; v < propertyAdjacency.getVertexCount(); v++) {
+            int owner1 = cadastros.get(v).getOwner();
+            for (int k = 0; k < propertyAdjacency.getDegree(v); k++) {
+                int w = propertyAdjacency.getNeighbour(v, k);
+                int owner2 = cadastros.get(w).getOwner();
+                // Cada aresta aparece nas duas linhas; basta projetá-la uma vez
+                if (v < w && owner1 != owner2) {
+                    int position1 = index.get(owner1);
+                    int position2 = index.get(owner2);
+                    edges.add(Math.min(position1, position2), Math.max(position1, position2),
+                            propertyAdjacency.getNeighbourWeight(v, k), propertyAdjacency.isNeighbourPointOnly(v, k));
                 }
             }
-        } catch (TopologyException e) {
-            throw new IllegalStateException(Constants.GRAPH_BUILD_ERROR + e.getMessage(), e);
         }
+        ownerEdgeCount = edgeCount / 2;
+        ownerAdjacency = CsrAdjacency.fromEdges(ownerIds.length, edges.build());
+    }
+
+    /**
+     * Retorna a posição densa de um proprietário, sem alocar memória.
+     * 
+     * @param owner Identificador do proprietário
+     * @return Posição em {@link #ownerIds}, ou um valor negativo se o proprietário não tiver adjacências
+     */
+    private int ownerPosition(int owner) {
+        return ownerIndex.get(owner);
     }
 
     /**
      * Calcula a área média por proprietário, considerando propriedades adjacentes do mesmo proprietário
-     * como uma única propriedade.
+     * como uma única propriedade. As cadeias de propriedades contíguas são agrupadas por inteiro
+     * com {@link ContiguousHoldings}, independentemente da ordem das propriedades.
      * 
      * @param district Distrito para filtrar (opcional)
      * @param municipality Município para filtrar (opcional)
@@ -77,50 +198,11 @@ public class OwnerGraph extends Graph {
             throw new IllegalArgumentException(areaInfo.toString());
         }
 
-        // Calcular média por proprietário, considerando propriedades adjacentes como uma única
-        Map<Integer, Double> ownerAreas = new HashMap<>();
-        Set<Cadastro> processedProperties = new HashSet<>();
-        
-        for (Cadastro cadastro : filteredCadastros) {
-            if (processedProperties.contains(cadastro)) {
-                continue;
-            }
-            
-            int owner = cadastro.getOwner();
-            double totalArea = cadastro.getArea();
-            processedProperties.add(cadastro);
-            
-            // Encontrar todas as propriedades adjacentes do mesmo proprietário
-            Set<Cadastro> adjacentProperties = getAdjacent(cadastro, propertyAdjacencyList);
-            for (Cadastro adjacent : adjacentProperties) {
-                if (adjacent.getOwner() == owner && !processedProperties.contains(adjacent)) {
-                    totalArea += adjacent.getArea();
-                    processedProperties.add(adjacent);
-                }
-            }
-            
-            ownerAreas.merge(owner, totalArea, Double::sum);
-        }
-        
-        return ownerAreas.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
-    }
-
-        /**
-     * Retorna o conjunto de propriedades adjacentes a uma propriedade específica.
-     * 
-     * @param property A propriedade cujas adjacências serão retornadas
-     * @return Conjunto de propriedades adjacentes
-     * @throws IllegalArgumentException se a propriedade for nula
-     */
-    public Set<Cadastro> getAdjacentProperties(Cadastro property) {
-        if (property == null) {
-            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
-        }
-
-        return Collections.unmodifiableSet(propertyAdjacencyList.getOrDefault(property, new HashSet<>()));
+        // As explorações contíguas são calculadas apenas sobre as propriedades filtradas
+        ContiguousHoldings holdings = filteredCadastros.size() == cadastros.size()
+                ? getContiguousHoldings()
+                : new ContiguousHoldings(this, filteredCadastros);
+        return holdings.getAverageOwnerArea();
     }
 
     /**
@@ -129,7 +211,7 @@ public class OwnerGraph extends Graph {
      * @return Número de proprietários
      */
     public int getNumberOfOwners() {
-        return adjacencyList.size();
+        return ownerIds.length;
     }
     
     /**
@@ -138,11 +220,146 @@ public class OwnerGraph extends Graph {
      * @return Número de adjacências
      */
     public int getNumberOfAdjacenciesBetweenOwners() {
-        int count = 0;
-        for (Set<Integer> adjacents : adjacencyList.values()) {
-            count += adjacents.size();
+        return ownerAdjacency.getEdgeCount();
+    }
+
+    /**
+     * Verifica se dois proprietários têm propriedades adjacentes.
+     * 
+     * @param owner1 Identificador do primeiro proprietário
+     * @param owner2 Identificador do segundo proprietário
+     * @return true se os proprietários forem adjacentes
+     */
+    public boolean areAdjacentOwners(int owner1, int owner2) {
+        int position1 = ownerPosition(owner1);
+        int position2 = ownerPosition(owner2);
+        return position1 >= 0 && position2 >= 0 && ownerAdjacency.areAdjacent(position1, position2);
+    }
+
+    /**
+     * Retorna as adjacências entre proprietários em formato compacto. Os vértices são as
+     * posições dos proprietários, convertidas com {@link #getOwnerId(int)} e
+     * {@link #getOwnerPosition(int)}; os pesos são os comprimentos de fronteira partilhada e
+     * as multiplicidades o número de arestas entre propriedades.
+     * 
+     * @return Lista de adjacências entre proprietários
+     */
+    public CsrAdjacency getOwnerAdjacency() {
+        return ownerAdjacency;
+    }
+
+    /**
+     * Retorna o identificador do proprietário numa posição de {@link #getOwnerAdjacency()}.
+     * 
+     * @param position Posição do proprietário, entre 0 e {@link #getNumberOfOwners()} - 1
+     * @return Identificador do proprietário
+     */
+    public int getOwnerId(int position) {
+        return ownerIds[position];
+    }
+
+    /**
+     * Retorna a posição de um proprietário em {@link #getOwnerAdjacency()}, sem alocar memória.
+     * 
+     * @param owner Identificador do proprietário
+     * @return Posição do proprietário, ou -1 se não tiver adjacências
+     */
+    public int getOwnerPosition(int owner) {
+        return ownerPosition(owner);
+    }
+
+    /**
+     * Retorna o número de arestas entre propriedades que ligam dois proprietários.
+     * 
+     * @param owner1 Identificador do primeiro proprietário
+     * @param owner2 Identificador do segundo proprietário
+     * @return Número de pares de propriedades adjacentes entre os proprietários, ou 0 se não forem adjacentes
+     */
+    public int getEdgeMultiplicity(int owner1, int owner2) {
+        int position1 = ownerPosition(owner1);
+        int position2 = ownerPosition(owner2);
+        return position1 < 0 || position2 < 0 ? 0 : ownerAdjacency.getMultiplicity(position1, position2);
+    }
+
+    /**
+     * Retorna o número total de arestas entre propriedades de proprietários diferentes,
+     * ou seja, a soma das multiplicidades de todas as adjacências entre proprietários.
+     * 
+     * @return Número de arestas entre propriedades de proprietários diferentes
+     */
+    public int getNumberOfPropertyEdgesBetweenOwners() {
+        return ownerEdgeCount;
+    }
+
+    /**
+     * Retorna o número de proprietários adjacentes a um proprietário, sem alocar memória.
+     * 
+     * @param owner Identificador do proprietário
+     * @return Número de proprietários adjacentes, 0 se o proprietário não tiver adjacências
+     */
+    public int getOwnerDegree(int owner) {
+        int position = ownerPosition(owner);
+        return position < 0 ? 0 : ownerAdjacency.getDegree(position);
+    }
+
+    /**
+     * Retorna o k-ésimo proprietário adjacente a um proprietário, por ordem crescente de
+     * identificador, sem alocar memória. Permite percorrer os vizinhos com
+     * {@link #getOwnerDegree(int)} sem criar coleções.
+     * 
+     * @param owner Identificador do proprietário
+     * @param k Posição do vizinho, entre 0 e o grau do proprietário - 1
+     * @return Identificador do proprietário adjacente
+     * @throws IllegalArgumentException se o proprietário não tiver adjacências
+     */
+    public int getAdjacentOwner(int owner, int k) {
+        int position = ownerPosition(owner);
+        if (position < 0) {
+            throw new IllegalArgumentException(Constants.INVALID_OWNER_ERROR);
+        }
+        return ownerIds[ownerAdjacency.getNeighbour(position, k)];
+    }
+
+    /**
+     * Retorna os proprietários adjacentes a um proprietário, por ordem crescente de identificador.
+     * 
+     * @param owner Identificador do proprietário
+     * @return Identificadores dos proprietários adjacentes, vazio se não tiver adjacências
+     */
+    public int[] getAdjacentOwners(int owner) {
+        int[] adjacent = new int[getOwnerDegree(owner)];
+        for (int k = 0; k < adjacent.length; k++) {
+            adjacent[k] = getAdjacentOwner(owner, k);
         }
-        return count / 2;
+        return adjacent;
+    }
+
+    /**
+     * Retorna o comprimento total da fronteira partilhada por dois proprietários,
+     * somado sobre todos os pares de propriedades adjacentes entre eles.
+     * 
+     * @param owner1 Identificador do primeiro proprietário
+     * @param owner2 Identificador do segundo proprietário
+     * @return Comprimento da fronteira partilhada, ou 0 se os proprietários não forem adjacentes
+     */
+    public double getSharedBoundaryLength(int owner1, int owner2) {
+        int position1 = ownerPosition(owner1);
+        int position2 = ownerPosition(owner2);
+        return position1 < 0 || position2 < 0 ? 0 : ownerAdjacency.getWeight(position1, position2);
+    }
+
+    /**
+     * Verifica se dois proprietários são adjacentes apenas por pontos.
+     * 
+     * @param owner1 Identificador do primeiro proprietário
+     * @param owner2 Identificador do segundo proprietário
+     * @return true se os proprietários forem adjacentes e todos os pares adjacentes das suas
+     *         propriedades se tocarem apenas em pontos
+     */
+    public boolean isPointOnlyAdjacency(int owner1, int owner2) {
+        int position1 = ownerPosition(owner1);
+        int position2 = ownerPosition(owner2);
+        return position1 >= 0 && position2 >= 0 && ownerAdjacency.isPointOnly(position1, position2);
     }
 
     /**
@@ -155,9 +372,9 @@ public class OwnerGraph extends Graph {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("OwnerGraph{owners=[");
-        for (int i = 0; i < adjacencyList.size(); i++) {
-            sb.append(adjacencyList.keySet().toArray()[i]);
-            if (i < adjacencyList.size() - 1) {
+        for (int i = 0; i < ownerIds.length; i++) {
+            sb.append(ownerIds[i]);
+            if (i < ownerIds.length - 1) {
                 sb.append(Constants.PROPERTY_SEPARATOR);
             }
         }
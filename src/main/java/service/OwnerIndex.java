@@ -0,0 +1,149 @@
+package service;
+
+import core.Constants;
+
+/**
+ * Tabela de dispersão de endereçamento aberto que associa identificadores de proprietários
+ * a posições densas, sem objetos por entrada. As chaves e as posições são guardadas em
+ * vetores de inteiros e as colisões resolvidas por sondagem linear; as consultas não
+ * alocam memória.
+ *
+ * Os identificadores de proprietários são sempre positivos, pelo que o valor 0 marca
+ * as entradas livres.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+final class OwnerIndex {
+    /** Valor das entradas livres */
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Cria uma tabela com capacidade para o número de proprietários indicado sem redimensionar.
+     *
+     * @param expectedSize Número esperado de proprietários
+     */
+    OwnerIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Associa uma posição a um proprietário, substituindo a anterior.
+     *
+     * @param owner Identificador do proprietário
+     * @param position Posição densa
+     * @throws IllegalArgumentException se o identificador não for positivo
+     */
+    void put(int owner, int position) {
+        if (owner <= 0) {
+            throw new IllegalArgumentException(Constants.INVALID_OWNER_ERROR);
+        }
+        int slot = slot(owner);
+        if (keys[slot] == FREE) {
+            keys[slot] = owner;
+            size++;
+        }
+        values[slot] = position;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Devolve a posição de um proprietário, atribuindo a seguinte posição livre
+     * se o proprietário ainda não existir.
+     *
+     * @param owner Identificador do proprietário
+     * @return Posição densa do proprietário
+     * @throws IllegalArgumentException se o identificador não for positivo
+     */
+    int intern(int owner) {
+        int position = get(owner);
+        if (position < 0) {
+            position = size;
+            put(owner, position);
+        }
+        return position;
+    }
+
+    /**
+     * Devolve a posição de um proprietário.
+     *
+     * @param owner Identificador do proprietário
+     * @return Posição densa, ou -1 se o proprietário não existir
+     */
+    int get(int owner) {
+        if (owner <= 0) {
+            return -1;
+        }
+        int slot = slot(owner);
+        return keys[slot] == FREE ? -1 : values[slot];
+    }
+
+    /**
+     * Devolve o número de proprietários na tabela.
+     *
+     * @return Número de proprietários
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Devolve os identificadores guardados, ordenados pela posição associada.
+     * Pressupõe que as posições são 0 a {@link #size()} - 1, como as atribuídas por {@link #intern}.
+     *
+     * @return Identificadores por posição
+     */
+    int[] keysByPosition() {
+        int[] owners = new int[size];
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                owners[values[slot]] = keys[slot];
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Procura a entrada de um proprietário ou a entrada livre onde deve ser inserido.
+     */
+    private int slot(int owner) {
+        int slot = mix(owner) & mask;
+        while (keys[slot] != FREE && keys[slot] != owner) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] != FREE) {
+                int slot = slot(oldKeys[k]);
+                keys[slot] = oldKeys[k];
+                values[slot] = oldValues[k];
+            }
+        }
+    }
+
+    /**
+     * Espalha os bits do identificador, que são frequentemente consecutivos.
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,106 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import service.spatial.CadastroIndex;
+
+/**
+ * Avaliador de adjacências baseado em geometrias preparadas.
+ * Cada propriedade tem uma única {@link PreparedGeometry}, guardada no índice espacial
+ * durante toda a vida do conjunto de dados, e é avaliada de uma só vez contra todos
+ * os seus candidatos, evitando que o JTS reconstrua os grafos de arestas internos
+ * para cada par.
+ * 
+ * A semântica é a mesma de {@link Graph#arePropertiesPhysicallyAdjacent}: duas
+ * propriedades são adjacentes se se tocam, ou se se intersetam sem que nenhuma
+ * esteja contida na outra. Como {@code a.within(b)} equivale a {@code b.contains(a)},
+ * e duas geometrias poligonais em que uma contém a outra só se podem tocar se uma
+ * delas tiver interior vazio, o teste reduz-se a interseção e contenção preparadas,
+ * recorrendo a {@code touches} apenas no caso de contenção.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class PreparedAdjacencyEngine implements AdjacencyEngine {
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel) {
+        return build(index, parallel, new BuildMonitor());
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        return AdjacencyBuilder.build(index, parallel, monitor, this::collect);
+    }
+
+    /**
+     * Devolve as posições, posteriores a i, das propriedades adjacentes à propriedade na posição i.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param i Posição da propriedade
+     * @return Posições adjacentes ordenadas
+     * @throws IllegalArgumentException se o índice for nulo
+     */
+    public int[] findAdjacent(CadastroIndex index, int i) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        EdgeList.Builder edges = new EdgeList.Builder();
+        collect(index, i, edges);
+        EdgeList list = edges.build();
+
+        int[] result = new int[list.size()];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = list.getTarget(k);
+        }
+        return result;
+    }
+
+    /**
+     * Verifica se duas propriedades preparadas são adjacentes.
+     * 
+     * @param prepared1 Geometria preparada da primeira propriedade
+     * @param prepared2 Geometria preparada da segunda propriedade
+     * @return true se as propriedades forem adjacentes
+     * @throws IllegalStateException se ocorrer um erro topológico
+     */
+    public static boolean areAdjacent(PreparedGeometry prepared1, PreparedGeometry prepared2) {
+        try {
+            MultiPolygon shape1 = (MultiPolygon) prepared1.getGeometry();
+            MultiPolygon shape2 = (MultiPolygon) prepared2.getGeometry();
+            if (!prepared1.intersects(shape2)) {
+                return false;
+            }
+            if (!prepared1.contains(shape2) && !prepared2.contains(shape1)) {
+                return true;
+            }
+            return shape1.touches(shape2);
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.ADJACENCY_ERROR + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Avalia a propriedade na posição i contra todos os candidatos posteriores.
+     * 
+     * @param index Índice espacial das propriedades
+     * @param i Posição da propriedade
+     * @param edges Acumulador de arestas
+     */
+    private void collect(CadastroIndex index, int i, EdgeList.Builder edges) {
+        PreparedGeometry prepared = index.getPreparedShape(i);
+        if (prepared == null) {
+            return;
+        }
+        for (int j : index.queryCandidatesAfter(i, 0)) {
+            PreparedGeometry other = index.getPreparedShape(j);
+            if (areAdjacent(prepared, other)) {
+                BoundaryContact contact = Graph.contactOfAdjacent(prepared.getGeometry(), other.getGeometry());
+                edges.add(i, j, contact.length(), contact.pointOnly());
+            }
+        }
+    }
+}
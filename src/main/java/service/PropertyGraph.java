@@ -2,7 +2,6 @@ package service;
 
 import model.Cadastro;
 import core.Constants;
-import org.locationtech.jts.geom.TopologyException;
 
 import java.util.*;
 
@@ -21,59 +20,68 @@ public class PropertyGraph extends Graph {
      * @throws IllegalArgumentException if list is null or empty
      */
     public PropertyGraph(List<Cadastro> cadastros) {
-        super(cadastros);
-        buildGraph();
+        this(cadastros, false);
     }
 
     /**
-     * Builds the graph by checking adjacencies between all properties.
-     * @throws TopologyException se ocorrer um erro durante a análise topológica
+     * Creates a property graph, optionally evaluating adjacencies on all available cores.
+     * The resulting graph is the same in both modes.
+     * 
+     * @param cadastros List of properties
+     * @param parallel true to build the graph in parallel
+     * @throws IllegalArgumentException if list is null or empty
      */
-    private void buildGraph() {
-        try {
-            for (int i = 0; i < cadastros.size(); i++) {
-                for (int j = i + 1; j < cadastros.size(); j++) {
-                    Cadastro prop1 = cadastros.get(i);
-                    Cadastro prop2 = cadastros.get(j);
-                    
-                    if (arePropertiesPhysicallyAdjacent(prop1, prop2)) {
-                        addAdjacency(prop1, prop2, propertyAdjacencyList);
-                    }
-                }
-            }
-        } catch (TopologyException e) {
-            throw new IllegalStateException(Constants.GRAPH_BUILD_ERROR + e.getMessage(), e);
-        }
+    public PropertyGraph(List<Cadastro> cadastros, boolean parallel) {
+        this(cadastros, new IndexedAdjacencyEngine(), parallel);
     }
 
-    
+    /**
+     * Creates a property graph using the given adjacency engine.
+     * Every engine produces the same graph; only the build time differs.
+     * 
+     * @param cadastros List of properties
+     * @param engine Adjacency engine, for example from {@link AdjacencyEngineSelector#select}
+     * @param parallel true to build the graph in parallel
+     * @throws IllegalArgumentException if list is null or empty, or the engine is null
+     */
+    public PropertyGraph(List<Cadastro> cadastros, AdjacencyEngine engine, boolean parallel) {
+        this(cadastros, engine, parallel, new BuildMonitor());
+    }
 
     /**
-     * Returns properties adjacent to a given property.
+     * Creates a property graph using the given adjacency engine, reporting progress to the
+     * monitor and stopping as soon as the monitor is cancelled.
      * 
-     * @param property Target property
-     * @return Set of adjacent properties
-     * @throws IllegalArgumentException if property is null
+     * @param cadastros List of properties
+     * @param engine Adjacency engine
+     * @param parallel true to build the graph in parallel
+     * @param monitor Cancellation and progress monitor
+     * @throws IllegalArgumentException if list is null or empty, or the engine or monitor is null
+     * @throws java.util.concurrent.CancellationException if the build is cancelled
      */
-    public Set<Cadastro> getAdjacentProperties(Cadastro property) {
-        if (property == null) {
-            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
-        }
+    public PropertyGraph(List<Cadastro> cadastros, AdjacencyEngine engine, boolean parallel, BuildMonitor monitor) {
+        super(cadastros);
+        computePropertyAdjacencies(engine, parallel, monitor);
+    }
 
-        return Collections.unmodifiableSet(propertyAdjacencyList.getOrDefault(property, new HashSet<>()));
+    /**
+     * Creates a property graph from adjacencies that were already computed.
+     * 
+     * @param cadastros List of properties
+     * @param propertyAdjacency Adjacencies indexed by position in the list
+     * @throws IllegalArgumentException if list is null or empty
+     */
+    PropertyGraph(List<Cadastro> cadastros, CsrAdjacency propertyAdjacency) {
+        super(cadastros, propertyAdjacency, null);
     }
-    
+
     /**
      * Returns total number of adjacencies.
      * 
      * @return Number of adjacencies
      */
     public int getNumberOfAdjacenciesBetweenProperties() {
-        int count = 0;
-        for (Set<Cadastro> adjacents : propertyAdjacencyList.values()) {
-            count += adjacents.size();
-        }
-        return count / 2;
+        return propertyAdjacency.getEdgeCount();
     }
 
     /**
@@ -0,0 +1,473 @@
+package service;
+
+import core.Constants;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import service.spatial.CadastroIndex;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Avaliador de adjacências para coberturas cadastrais, baseado na partilha de vértices e segmentos.
+ * Propriedades vizinhas numa cobertura bem construída partilham exatamente os mesmos
+ * vértices e segmentos de fronteira. Numa passagem prévia, cada vértice e cada segmento
+ * (par de extremos normalizado) de cada propriedade recebe uma chave de dispersão das suas
+ * coordenadas; as chaves são ordenadas em vetores primitivos, em paralelo no modo paralelo,
+ * e os registos com coordenadas iguais dão os pares que partilham vértices, juntamente com
+ * a soma dos comprimentos dos segmentos que partilham.
+ *
+ * Cada par é depois classificado pelo que partilha:
+ * - segmentos: é adjacente, exceto se uma propriedade contiver a outra; esse caso só é possível
+ *   se um envelope cobrir o outro, pelo que o predicado de contenção é avaliado apenas nessa situação;
+ * - vértices, mas nenhum segmento: é avaliado com os predicados exatos de {@link Graph}, porque
+ *   as propriedades podem tocar-se num canto ou sobrepor-se;
+ * - nada: numa cobertura sem vértices em falta (noded) as propriedades não são adjacentes.
+ *
+ * Por omissão o motor não assume que os dados são noded: os restantes candidatos do índice
+ * (fronteiras com vértices não coincidentes ou sobreposições) são avaliados com os predicados
+ * preparados de {@link PreparedAdjacencyEngine} e a fronteira partilhada é medida por
+ * {@link Graph#sharedBoundaryLength}, pelo que o resultado é igual ao dos predicados exatos.
+ * No modo noded esses candidatos são ignorados e a fronteira partilhada é a soma dos segmentos
+ * iguais, sem consultar o índice espacial; o resultado só é exato se todas as interseções entre
+ * fronteiras forem vértices de ambas as propriedades.
+ *
+ * Custo: só o modo noded dispensa o índice e os predicados, ficando proporcional ao número de
+ * vértices mais a ordenação das chaves. O modo por omissão continua a consultar a árvore do
+ * índice para cada propriedade e a avaliar com predicados preparados todos os candidatos sem
+ * vértices comuns; em relação a {@link PreparedAdjacencyEngine} poupa apenas os predicados dos
+ * pares que partilham segmentos, à custa da passagem de dispersão, e não é um caminho linear.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public class SharedEdgeAdjacencyEngine implements AdjacencyEngine {
+    /** Constante multiplicativa da dispersão das coordenadas (razão de ouro em 64 bits) */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /** true se os dados forem tratados como uma cobertura noded */
+    private final boolean noded;
+
+    /**
+     * Cria um motor que não assume vértices coincidentes e produz sempre o resultado dos predicados exatos.
+     */
+    public SharedEdgeAdjacencyEngine() {
+        this(false);
+    }
+
+    /**
+     * Cria um motor para coberturas noded ou para dados arbitrários.
+     *
+     * @param noded true se todas as interseções entre fronteiras forem vértices de ambas as
+     *        propriedades, caso em que apenas os pares que partilham vértices são avaliados
+     */
+    public SharedEdgeAdjacencyEngine(boolean noded) {
+        this.noded = noded;
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel) {
+        return build(index, parallel, new BuildMonitor());
+    }
+
+    /**
+     * O modo noded pode produzir outra lista para os mesmos dados, pelo que tem identidade própria.
+     */
+    @Override
+    public String getCacheIdentity() {
+        return noded ? getClass().getName() + Constants.NODED_ENGINE_SUFFIX : getClass().getName();
+    }
+
+    @Override
+    public EdgeList build(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+        SharedPairs sharedPairs = findSharedPairs(index, parallel, monitor);
+        return AdjacencyBuilder.build(index, parallel, monitor, (idx, i, edges) -> collect(idx, sharedPairs, i, edges));
+    }
+
+    /**
+     * Encontra os pares de propriedades que partilham pelo menos um vértice de fronteira.
+     *
+     * @param index Índice espacial das propriedades
+     * @return Pares que partilham vértices, com o comprimento dos segmentos partilhados
+     */
+    static SharedPairs findSharedPairs(CadastroIndex index) {
+        return findSharedPairs(index, false, new BuildMonitor());
+    }
+
+    /**
+     * Encontra os pares de propriedades que partilham pelo menos um vértice de fronteira,
+     * verificando o cancelamento entre propriedades.
+     *
+     * @param index Índice espacial das propriedades
+     * @param parallel true para extrair e ordenar os registos em paralelo
+     * @param monitor Monitor de cancelamento
+     * @return Pares que partilham vértices, com o comprimento dos segmentos partilhados
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    static SharedPairs findSharedPairs(CadastroIndex index, boolean parallel, BuildMonitor monitor) {
+        int n = index.size();
+        // Cada anel tem tantos segmentos como vértices, sem contar o ponto de fecho
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + vertexCount(index.get(i).getShape());
+        }
+
+        int total = offsets[n];
+        double[] vertices = new double[2 * total];
+        double[] segments = new double[4 * total];
+        int[] owners = new int[total];
+        positions(n, parallel).forEach(i -> {
+            monitor.checkCancelled();
+            Geometry shape = index.get(i).getShape();
+            if (shape != null) {
+                addRecords(shape, i, offsets[i], vertices, segments, owners);
+            }
+        });
+
+        PairCollector pairs = new PairCollector();
+        matchRecords(vertices, 2, owners, parallel, monitor, pairs);
+        matchRecords(segments, 4, owners, parallel, monitor, pairs);
+        return pairs.build(n);
+    }
+
+    private static IntStream positions(int count, boolean parallel) {
+        IntStream positions = IntStream.range(0, count);
+        return parallel ? positions.parallel() : positions;
+    }
+
+    private static int vertexCount(Geometry shape) {
+        if (shape == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int n = 0; n < shape.getNumGeometries(); n++) {
+            Polygon polygon = (Polygon) shape.getGeometryN(n);
+            count += polygon.getExteriorRing().getNumPoints() - 1;
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                count += polygon.getInteriorRingN(r).getNumPoints() - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Escreve os vértices e os segmentos de todos os anéis de uma propriedade a partir do registo indicado.
+     *
+     * @param shape Forma da propriedade
+     * @param position Posição da propriedade no índice
+     * @param first Primeiro registo da propriedade
+     * @param vertices Coordenadas dos vértices, duas por registo
+     * @param segments Extremos normalizados dos segmentos, quatro coordenadas por registo
+     * @param owners Posição da propriedade de cada registo
+     */
+    private static void addRecords(Geometry shape, int position, int first, double[] vertices, double[] segments,
+                                   int[] owners) {
+        int record = first;
+        for (int n = 0; n < shape.getNumGeometries(); n++) {
+            Polygon polygon = (Polygon) shape.getGeometryN(n);
+            record = addRing(polygon.getExteriorRing().getCoordinates(), position, record, vertices, segments, owners);
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                record = addRing(polygon.getInteriorRingN(r).getCoordinates(), position, record, vertices, segments, owners);
+            }
+        }
+    }
+
+    private static int addRing(Coordinate[] ring, int position, int record, double[] vertices, double[] segments,
+                               int[] owners) {
+        for (int k = 1; k < ring.length; k++) {
+            Coordinate a = ring[k - 1];
+            Coordinate b = ring[k];
+            Coordinate low = a.compareTo(b) <= 0 ? a : b;
+            Coordinate high = low == a ? b : a;
+            // Soma com 0.0 para que -0.0 e 0.0 produzam a mesma chave
+            vertices[2 * record] = a.x + 0.0;
+            vertices[2 * record + 1] = a.y + 0.0;
+            segments[4 * record] = low.x + 0.0;
+            segments[4 * record + 1] = low.y + 0.0;
+            segments[4 * record + 2] = high.x + 0.0;
+            segments[4 * record + 3] = high.y + 0.0;
+            owners[record++] = position;
+        }
+        return record;
+    }
+
+    /**
+     * Ordena os registos pela chave de dispersão das coordenadas e acrescenta um par por cada
+     * dois registos de propriedades diferentes com coordenadas iguais. Cada chave ocupa os 32 bits
+     * mais significativos de um long e o número do registo os restantes, pelo que a ordenação não
+     * cria objetos; as colisões são resolvidas comparando as coordenadas.
+     *
+     * @param coordinates Coordenadas dos registos
+     * @param stride Coordenadas por registo: 2 para vértices, 4 para segmentos
+     * @param owners Posição da propriedade de cada registo
+     * @param parallel true para ordenar em paralelo
+     * @param monitor Monitor de cancelamento
+     * @param pairs Acumulador de pares, que recebe o comprimento de cada segmento partilhado
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    private static void matchRecords(double[] coordinates, int stride, int[] owners, boolean parallel,
+                                     BuildMonitor monitor, PairCollector pairs) {
+        int count = owners.length;
+        long[] keys = new long[count];
+        positions(count, parallel).forEach(r -> keys[r] = ((long) hash(coordinates, r * stride, stride) << 32) | r);
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        monitor.checkCancelled();
+
+        int end;
+        for (int start = 0; start < count; start = end) {
+            end = start + 1;
+            while (end < count && (keys[end] >>> 32) == (keys[start] >>> 32)) {
+                end++;
+            }
+            for (int a = start; a < end; a++) {
+                int recordA = (int) keys[a];
+                for (int b = a + 1; b < end; b++) {
+                    int recordB = (int) keys[b];
+                    int ownerA = owners[recordA];
+                    int ownerB = owners[recordB];
+                    if (ownerA != ownerB && sameCoordinates(coordinates, recordA * stride, recordB * stride, stride)) {
+                        double length = stride == 4 ? segmentLength(coordinates, recordA * stride) : 0;
+                        pairs.add(Math.min(ownerA, ownerB), Math.max(ownerA, ownerB), length);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int hash(double[] coordinates, int from, int stride) {
+        long hash = 0;
+        for (int k = from; k < from + stride; k++) {
+            hash = (hash + Double.doubleToLongBits(coordinates[k])) * HASH_MULTIPLIER;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static boolean sameCoordinates(double[] coordinates, int from1, int from2, int stride) {
+        for (int k = 0; k < stride; k++) {
+            if (coordinates[from1 + k] != coordinates[from2 + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double segmentLength(double[] segments, int from) {
+        double dx = segments[from + 2] - segments[from];
+        double dy = segments[from + 3] - segments[from + 1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Avalia a propriedade na posição i contra os pares posteriores que partilham vértices e,
+     * fora do modo noded, contra os restantes candidatos do índice.
+     *
+     * @param index Índice espacial das propriedades
+     * @param sharedPairs Pares que partilham vértices
+     * @param i Posição da propriedade
+     * @param edges Acumulador de arestas
+     */
+    private void collect(CadastroIndex index, SharedPairs sharedPairs, int i, EdgeList.Builder edges) {
+        if (noded) {
+            for (int k = 0; k < sharedPairs.getPartnerCount(i); k++) {
+                collectShared(index, i, sharedPairs.getPartner(i, k), sharedPairs.getSharedLength(i, k), edges);
+            }
+            return;
+        }
+
+        PreparedGeometry prepared = index.getPreparedShape(i);
+        if (prepared == null) {
+            return;
+        }
+        for (int j : index.queryCandidatesAfter(i, 0)) {
+            int k = sharedPairs.find(i, j);
+            if (k >= 0) {
+                collectShared(index, i, j, sharedPairs.getSharedLength(i, k), edges);
+                continue;
+            }
+            PreparedGeometry other = index.getPreparedShape(j);
+            if (PreparedAdjacencyEngine.areAdjacent(prepared, other)) {
+                BoundaryContact contact = Graph.contactOfAdjacent(prepared.getGeometry(), other.getGeometry());
+                edges.add(i, j, contact.length(), contact.pointOnly());
+            }
+        }
+    }
+
+    /**
+     * Avalia um par que partilha vértices.
+     *
+     * @param index Índice espacial das propriedades
+     * @param i Posição menor
+     * @param j Posição maior
+     * @param matchedLength Soma dos comprimentos dos segmentos partilhados
+     * @param edges Acumulador de arestas
+     */
+    private void collectShared(CadastroIndex index, int i, int j, double matchedLength, EdgeList.Builder edges) {
+        if (matchedLength == 0) {
+            BoundaryContact contact = Graph.physicalContact(index.get(i), index.get(j));
+            if (contact != null) {
+                edges.add(i, j, contact.length(), contact.pointOnly());
+            }
+            return;
+        }
+
+        PreparedGeometry prepared1 = index.getPreparedShape(i);
+        PreparedGeometry prepared2 = index.getPreparedShape(j);
+        if (!mayContain(prepared1, prepared2)) {
+            // Sem vértices coincidentes garantidos, parte da fronteira comum pode não estar nos segmentos iguais
+            double length = noded ? matchedLength
+                    : Graph.sharedBoundaryLength(prepared1.getGeometry(), prepared2.getGeometry());
+            edges.add(i, j, length, false);
+        }
+    }
+
+    /**
+     * Verifica se uma de duas propriedades que partilham um segmento contém a outra.
+     *
+     * @param prepared1 Geometria preparada da primeira propriedade
+     * @param prepared2 Geometria preparada da segunda propriedade
+     * @return true se uma das propriedades contiver a outra
+     * @throws IllegalStateException se ocorrer um erro topológico
+     */
+    private static boolean mayContain(PreparedGeometry prepared1, PreparedGeometry prepared2) {
+        Geometry shape1 = prepared1.getGeometry();
+        Geometry shape2 = prepared2.getGeometry();
+        Envelope envelope1 = shape1.getEnvelopeInternal();
+        Envelope envelope2 = shape2.getEnvelopeInternal();
+        try {
+            return (envelope1.covers(envelope2) && prepared1.contains(shape2))
+                    || (envelope2.covers(envelope1) && prepared2.contains(shape1));
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.ADJACENCY_ERROR + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pares de propriedades que partilham vértices, em formato CSR: os parceiros posteriores
+     * de cada propriedade, por ordem crescente, com a soma dos comprimentos dos segmentos
+     * que partilham, nula se partilharem apenas vértices.
+     */
+    static final class SharedPairs {
+        private final int[] offsets;
+        private final int[] partners;
+        private final double[] lengths;
+
+        private SharedPairs(int[] offsets, int[] partners, double[] lengths) {
+            this.offsets = offsets;
+            this.partners = partners;
+            this.lengths = lengths;
+        }
+
+        int getPartnerCount(int i) {
+            return offsets[i + 1] - offsets[i];
+        }
+
+        int getPartner(int i, int k) {
+            return partners[offsets[i] + k];
+        }
+
+        double getSharedLength(int i, int k) {
+            return lengths[offsets[i] + k];
+        }
+
+        /**
+         * Procura um parceiro posterior de uma propriedade.
+         *
+         * @param i Posição menor
+         * @param j Posição maior
+         * @return Posição k do parceiro na linha de i, ou -1 se não partilharem vértices
+         */
+        int find(int i, int j) {
+            int k = Arrays.binarySearch(partners, offsets[i], offsets[i + 1], j);
+            return k < 0 ? -1 : k - offsets[i];
+        }
+    }
+
+    /**
+     * Acumulador de pares encontrados, possivelmente repetidos e por qualquer ordem.
+     */
+    private static final class PairCollector {
+        private int[] sources = new int[64];
+        private int[] targets = new int[64];
+        private double[] lengths = new double[64];
+        private int size;
+
+        void add(int source, int target, double length) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            lengths[size++] = length;
+        }
+
+        /**
+         * Distribui os pares por origem em tempo linear, ordena cada linha por destino e junta
+         * os pares repetidos, somando os comprimentos.
+         *
+         * @param vertexCount Número de propriedades
+         * @return Pares sem repetições
+         */
+        SharedPairs build(int vertexCount) {
+            int[] offsets = new int[vertexCount + 1];
+            for (int k = 0; k < size; k++) {
+                offsets[sources[k] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] sortedTargets = new int[size];
+            double[] sortedLengths = new double[size];
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            for (int k = 0; k < size; k++) {
+                int slot = next[sources[k]]++;
+                sortedTargets[slot] = targets[k];
+                sortedLengths[slot] = lengths[k];
+            }
+
+            int[] compactOffsets = new int[vertexCount + 1];
+            int compactSize = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                // Os grupos de cada origem são pequenos: ordenação por inserção
+                for (int k = offsets[v] + 1; k < offsets[v + 1]; k++) {
+                    int target = sortedTargets[k];
+                    double length = sortedLengths[k];
+                    int j = k - 1;
+                    while (j >= offsets[v] && sortedTargets[j] > target) {
+                        sortedTargets[j + 1] = sortedTargets[j];
+                        sortedLengths[j + 1] = sortedLengths[j];
+                        j--;
+                    }
+                    sortedTargets[j + 1] = target;
+                    sortedLengths[j + 1] = length;
+                }
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    if (compactSize > compactOffsets[v] && sortedTargets[compactSize - 1] == sortedTargets[k]) {
+                        sortedLengths[compactSize - 1] += sortedLengths[k];
+                    } else {
+                        sortedTargets[compactSize] = sortedTargets[k];
+                        sortedLengths[compactSize++] = sortedLengths[k];
+                    }
+                }
+                compactOffsets[v + 1] = compactSize;
+            }
+            return new SharedPairs(compactOffsets, Arrays.copyOf(sortedTargets, compactSize),
+                    Arrays.copyOf(sortedLengths, compactSize));
+        }
+    }
+}
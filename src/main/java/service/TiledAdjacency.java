@@ -0,0 +1,156 @@
+package service;
+
+import core.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Grafo de adjacências entre propriedades produzido por {@link TiledGraphBuilder}.
+ * Guarda apenas o identificador e o proprietário de cada propriedade, pela ordem do
+ * ficheiro de origem, e as arestas entre essas posições com o comprimento partilhado e a indicação
+ * de contacto apenas por pontos. Não mantém geometrias, pelo que cabe em memória mesmo quando as
+ * geometrias do conjunto de dados não cabem.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class TiledAdjacency {
+    private final int[] parcelIds;
+    private final int[] owners;
+    private final EdgeList edges;
+
+    /**
+     * Cria o grafo a partir dos seus componentes.
+     * 
+     * @param parcelIds Identificador de cada propriedade
+     * @param owners Proprietário de cada propriedade
+     * @param edges Arestas entre posições
+     */
+    TiledAdjacency(int[] parcelIds, int[] owners, EdgeList edges) {
+        this.parcelIds = parcelIds;
+        this.owners = owners;
+        this.edges = edges;
+    }
+
+    /**
+     * Retorna o número de propriedades.
+     * 
+     * @return Número de propriedades
+     */
+    public int getNumberOfProperties() {
+        return parcelIds.length;
+    }
+
+    /**
+     * Retorna o identificador da propriedade numa posição.
+     * 
+     * @param position Posição da propriedade
+     * @return Identificador da propriedade
+     */
+    public int getParcelId(int position) {
+        return parcelIds[position];
+    }
+
+    /**
+     * Retorna o proprietário da propriedade numa posição.
+     * 
+     * @param position Posição da propriedade
+     * @return Identificador do proprietário
+     */
+    public int getOwner(int position) {
+        return owners[position];
+    }
+
+    /**
+     * Retorna a lista ordenada de arestas.
+     * 
+     * @return Lista de arestas
+     */
+    public EdgeList getEdges() {
+        return edges;
+    }
+
+    /**
+     * Cria a lista de adjacências compacta entre propriedades.
+     * 
+     * @return Lista de adjacências indexada por posição
+     */
+    public CsrAdjacency toCsrAdjacency() {
+        return CsrAdjacency.fromEdges(parcelIds.length, edges);
+    }
+
+    /**
+     * Guarda o grafo num ficheiro.
+     * 
+     * @param file Ficheiro de destino
+     * @throws IOException se ocorrer um erro de escrita
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(Constants.TILED_GRAPH_MAGIC);
+            out.writeInt(Constants.TILED_GRAPH_VERSION);
+            out.writeInt(parcelIds.length);
+            for (int k = 0; k < parcelIds.length; k++) {
+                out.writeInt(parcelIds[k]);
+                out.writeInt(owners[k]);
+            }
+            out.writeInt(edges.size());
+            for (int k = 0; k < edges.size(); k++) {
+                out.writeInt(edges.getSource(k));
+                out.writeInt(edges.getTarget(k));
+                out.writeDouble(edges.getSharedLength(k));
+                out.writeBoolean(edges.isPointOnly(k));
+            }
+        }
+    }
+
+    /**
+     * Lê um grafo guardado com {@link #write(Path)}.
+     * 
+     * @param file Ficheiro de origem
+     * @return Grafo lido
+     * @throws IOException se ocorrer um erro de leitura
+     * @throws IllegalStateException se o ficheiro não tiver o formato esperado
+     */
+    public static TiledAdjacency read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != Constants.TILED_GRAPH_MAGIC || in.readInt() != Constants.TILED_GRAPH_VERSION) {
+                throw new IllegalStateException(Constants.INVALID_TILED_GRAPH_ERROR);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IllegalStateException(Constants.INVALID_TILED_GRAPH_ERROR);
+            }
+            int[] parcelIds = new int[count];
+            int[] owners = new int[count];
+            for (int k = 0; k < count; k++) {
+                parcelIds[k] = in.readInt();
+                owners[k] = in.readInt();
+            }
+
+            int edgeCount = in.readInt();
+            if (edgeCount < 0 || edgeCount > Constants.MAX_EDGE_COUNT) {
+                throw new IllegalStateException(Constants.INVALID_TILED_GRAPH_ERROR);
+            }
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            double[] lengths = new double[edgeCount];
+            boolean[] pointOnly = new boolean[edgeCount];
+            for (int k = 0; k < edgeCount; k++) {
+                sources[k] = in.readInt();
+                targets[k] = in.readInt();
+                lengths[k] = in.readDouble();
+                pointOnly[k] = in.readBoolean();
+            }
+            return new TiledAdjacency(parcelIds, owners, EdgeList.of(sources, targets, lengths, pointOnly, count));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(Constants.INVALID_TILED_GRAPH_ERROR, e);
+        }
+    }
+}
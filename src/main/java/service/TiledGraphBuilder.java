@@ -0,0 +1,302 @@
+package service;
+
+import core.Constants;
+import model.Cadastro;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Construção do grafo de propriedades por mosaicos, para conjuntos de dados cujas
+ * geometrias não cabem todas em memória.
+ * 
+ * O plano é dividido numa grelha de quadrados de lado fixo. Numa primeira passagem pelo
+ * ficheiro CSV, cada registo é copiado para o ficheiro temporário de cada mosaico que o seu
+ * envelope cobre; as propriedades que atravessam a fronteira de um mosaico são assim copiadas
+ * para todos os mosaicos vizinhos que tocam. Depois, cada mosaico é carregado isoladamente e
+ * as suas adjacências calculadas com um {@link AdjacencyEngine}.
+ * 
+ * A costura entre mosaicos é feita sem uma passagem adicional: cada par de propriedades
+ * adjacentes é atribuído ao mosaico que contém o canto inferior esquerdo da interseção dos
+ * seus envelopes. Ambas as propriedades cobrem esse ponto e estão, portanto, nesse mosaico,
+ * pelo que cada aresta é encontrada exatamente uma vez, mesmo entre mosaicos diferentes.
+ * 
+ * As posições do resultado seguem a ordem dos registos válidos no ficheiro, tal como em
+ * {@link Cadastro#getCadastros(String)}.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class TiledGraphBuilder {
+    private final double tileSize;
+    private final AdjacencyEngine engine;
+
+    /**
+     * Cria um construtor por mosaicos.
+     * 
+     * @param tileSize Lado de cada mosaico, nas unidades das coordenadas
+     * @param engine Motor de adjacências usado em cada mosaico
+     * @throws IllegalArgumentException se o lado não for positivo ou o motor for nulo
+     */
+    public TiledGraphBuilder(double tileSize, AdjacencyEngine engine) {
+        if (!(tileSize > 0) || Double.isInfinite(tileSize)) {
+            throw new IllegalArgumentException(Constants.INVALID_TILE_SIZE_ERROR);
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENGINE_ERROR);
+        }
+        this.tileSize = tileSize;
+        this.engine = engine;
+    }
+
+    /**
+     * Constrói o grafo de propriedades de um ficheiro CSV.
+     * 
+     * @param csvFile Ficheiro CSV com cabeçalho, no formato de {@link Cadastro#getCadastros(String)}
+     * @param workDirectory Diretório para os ficheiros temporários dos mosaicos, removidos no fim
+     * @return Grafo de adjacências entre as propriedades válidas do ficheiro
+     * @throws IOException se ocorrer um erro de leitura ou escrita
+     * @throws IllegalStateException se o ficheiro não tiver registos válidos
+     */
+    public TiledAdjacency build(Path csvFile, Path workDirectory) throws IOException {
+        return build(csvFile, workDirectory, new BuildMonitor());
+    }
+
+    /**
+     * Constrói o grafo de propriedades de um ficheiro CSV, podendo ser cancelado e
+     * comunicando o progresso em mosaicos processados.
+     * 
+     * @param csvFile Ficheiro CSV com cabeçalho, no formato de {@link Cadastro#getCadastros(String)}
+     * @param workDirectory Diretório para os ficheiros temporários dos mosaicos, removidos no fim
+     * @param monitor Monitor de cancelamento e progresso
+     * @return Grafo de adjacências entre as propriedades válidas do ficheiro
+     * @throws IOException se ocorrer um erro de leitura ou escrita
+     * @throws IllegalArgumentException se o monitor for nulo
+     * @throws IllegalStateException se o ficheiro não tiver registos válidos ou o grafo tiver
+     *         mais de {@link Constants#MAX_EDGE_COUNT} arestas
+     * @throws java.util.concurrent.CancellationException se a construção for cancelada
+     */
+    public TiledAdjacency build(Path csvFile, Path workDirectory, BuildMonitor monitor) throws IOException {
+        if (monitor == null) {
+            throw new IllegalArgumentException(Constants.NULL_MONITOR_ERROR);
+        }
+        Path tileDirectory = Files.createTempDirectory(Files.createDirectories(workDirectory), "tiles");
+        try {
+            Partition partition = partition(csvFile, tileDirectory, monitor);
+            if (partition.size == 0) {
+                throw new IllegalStateException(Constants.EMPTY_FILE_ERROR);
+            }
+
+            EdgeList.Builder builder = new EdgeList.Builder();
+            monitor.start(partition.tiles.size());
+            for (long tile : partition.tiles) {
+                buildTile(tileFile(tileDirectory, tile), tile, builder, monitor.nested());
+                monitor.advance(1);
+            }
+            return new TiledAdjacency(Arrays.copyOf(partition.parcelIds, partition.size),
+                    Arrays.copyOf(partition.owners, partition.size), builder.buildSorted(partition.size));
+        } finally {
+            deleteDirectory(tileDirectory);
+        }
+    }
+
+    /**
+     * Copia cada registo válido para os ficheiros dos mosaicos que o seu envelope cobre,
+     * acrescentando a posição global do registo como último campo.
+     * 
+     * @param csvFile Ficheiro CSV de origem
+     * @param tileDirectory Diretório dos ficheiros dos mosaicos
+     * @param monitor Monitor de cancelamento
+     * @return Identificadores e proprietários das propriedades e mosaicos encontrados
+     * @throws IOException se ocorrer um erro de leitura ou escrita
+     */
+    private Partition partition(Path csvFile, Path tileDirectory, BuildMonitor monitor) throws IOException {
+        Partition partition = new Partition();
+        Map<Long, Writer> writers = new HashMap<>();
+        try (Reader in = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             CSVParser parser = CSVFormat.newFormat(';').parse(in)) {
+            boolean header = true;
+            for (CSVRecord record : parser) {
+                monitor.checkCancelled();
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                Cadastro cadastro;
+                try {
+                    cadastro = new Cadastro(record);
+                } catch (IllegalArgumentException | ParseException e) {
+                    // Registo inválido, ignorado tal como na leitura completa
+                    continue;
+                }
+
+                int position = partition.add(cadastro);
+                MultiPolygon shape = cadastro.getShape();
+                if (shape == null) {
+                    continue;
+                }
+                String line = toLine(record, position);
+                Envelope envelope = shape.getEnvelopeInternal();
+                for (int tx = tileOf(envelope.getMinX()); tx <= tileOf(envelope.getMaxX()); tx++) {
+                    for (int ty = tileOf(envelope.getMinY()); ty <= tileOf(envelope.getMaxY()); ty++) {
+                        long tile = tileKey(tx, ty);
+                        partition.tiles.add(tile);
+                        writerFor(tile, tileDirectory, writers).write(line);
+                    }
+                }
+            }
+        } finally {
+            closeAll(writers);
+        }
+        return partition;
+    }
+
+    /**
+     * Calcula as adjacências de um mosaico e acrescenta as que lhe estão atribuídas,
+     * já nas posições globais e com o respetivo comprimento partilhado.
+     * 
+     * @param file Ficheiro do mosaico
+     * @param tile Chave do mosaico
+     * @param edges Acumulador das arestas globais
+     * @param monitor Monitor de cancelamento do mosaico
+     * @throws IOException se ocorrer um erro de leitura
+     */
+    private void buildTile(Path file, long tile, EdgeList.Builder edges, BuildMonitor monitor) throws IOException {
+        List<Cadastro> cadastros = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = CSVFormat.newFormat(';').parse(in)) {
+            for (CSVRecord record : parser) {
+                try {
+                    cadastros.add(new Cadastro(record));
+                } catch (ParseException e) {
+                    // Já foi validado na partição
+                    throw new IllegalStateException(Constants.INVALID_TILED_GRAPH_ERROR, e);
+                }
+                positions.add(Integer.parseInt(record.get(record.size() - 1)));
+            }
+        }
+
+        EdgeList local = engine.build(new CadastroIndex(cadastros), false, monitor);
+        for (int k = 0; k < local.size(); k++) {
+            Envelope envelope1 = cadastros.get(local.getSource(k)).getShape().getEnvelopeInternal();
+            Envelope envelope2 = cadastros.get(local.getTarget(k)).getShape().getEnvelopeInternal();
+            // Canto inferior esquerdo da interseção dos envelopes
+            double x = Math.max(envelope1.getMinX(), envelope2.getMinX());
+            double y = Math.max(envelope1.getMinY(), envelope2.getMinY());
+            if (tileKey(tileOf(x), tileOf(y)) != tile) {
+                continue;
+            }
+            int position1 = positions.get(local.getSource(k));
+            int position2 = positions.get(local.getTarget(k));
+            edges.add(Math.min(position1, position2), Math.max(position1, position2), local.getSharedLength(k),
+                    local.isPointOnly(k));
+        }
+    }
+
+    /**
+     * Retorna o índice do mosaico que contém uma coordenada.
+     * 
+     * @param coordinate Abcissa ou ordenada
+     * @return Índice do mosaico nesse eixo
+     */
+    private int tileOf(double coordinate) {
+        return (int) Math.floor(coordinate / tileSize);
+    }
+
+    private static long tileKey(int tx, int ty) {
+        return ((long) tx << 32) | (ty & 0xFFFFFFFFL);
+    }
+
+    private static Path tileFile(Path tileDirectory, long tile) {
+        return tileDirectory.resolve("tile_" + (int) (tile >> 32) + "_" + (int) tile + ".csv");
+    }
+
+    /**
+     * Retorna o ficheiro de escrita de um mosaico. Se houver demasiados ficheiros abertos,
+     * fecha-os todos; os mosaicos seguintes são reabertos em modo de acrescento.
+     */
+    private static Writer writerFor(long tile, Path tileDirectory, Map<Long, Writer> writers) throws IOException {
+        Writer writer = writers.get(tile);
+        if (writer == null) {
+            if (writers.size() >= Constants.MAX_OPEN_TILE_FILES) {
+                closeAll(writers);
+            }
+            writer = Files.newBufferedWriter(tileFile(tileDirectory, tile), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            writers.put(tile, writer);
+        }
+        return writer;
+    }
+
+    private static void closeAll(Map<Long, Writer> writers) throws IOException {
+        IOException failure = null;
+        for (Writer writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        writers.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Converte um registo numa linha CSV, acrescentando a posição global como último campo.
+     * O formato de origem não usa aspas, pelo que os campos nunca contêm o separador.
+     */
+    private static String toLine(CSVRecord record, int position) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < record.size(); k++) {
+            sb.append(record.get(k)).append(';');
+        }
+        // '\n' explícito: o separador do sistema deixaria '\r' no último campo ao ler com newFormat(';')
+        return sb.append(position).append('\n').toString();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Resultado da partição: dados inteiros de cada propriedade e mosaicos usados.
+     */
+    private static final class Partition {
+        private int[] parcelIds = new int[64];
+        private int[] owners = new int[64];
+        private int size;
+        private final SortedSet<Long> tiles = new TreeSet<>();
+
+        int add(Cadastro cadastro) {
+            if (size == parcelIds.length) {
+                parcelIds = Arrays.copyOf(parcelIds, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            parcelIds[size] = cadastro.getId();
+            owners[size] = cadastro.getOwner();
+            return size++;
+        }
+    }
+}
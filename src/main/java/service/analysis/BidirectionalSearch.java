@@ -0,0 +1,173 @@
+package service.analysis;
+
+import service.CsrAdjacency;
+
+import java.util.Arrays;
+
+/**
+ * Pesquisa em largura bidirecional entre dois conjuntos de vértices de uma lista de adjacências.
+ * As duas pesquisas avançam alternadamente, expandindo sempre a fronteira mais pequena, e
+ * terminam no fim do primeiro nível em que se encontram; o caminho mais curto passa pelo
+ * ponto de encontro de menor distância total.
+ *
+ * Os vetores de trabalho são reutilizados entre pesquisas e apenas as posições visitadas são
+ * limpas no fim, pelo que o custo de cada pesquisa depende dos vértices visitados e não do
+ * tamanho do grafo. Por isso, cada instância não pode ser usada por várias threads em simultâneo.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+final class BidirectionalSearch {
+    /** Antecessor dos vértices ainda não visitados */
+    private static final int UNVISITED = -2;
+
+    /** Antecessor das origens */
+    private static final int ROOT = -1;
+
+    private final CsrAdjacency adjacency;
+    private final int[] forwardParent;
+    private final int[] backwardParent;
+    private final int[] forwardDistance;
+    private final int[] backwardDistance;
+
+    /** Vértices visitados por alguma das pesquisas, para limpar no fim */
+    private int[] touched = new int[64];
+    private int touchedCount;
+
+    BidirectionalSearch(CsrAdjacency adjacency) {
+        this.adjacency = adjacency;
+        int n = adjacency.getVertexCount();
+        forwardParent = new int[n];
+        backwardParent = new int[n];
+        forwardDistance = new int[n];
+        backwardDistance = new int[n];
+        Arrays.fill(forwardParent, UNVISITED);
+        Arrays.fill(backwardParent, UNVISITED);
+    }
+
+    /**
+     * Procura o caminho mais curto de alguma origem para algum destino.
+     *
+     * @param sources Vértices de origem, válidos
+     * @param targets Vértices de destino, válidos
+     * @return Vértices do caminho, da origem ao destino, ou vazio se não existir caminho
+     */
+    int[] find(int[] sources, int[] targets) {
+        try {
+            return search(sources, targets);
+        } finally {
+            for (int k = 0; k < touchedCount; k++) {
+                forwardParent[touched[k]] = UNVISITED;
+                backwardParent[touched[k]] = UNVISITED;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private int[] search(int[] sources, int[] targets) {
+        int[] forward = new int[sources.length];
+        int forwardSize = 0;
+        for (int source : sources) {
+            if (forwardParent[source] == UNVISITED) {
+                visit(forwardParent, forwardDistance, source, ROOT, 0);
+                forward[forwardSize++] = source;
+            }
+        }
+        int[] backward = new int[targets.length];
+        int backwardSize = 0;
+        for (int target : targets) {
+            if (backwardParent[target] == UNVISITED) {
+                if (forwardParent[target] != UNVISITED) {
+                    return new int[]{target};
+                }
+                visit(backwardParent, backwardDistance, target, ROOT, 0);
+                backward[backwardSize++] = target;
+            }
+        }
+
+        while (forwardSize > 0 && backwardSize > 0) {
+            int[] meeting = {-1, Integer.MAX_VALUE};
+            if (forwardSize <= backwardSize) {
+                forward = expand(forward, forwardSize, forwardParent, forwardDistance,
+                        backwardParent, backwardDistance, meeting);
+                forwardSize = forward.length;
+            } else {
+                backward = expand(backward, backwardSize, backwardParent, backwardDistance,
+                        forwardParent, forwardDistance, meeting);
+                backwardSize = backward.length;
+            }
+            if (meeting[0] >= 0) {
+                return path(meeting[0]);
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Expande um nível de uma das pesquisas, registando o melhor ponto de encontro com a outra.
+     *
+     * @param frontier Fronteira atual
+     * @param size Tamanho da fronteira
+     * @param parent Antecessores desta pesquisa
+     * @param distance Distâncias desta pesquisa
+     * @param otherParent Antecessores da outra pesquisa
+     * @param otherDistance Distâncias da outra pesquisa
+     * @param meeting Melhor vértice de encontro e a sua distância total, atualizados no lugar
+     * @return Nova fronteira
+     */
+    private int[] expand(int[] frontier, int size, int[] parent, int[] distance,
+                         int[] otherParent, int[] otherDistance, int[] meeting) {
+        int[] next = new int[Math.max(16, size)];
+        int nextSize = 0;
+        for (int k = 0; k < size; k++) {
+            int v = frontier[k];
+            for (int n = 0; n < adjacency.getDegree(v); n++) {
+                int w = adjacency.getNeighbour(v, n);
+                if (parent[w] != UNVISITED) {
+                    continue;
+                }
+                visit(parent, distance, w, v, distance[v] + 1);
+                if (otherParent[w] != UNVISITED) {
+                    int total = distance[w] + otherDistance[w];
+                    if (total < meeting[1]) {
+                        meeting[0] = w;
+                        meeting[1] = total;
+                    }
+                }
+                if (nextSize == next.length) {
+                    next = Arrays.copyOf(next, nextSize * 2);
+                }
+                next[nextSize++] = w;
+            }
+        }
+        return Arrays.copyOf(next, nextSize);
+    }
+
+    private void visit(int[] parent, int[] distance, int v, int from, int d) {
+        if (forwardParent[v] == UNVISITED && backwardParent[v] == UNVISITED) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = v;
+        }
+        parent[v] = from;
+        distance[v] = d;
+    }
+
+    /**
+     * Reconstrói o caminho que passa pelo ponto de encontro.
+     */
+    private int[] path(int meeting) {
+        int length = forwardDistance[meeting] + backwardDistance[meeting] + 1;
+        int[] path = new int[length];
+        int k = forwardDistance[meeting];
+        for (int v = meeting; v != ROOT; v = forwardParent[v]) {
+            path[k--] = v;
+        }
+        k = forwardDistance[meeting];
+        for (int v = backwardParent[meeting]; v != ROOT; v = backwardParent[v]) {
+            path[++k] = v;
+        }
+        return path;
+    }
+}
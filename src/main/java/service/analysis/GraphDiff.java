@@ -0,0 +1,299 @@
+package service.analysis;
+
+import core.Constants;
+import model.Cadastro;
+import service.CsrAdjacency;
+import service.Graph;
+import service.OwnerGraph;
+import service.TiledAdjacency;
+
+import java.util.Arrays;
+
+/**
+ * Diferença entre as arestas de duas versões de um grafo, alinhadas pelo identificador de
+ * cada vértice: o identificador da parcela nos grafos de propriedades e o do proprietário
+ * nos grafos de proprietários. As posições dos vértices podem mudar livremente entre versões.
+ *
+ * As arestas de cada versão são convertidas numa lista ordenada de pares de identificadores,
+ * com o menor primeiro. A ordem dos vértices por identificador é calculada uma vez e as
+ * arestas são ordenadas por duas ordenações por contagem, sem comparações entre arestas;
+ * a diferença é depois uma única fusão das duas listas, linear no número de arestas e sem
+ * tabelas de dispersão.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class GraphDiff {
+    /**
+     * Recebe as arestas da diferença, pela ordem crescente dos pares de identificadores.
+     */
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        /**
+         * Recebe uma aresta.
+         *
+         * @param id1 Menor identificador da aresta
+         * @param id2 Maior identificador da aresta
+         */
+        void accept(int id1, int id2);
+    }
+
+    /** Menor identificador de cada aresta da versão anterior, por ordem */
+    private final int[] beforeFirst;
+    private final int[] beforeSecond;
+
+    /** Menor identificador de cada aresta da versão nova, por ordem */
+    private final int[] afterFirst;
+    private final int[] afterSecond;
+
+    private final int addedCount;
+    private final int removedCount;
+
+    /**
+     * Cria a diferença entre duas listas de adjacências cujos vértices têm os identificadores indicados.
+     *
+     * @param before Adjacências da versão anterior
+     * @param beforeIds Identificador de cada vértice da versão anterior
+     * @param after Adjacências da versão nova
+     * @param afterIds Identificador de cada vértice da versão nova
+     * @throws IllegalArgumentException se alguma lista for nula ou algum identificador estiver repetido
+     */
+    private GraphDiff(CsrAdjacency before, int[] beforeIds, CsrAdjacency after, int[] afterIds) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(Constants.NULL_ADJACENCY_ERROR);
+        }
+        int[][] sortedBefore = sortedEdges(before, beforeIds);
+        int[][] sortedAfter = sortedEdges(after, afterIds);
+        beforeFirst = sortedBefore[0];
+        beforeSecond = sortedBefore[1];
+        afterFirst = sortedAfter[0];
+        afterSecond = sortedAfter[1];
+
+        int[] counts = new int[2];
+        stream((id1, id2) -> counts[0]++, (id1, id2) -> counts[1]++);
+        addedCount = counts[0];
+        removedCount = counts[1];
+    }
+
+    /**
+     * Compara as adjacências entre propriedades de duas versões, alinhadas pelo identificador da parcela.
+     *
+     * @param before Grafo da versão anterior
+     * @param after Grafo da versão nova
+     * @return Diferença entre as adjacências entre propriedades
+     * @throws IllegalArgumentException se algum grafo for nulo ou tiver parcelas com o mesmo identificador
+     */
+    public static GraphDiff ofProperties(Graph before, Graph after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        return new GraphDiff(before.getPropertyAdjacency(), parcelIds(before),
+                after.getPropertyAdjacency(), parcelIds(after));
+    }
+
+    /**
+     * Compara as adjacências entre proprietários de duas versões, alinhadas pelo identificador do proprietário.
+     *
+     * @param before Grafo da versão anterior
+     * @param after Grafo da versão nova
+     * @return Diferença entre as adjacências entre proprietários
+     * @throws IllegalArgumentException se algum grafo for nulo
+     */
+    public static GraphDiff ofOwners(OwnerGraph before, OwnerGraph after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        return new GraphDiff(before.getOwnerAdjacency(), ownerIds(before),
+                after.getOwnerAdjacency(), ownerIds(after));
+    }
+
+    /**
+     * Compara dois grafos de propriedades guardados em mosaicos, alinhados pelo identificador da parcela.
+     *
+     * @param before Grafo da versão anterior, por exemplo lido com {@link TiledAdjacency#read}
+     * @param after Grafo da versão nova
+     * @return Diferença entre as adjacências entre propriedades
+     * @throws IllegalArgumentException se algum grafo for nulo ou tiver parcelas com o mesmo identificador
+     */
+    public static GraphDiff ofTiled(TiledAdjacency before, TiledAdjacency after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        return new GraphDiff(before.toCsrAdjacency(), parcelIds(before),
+                after.toCsrAdjacency(), parcelIds(after));
+    }
+
+    private static int[] parcelIds(Graph graph) {
+        return graph.getCadastros().stream().mapToInt(Cadastro::getId).toArray();
+    }
+
+    private static int[] parcelIds(TiledAdjacency graph) {
+        int[] ids = new int[graph.getNumberOfProperties()];
+        Arrays.setAll(ids, graph::getParcelId);
+        return ids;
+    }
+
+    private static int[] ownerIds(OwnerGraph graph) {
+        int[] ids = new int[graph.getOwnerAdjacency().getVertexCount()];
+        Arrays.setAll(ids, graph::getOwnerId);
+        return ids;
+    }
+
+    /**
+     * Converte as arestas de uma lista de adjacências em pares de identificadores ordenados.
+     * Os vértices são numerados pela ordem dos identificadores e as arestas são ordenadas
+     * pelo maior número e depois, de forma estável, pelo menor, com duas ordenações por contagem.
+     *
+     * @param adjacency Lista de adjacências
+     * @param ids Identificador de cada vértice
+     * @return Vetores com o menor e o maior identificador de cada aresta, por ordem crescente
+     * @throws IllegalArgumentException se algum identificador estiver repetido
+     */
+    private static int[][] sortedEdges(CsrAdjacency adjacency, int[] ids) {
+        int n = adjacency.getVertexCount();
+
+        // Vértices por ordem de identificador, com a posição nos bits menos significativos
+        long[] packed = new long[n];
+        for (int v = 0; v < n; v++) {
+            packed[v] = ((long) ids[v] << 32) | v;
+        }
+        Arrays.sort(packed);
+        int[] rank = new int[n];
+        int[] idByRank = new int[n];
+        for (int r = 0; r < n; r++) {
+            int v = (int) packed[r];
+            rank[v] = r;
+            idByRank[r] = ids[v];
+            if (r > 0 && idByRank[r] == idByRank[r - 1]) {
+                throw new IllegalArgumentException(Constants.DUPLICATE_VERTEX_ID_ERROR + ids[v]);
+            }
+        }
+
+        // Cada aresta aparece nas duas linhas; guarda-se a ocorrência do vértice de menor número
+        int m = adjacency.getEdgeCount();
+        int[] low = new int[m];
+        int[] high = new int[m];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            for (int k = 0; k < adjacency.getDegree(v); k++) {
+                int w = adjacency.getNeighbour(v, k);
+                if (rank[v] < rank[w]) {
+                    low[size] = rank[v];
+                    high[size] = rank[w];
+                    size++;
+                }
+            }
+        }
+
+        int[] identity = new int[size];
+        Arrays.setAll(identity, i -> i);
+        int[] order = countingOrder(low, countingOrder(high, identity, n), n);
+
+        int[] first = new int[size];
+        int[] second = new int[size];
+        for (int i = 0; i < size; i++) {
+            first[i] = idByRank[low[order[i]]];
+            second[i] = idByRank[high[order[i]]];
+        }
+        return new int[][]{first, second};
+    }
+
+    /**
+     * Ordena de forma estável uma sequência de arestas pela chave indicada.
+     *
+     * @param keys Chave de cada aresta, entre 0 e range - 1
+     * @param order Arestas pela ordem atual
+     * @param range Número de chaves possíveis
+     * @return Arestas ordenadas pela chave, mantendo a ordem atual entre chaves iguais
+     */
+    private static int[] countingOrder(int[] keys, int[] order, int range) {
+        int[] start = new int[range + 1];
+        for (int edge : order) {
+            start[keys[edge] + 1]++;
+        }
+        for (int key = 0; key < range; key++) {
+            start[key + 1] += start[key];
+        }
+        int[] sorted = new int[order.length];
+        for (int edge : order) {
+            sorted[start[keys[edge]]++] = edge;
+        }
+        return sorted;
+    }
+
+    /**
+     * Percorre as duas listas ordenadas em simultâneo e entrega cada aresta que só existe
+     * numa das versões, pela ordem crescente dos pares de identificadores.
+     *
+     * @param added Recebe as arestas que só existem na versão nova
+     * @param removed Recebe as arestas que só existiam na versão anterior
+     * @throws IllegalArgumentException se algum dos consumidores for nulo
+     */
+    public void stream(EdgeConsumer added, EdgeConsumer removed) {
+        if (added == null || removed == null) {
+            throw new IllegalArgumentException(Constants.NULL_CONSUMER_ERROR);
+        }
+        int i = 0;
+        int j = 0;
+        while (i < beforeFirst.length || j < afterFirst.length) {
+            int compare;
+            if (i == beforeFirst.length) {
+                compare = 1;
+            } else if (j == afterFirst.length) {
+                compare = -1;
+            } else {
+                compare = Integer.compare(beforeFirst[i], afterFirst[j]);
+                if (compare == 0) {
+                    compare = Integer.compare(beforeSecond[i], afterSecond[j]);
+                }
+            }
+
+            if (compare < 0) {
+                removed.accept(beforeFirst[i], beforeSecond[i]);
+                i++;
+            } else if (compare > 0) {
+                added.accept(afterFirst[j], afterSecond[j]);
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Retorna o número de arestas que só existem na versão nova.
+     *
+     * @return Número de arestas acrescentadas
+     */
+    public int getAddedCount() {
+        return addedCount;
+    }
+
+    /**
+     * Retorna o número de arestas que só existiam na versão anterior.
+     *
+     * @return Número de arestas removidas
+     */
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Retorna o número de arestas presentes nas duas versões.
+     *
+     * @return Número de arestas comuns
+     */
+    public int getCommonCount() {
+        return beforeFirst.length - removedCount;
+    }
+
+    /**
+     * Indica se as duas versões têm exatamente as mesmas arestas.
+     *
+     * @return true se não houver arestas acrescentadas nem removidas
+     */
+    public boolean isEmpty() {
+        return addedCount == 0 && removedCount == 0;
+    }
+}
@@ -0,0 +1,305 @@
+package service.analysis;
+
+import core.Constants;
+import model.Cadastro;
+import service.ConcurrentUnionFind;
+import service.CsrAdjacency;
+import service.Graph;
+import service.OwnerGraph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Estatísticas de um grafo: distribuição dos graus, componentes conexas, coeficientes de
+ * agrupamento locais, diâmetro aproximado e número de vértices isolados.
+ *
+ * Todas as medidas são calculadas na construção, em paralelo sobre os vértices, e o resultado
+ * é imutável; {@link service.DatasetContext} guarda uma instância por grafo para que a
+ * interface e os relatórios não as recalculem.
+ *
+ * O coeficiente de agrupamento de um vértice é a fração de pares de vizinhos que são
+ * adjacentes entre si, contando os triângulos pela interseção das linhas ordenadas. O diâmetro
+ * é um limite inferior obtido por varrimentos duplos de pesquisa em largura na maior
+ * componente, que na prática coincide quase sempre com o valor exato.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class GraphMetrics {
+    private final int vertexCount;
+    private final int edgeCount;
+
+    /** Número de vértices com cada grau */
+    private final int[] degreeHistogram;
+
+    private final int componentCount;
+    private final int largestComponentSize;
+
+    /** Coeficiente de agrupamento de cada vértice */
+    private final double[] localClustering;
+    private final double averageClustering;
+
+    private final int approximateDiameter;
+
+    /**
+     * Calcula as estatísticas de uma lista de adjacências.
+     *
+     * @param adjacency Lista de adjacências
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    public GraphMetrics(CsrAdjacency adjacency) {
+        this(adjacency, 0);
+    }
+
+    /**
+     * Calcula as estatísticas de uma lista de adjacências à qual se juntam vértices isolados
+     * que não fazem parte dela, como os proprietários sem fronteiras com outros.
+     *
+     * @param adjacency Lista de adjacências
+     * @param extraIsolated Número de vértices isolados fora da lista
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    private GraphMetrics(CsrAdjacency adjacency, int extraIsolated) {
+        if (adjacency == null) {
+            throw new IllegalArgumentException(Constants.NULL_ADJACENCY_ERROR);
+        }
+        int n = adjacency.getVertexCount();
+        vertexCount = n + extraIsolated;
+        edgeCount = adjacency.getEdgeCount();
+
+        int maxDegree = IntStream.range(0, n).parallel().map(adjacency::getDegree).max().orElse(0);
+        degreeHistogram = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            degreeHistogram[adjacency.getDegree(v)]++;
+        }
+        degreeHistogram[0] += extraIsolated;
+
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        IntStream.range(0, n).parallel().forEach(v -> {
+            for (int k = 0; k < adjacency.getDegree(v); k++) {
+                int w = adjacency.getNeighbour(v, k);
+                if (w > v) {
+                    sets.union(v, w);
+                }
+            }
+        });
+        int[] componentSizes = new int[n];
+        int components = 0;
+        int largestRoot = -1;
+        for (int v = 0; v < n; v++) {
+            int root = sets.find(v);
+            if (componentSizes[root]++ == 0) {
+                components++;
+            }
+            if (largestRoot < 0 || componentSizes[root] > componentSizes[largestRoot]) {
+                largestRoot = root;
+            }
+        }
+        componentCount = components + extraIsolated;
+        largestComponentSize = largestRoot < 0 ? Math.min(1, extraIsolated) : componentSizes[largestRoot];
+
+        localClustering = new double[n];
+        IntStream.range(0, n).parallel().forEach(v -> localClustering[v] = clustering(adjacency, v));
+        averageClustering = vertexCount == 0 ? 0 : Arrays.stream(localClustering).sum() / vertexCount;
+
+        approximateDiameter = largestRoot < 0 ? 0 : diameter(adjacency, largestRoot);
+    }
+
+    /**
+     * Calcula as estatísticas das adjacências entre propriedades de um grafo.
+     *
+     * @param graph Grafo de propriedades ou de proprietários
+     * @return Estatísticas do grafo de propriedades
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public static GraphMetrics forProperties(Graph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        return new GraphMetrics(graph.getPropertyAdjacency());
+    }
+
+    /**
+     * Calcula as estatísticas das adjacências entre proprietários. Os proprietários sem
+     * fronteira com nenhum outro não fazem parte das adjacências do grafo e são contados
+     * como vértices isolados.
+     *
+     * @param graph Grafo de proprietários
+     * @return Estatísticas do grafo de proprietários
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public static GraphMetrics forOwners(OwnerGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        Set<Integer> isolated = new HashSet<>();
+        for (Cadastro cadastro : graph.getCadastros()) {
+            if (graph.getOwnerPosition(cadastro.getOwner()) < 0) {
+                isolated.add(cadastro.getOwner());
+            }
+        }
+        return new GraphMetrics(graph.getOwnerAdjacency(), isolated.size());
+    }
+
+    /**
+     * Calcula o coeficiente de agrupamento de um vértice. Para cada vizinho u, os vizinhos
+     * comuns a v e u são contados pela interseção das duas linhas ordenadas; cada triângulo
+     * é assim contado duas vezes.
+     */
+    private static double clustering(CsrAdjacency adjacency, int v) {
+        int degree = adjacency.getDegree(v);
+        if (degree < 2) {
+            return 0;
+        }
+        long links = 0;
+        for (int k = 0; k < degree; k++) {
+            int u = adjacency.getNeighbour(v, k);
+            int i = 0;
+            int j = 0;
+            int degreeU = adjacency.getDegree(u);
+            while (i < degree && j < degreeU) {
+                int a = adjacency.getNeighbour(v, i);
+                int b = adjacency.getNeighbour(u, j);
+                if (a == b) {
+                    links++;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return (double) links / ((long) degree * (degree - 1));
+    }
+
+    /**
+     * Estima o diâmetro com varrimentos duplos: a partir de um vértice, encontra o mais afastado
+     * e repete a partir dele. A maior excentricidade encontrada é um limite inferior do diâmetro.
+     */
+    private static int diameter(CsrAdjacency adjacency, int start) {
+        GraphTraversal traversal = new GraphTraversal(adjacency, true);
+        int best = 0;
+        int source = start;
+        for (int sweep = 0; sweep < Constants.DIAMETER_SWEEPS; sweep++) {
+            int[] distances = traversal.distances(source);
+            int farthest = source;
+            for (int v = 0; v < distances.length; v++) {
+                if (distances[v] > distances[farthest]) {
+                    farthest = v;
+                }
+            }
+            int eccentricity = distances[farthest];
+            if (eccentricity <= best && sweep > 0) {
+                break;
+            }
+            best = Math.max(best, eccentricity);
+            source = farthest;
+        }
+        return best;
+    }
+
+    /**
+     * Retorna o número de vértices.
+     *
+     * @return Número de vértices
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Retorna o número de arestas.
+     *
+     * @return Número de arestas
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Retorna a distribuição dos graus.
+     *
+     * @return Cópia do vetor com o número de vértices de cada grau, indexado pelo grau
+     */
+    public int[] getDegreeHistogram() {
+        return degreeHistogram.clone();
+    }
+
+    /**
+     * Retorna o maior grau.
+     *
+     * @return Grau máximo
+     */
+    public int getMaxDegree() {
+        return degreeHistogram.length - 1;
+    }
+
+    /**
+     * Retorna o grau médio.
+     *
+     * @return Grau médio, ou 0 se o grafo não tiver vértices
+     */
+    public double getAverageDegree() {
+        return vertexCount == 0 ? 0 : 2.0 * edgeCount / vertexCount;
+    }
+
+    /**
+     * Retorna o número de vértices sem nenhuma adjacência.
+     *
+     * @return Número de vértices isolados
+     */
+    public int getIsolatedCount() {
+        return degreeHistogram[0];
+    }
+
+    /**
+     * Retorna o número de componentes conexas, incluindo os vértices isolados.
+     *
+     * @return Número de componentes
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Retorna o número de vértices da maior componente conexa.
+     *
+     * @return Tamanho da maior componente
+     */
+    public int getLargestComponentSize() {
+        return largestComponentSize;
+    }
+
+    /**
+     * Retorna o coeficiente de agrupamento de um vértice da lista de adjacências.
+     *
+     * @param vertex Índice do vértice
+     * @return Coeficiente entre 0 e 1
+     */
+    public double getLocalClustering(int vertex) {
+        return localClustering[vertex];
+    }
+
+    /**
+     * Retorna o coeficiente de agrupamento médio, contando os vértices isolados com 0.
+     *
+     * @return Coeficiente médio
+     */
+    public double getAverageClustering() {
+        return averageClustering;
+    }
+
+    /**
+     * Retorna o diâmetro aproximado da maior componente.
+     *
+     * @return Limite inferior do diâmetro, em saltos
+     */
+    public int getApproximateDiameter() {
+        return approximateDiameter;
+    }
+}
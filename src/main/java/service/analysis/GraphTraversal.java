@@ -0,0 +1,274 @@
+package service.analysis;
+
+import core.Constants;
+import model.Cadastro;
+import service.CsrAdjacency;
+import service.Graph;
+import service.OwnerGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Pesquisa em largura sobre uma lista de adjacências compacta.
+ * Suporta uma ou várias origens e um limite de saltos, e devolve distâncias e vértices
+ * visitados em vetores de inteiros, sem criar objetos por vértice.
+ *
+ * A pesquisa avança nível a nível. Quando a fronteira de um nível é grande e o modo
+ * paralelo está ativo, a fronteira é dividida em blocos expandidos em paralelo; cada
+ * bloco recolhe os vizinhos ainda não visitados e os blocos são depois juntos pela sua
+ * ordem, pelo que o resultado é exatamente o da pesquisa sequencial.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class GraphTraversal {
+    /** Distância dos vértices não alcançados */
+    public static final int UNREACHED = -1;
+
+    private final CsrAdjacency adjacency;
+    private final boolean parallel;
+
+    /**
+     * Cria uma pesquisa sequencial sobre uma lista de adjacências.
+     *
+     * @param adjacency Lista de adjacências
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    public GraphTraversal(CsrAdjacency adjacency) {
+        this(adjacency, false);
+    }
+
+    /**
+     * Cria uma pesquisa sobre uma lista de adjacências.
+     *
+     * @param adjacency Lista de adjacências
+     * @param parallel true para expandir em paralelo as fronteiras grandes
+     * @throws IllegalArgumentException se a lista for nula
+     */
+    public GraphTraversal(CsrAdjacency adjacency, boolean parallel) {
+        if (adjacency == null) {
+            throw new IllegalArgumentException(Constants.NULL_ADJACENCY_ERROR);
+        }
+        this.adjacency = adjacency;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Calcula a distância, em saltos, de uma origem a todos os vértices.
+     *
+     * @param source Vértice de origem
+     * @return Distância de cada vértice, ou {@link #UNREACHED} se não for alcançável
+     * @throws IllegalArgumentException se a origem não pertencer ao grafo
+     */
+    public int[] distances(int source) {
+        return distances(new int[]{source}, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcula a distância de cada vértice à origem mais próxima.
+     *
+     * @param sources Vértices de origem
+     * @return Distância de cada vértice, ou {@link #UNREACHED} se não for alcançável
+     * @throws IllegalArgumentException se alguma origem não pertencer ao grafo
+     */
+    public int[] distances(int[] sources) {
+        return distances(sources, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcula a distância de cada vértice à origem mais próxima, até um número máximo de saltos.
+     *
+     * @param sources Vértices de origem
+     * @param maxHops Número máximo de saltos
+     * @return Distância de cada vértice, ou {@link #UNREACHED} se estiver a mais de maxHops saltos
+     * @throws IllegalArgumentException se alguma origem não pertencer ao grafo ou maxHops for negativo
+     */
+    public int[] distances(int[] sources, int maxHops) {
+        int[] distances = new int[adjacency.getVertexCount()];
+        search(sources, maxHops, distances);
+        return distances;
+    }
+
+    /**
+     * Devolve os vértices a no máximo k saltos de uma origem, incluindo a própria origem.
+     *
+     * @param source Vértice de origem
+     * @param k Número máximo de saltos
+     * @return Vértices por ordem de visita, isto é, por distância crescente
+     * @throws IllegalArgumentException se a origem não pertencer ao grafo ou k for negativo
+     */
+    public int[] withinHops(int source, int k) {
+        return withinHops(new int[]{source}, k);
+    }
+
+    /**
+     * Devolve os vértices a no máximo k saltos de alguma das origens, incluindo as origens.
+     *
+     * @param sources Vértices de origem
+     * @param k Número máximo de saltos
+     * @return Vértices por ordem de visita, isto é, por distância crescente
+     * @throws IllegalArgumentException se alguma origem não pertencer ao grafo ou k for negativo
+     */
+    public int[] withinHops(int[] sources, int k) {
+        return search(sources, k, new int[adjacency.getVertexCount()]);
+    }
+
+    /**
+     * Devolve as propriedades a no máximo k saltos de uma propriedade, excluindo a própria.
+     *
+     * @param graph Grafo de propriedades
+     * @param property Propriedade de origem
+     * @param k Número máximo de saltos
+     * @return Propriedades por distância crescente
+     * @throws IllegalArgumentException se o grafo ou a propriedade forem nulos, a propriedade
+     *         não pertencer ao grafo ou k for negativo
+     */
+    public static List<Cadastro> propertiesWithinHops(Graph graph, Cadastro property, int k) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        int source = graph.getPosition(property);
+        if (source < 0) {
+            throw new IllegalArgumentException(Constants.UNKNOWN_PROPERTY_ERROR);
+        }
+
+        int[] visited = new GraphTraversal(graph.getPropertyAdjacency()).withinHops(source, k);
+        List<Cadastro> properties = new ArrayList<>(visited.length - 1);
+        for (int v = 1; v < visited.length; v++) {
+            properties.add(graph.getCadastros().get(visited[v]));
+        }
+        return properties;
+    }
+
+    /**
+     * Devolve os proprietários alcançáveis atravessando no máximo k fronteiras entre proprietários,
+     * excluindo o próprio.
+     *
+     * @param graph Grafo de proprietários
+     * @param owner Identificador do proprietário de origem
+     * @param k Número máximo de fronteiras atravessadas
+     * @return Identificadores dos proprietários por distância crescente, vazio se o
+     *         proprietário não tiver adjacências
+     * @throws IllegalArgumentException se o grafo for nulo ou k for negativo
+     */
+    public static int[] ownersWithinHops(OwnerGraph graph, int owner, int k) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException(Constants.INVALID_HOPS_ERROR);
+        }
+        int source = graph.getOwnerPosition(owner);
+        if (source < 0) {
+            return new int[0];
+        }
+
+        int[] visited = new GraphTraversal(graph.getOwnerAdjacency()).withinHops(source, k);
+        int[] owners = new int[visited.length - 1];
+        for (int v = 1; v < visited.length; v++) {
+            owners[v - 1] = graph.getOwnerId(visited[v]);
+        }
+        return owners;
+    }
+
+    /**
+     * Pesquisa em largura a partir de várias origens, nível a nível.
+     *
+     * @param sources Vértices de origem
+     * @param maxHops Número máximo de saltos
+     * @param distances Vetor a preencher com as distâncias
+     * @return Vértices visitados por ordem de visita
+     * @throws IllegalArgumentException se alguma origem não pertencer ao grafo ou maxHops for negativo
+     */
+    private int[] search(int[] sources, int maxHops, int[] distances) {
+        if (sources == null) {
+            throw new IllegalArgumentException(Constants.INVALID_VERTEX_ERROR + null);
+        }
+        if (maxHops < 0) {
+            throw new IllegalArgumentException(Constants.INVALID_HOPS_ERROR);
+        }
+        Arrays.fill(distances, UNREACHED);
+
+        int[] visited = new int[Math.max(16, sources.length)];
+        int count = 0;
+        for (int source : sources) {
+            if (source < 0 || source >= distances.length) {
+                throw new IllegalArgumentException(Constants.INVALID_VERTEX_ERROR + source);
+            }
+            if (distances[source] == UNREACHED) {
+                distances[source] = 0;
+                visited[count++] = source;
+            }
+        }
+
+        // A fronteira de cada nível é o troço [from, count) de visited
+        int from = 0;
+        for (int level = 0; level < maxHops && from < count; level++) {
+            int to = count;
+            int[] candidates = parallel && to - from >= Constants.PARALLEL_FRONTIER_THRESHOLD
+                    ? expandParallel(visited, from, to, distances)
+                    : expand(visited, from, to, distances);
+            for (int w : candidates) {
+                if (distances[w] == UNREACHED) {
+                    distances[w] = level + 1;
+                    if (count == visited.length) {
+                        visited = Arrays.copyOf(visited, Math.min(distances.length, count * 2));
+                    }
+                    visited[count++] = w;
+                }
+            }
+            from = to;
+        }
+        return Arrays.copyOf(visited, count);
+    }
+
+    /**
+     * Recolhe os vizinhos não visitados de um troço da fronteira. Os vizinhos partilhados
+     * por vários vértices da fronteira podem aparecer repetidos.
+     *
+     * @param frontier Vértices visitados
+     * @param from Início do troço
+     * @param to Fim do troço (exclusivo)
+     * @param distances Distâncias atuais, apenas lidas
+     * @return Vizinhos candidatos, pela ordem da fronteira
+     */
+    private int[] expand(int[] frontier, int from, int to, int[] distances) {
+        int[] candidates = new int[16];
+        int size = 0;
+        for (int k = from; k < to; k++) {
+            int v = frontier[k];
+            for (int n = 0; n < adjacency.getDegree(v); n++) {
+                int w = adjacency.getNeighbour(v, n);
+                if (distances[w] == UNREACHED) {
+                    if (size == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, size * 2);
+                    }
+                    candidates[size++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * Expande a fronteira em blocos paralelos e junta os candidatos pela ordem dos blocos.
+     */
+    private int[] expandParallel(int[] frontier, int from, int to, int[] distances) {
+        int grain = Constants.PARALLEL_FRONTIER_THRESHOLD / 4;
+        int blocks = (to - from + grain - 1) / grain;
+        List<int[]> parts = IntStream.range(0, blocks).parallel()
+                .mapToObj(b -> expand(frontier, from + b * grain, Math.min(to, from + (b + 1) * grain), distances))
+                .toList();
+
+        int[] candidates = new int[parts.stream().mapToInt(part -> part.length).sum()];
+        int size = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, candidates, size, part.length);
+            size += part.length;
+        }
+        return candidates;
+    }
+}
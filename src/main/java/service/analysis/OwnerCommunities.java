@@ -0,0 +1,246 @@
+package service.analysis;
+
+import core.Constants;
+import model.Cadastro;
+import service.CsrAdjacency;
+import service.OwnerGraph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Comunidades de proprietários cujas propriedades estão fortemente entrelaçadas, calculadas
+ * por propagação de etiquetas sobre as adjacências entre proprietários.
+ *
+ * Cada proprietário começa com a sua própria etiqueta e adota, em cada ronda, a etiqueta
+ * com maior peso entre os seus vizinhos; o peso de um vizinho é 1 ou, no modo ponderado, o
+ * número de arestas entre propriedades que ligam os dois proprietários. Em caso de empate a
+ * etiqueta atual é mantida e, se não estiver entre as melhores, é escolhida a menor.
+ *
+ * Os proprietários estão divididos em duas classes fixas que são atualizadas alternadamente,
+ * cada uma em paralelo a partir das etiquetas da ronda anterior. A atualização alternada evita
+ * as oscilações da propagação totalmente síncrona e o resultado não depende do número de threads.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class OwnerCommunities {
+    private final OwnerGraph graph;
+
+    /** Comunidade de cada posição de proprietário */
+    private final int[] communityOf;
+
+    /** Número de proprietários de cada comunidade */
+    private final int[] sizes;
+
+    /** Área total das propriedades dos proprietários de cada comunidade */
+    private final double[] areas;
+
+    /** Número de adjacências entre proprietários dentro de cada comunidade */
+    private final int[] internalEdges;
+
+    /** Número de rondas executadas até estabilizar */
+    private final int iterations;
+
+    /**
+     * Calcula as comunidades de um grafo de proprietários sem ponderação.
+     *
+     * @param graph Grafo de proprietários
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public OwnerCommunities(OwnerGraph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Calcula as comunidades de um grafo de proprietários.
+     *
+     * @param graph Grafo de proprietários
+     * @param weighted true para pesar cada vizinho pelo número de arestas entre propriedades
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public OwnerCommunities(OwnerGraph graph, boolean weighted) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        this.graph = graph;
+
+        CsrAdjacency adjacency = graph.getOwnerAdjacency();
+        int n = adjacency.getVertexCount();
+        int[] labels = new int[n];
+        Arrays.setAll(labels, v -> v);
+        ThreadLocal<double[]> scores = ThreadLocal.withInitial(() -> new double[n]);
+
+        int rounds = 0;
+        boolean changed = true;
+        while (changed && rounds < Constants.LABEL_PROPAGATION_MAX_ITERATIONS) {
+            changed = false;
+            for (int parity = 0; parity < 2; parity++) {
+                int[] current = labels;
+                int[] next = labels.clone();
+                int updating = parity;
+                IntStream.range(0, n).parallel()
+                        .filter(v -> classOf(v) == updating)
+                        .forEach(v -> next[v] = bestLabel(adjacency, current, v, weighted, scores.get()));
+                changed |= !Arrays.equals(current, next);
+                labels = next;
+            }
+            rounds++;
+        }
+        iterations = rounds;
+
+        // Comunidades numeradas pela ordem do seu primeiro proprietário
+        communityOf = new int[n];
+        int[] dense = new int[n];
+        Arrays.fill(dense, -1);
+        int communities = 0;
+        for (int v = 0; v < n; v++) {
+            if (dense[labels[v]] < 0) {
+                dense[labels[v]] = communities++;
+            }
+            communityOf[v] = dense[labels[v]];
+        }
+
+        sizes = new int[communities];
+        internalEdges = new int[communities];
+        for (int v = 0; v < n; v++) {
+            sizes[communityOf[v]]++;
+            for (int k = 0; k < adjacency.getDegree(v); k++) {
+                int w = adjacency.getNeighbour(v, k);
+                if (w > v && communityOf[w] == communityOf[v]) {
+                    internalEdges[communityOf[v]]++;
+                }
+            }
+        }
+        areas = new double[communities];
+        for (Cadastro cadastro : graph.getCadastros()) {
+            int position = graph.getOwnerPosition(cadastro.getOwner());
+            if (position >= 0) {
+                areas[communityOf[position]] += cadastro.getArea();
+            }
+        }
+    }
+
+    /**
+     * Escolhe a etiqueta com maior peso entre os vizinhos de um proprietário.
+     *
+     * @param adjacency Adjacências entre proprietários
+     * @param labels Etiquetas da ronda anterior
+     * @param v Posição do proprietário
+     * @param weighted true para pesar pela multiplicidade das arestas
+     * @param scores Vetor de trabalho da thread, a zeros
+     * @return Nova etiqueta
+     */
+    private static int bestLabel(CsrAdjacency adjacency, int[] labels, int v, boolean weighted, double[] scores) {
+        int degree = adjacency.getDegree(v);
+        if (degree == 0) {
+            return labels[v];
+        }
+        for (int k = 0; k < degree; k++) {
+            scores[labels[adjacency.getNeighbour(v, k)]] += weighted ? adjacency.getNeighbourMultiplicity(v, k) : 1;
+        }
+
+        double bestScore = 0;
+        for (int k = 0; k < degree; k++) {
+            bestScore = Math.max(bestScore, scores[labels[adjacency.getNeighbour(v, k)]]);
+        }
+        int best = labels[v];
+        if (scores[best] < bestScore) {
+            best = Integer.MAX_VALUE;
+            for (int k = 0; k < degree; k++) {
+                int label = labels[adjacency.getNeighbour(v, k)];
+                if (scores[label] == bestScore) {
+                    best = Math.min(best, label);
+                }
+            }
+        }
+        for (int k = 0; k < degree; k++) {
+            scores[labels[adjacency.getNeighbour(v, k)]] = 0;
+        }
+        return best;
+    }
+
+    /**
+     * Classe de atualização de um proprietário, a partir de uma dispersão da sua posição.
+     */
+    private static int classOf(int v) {
+        int h = v * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 1;
+    }
+
+    /**
+     * Retorna o número de comunidades.
+     *
+     * @return Número de comunidades
+     */
+    public int getNumberOfCommunities() {
+        return sizes.length;
+    }
+
+    /**
+     * Retorna a comunidade de um proprietário.
+     *
+     * @param owner Identificador do proprietário
+     * @return Identificador da comunidade, ou -1 se o proprietário não tiver adjacências
+     */
+    public int getCommunity(int owner) {
+        int position = graph.getOwnerPosition(owner);
+        return position < 0 ? -1 : communityOf[position];
+    }
+
+    /**
+     * Retorna os proprietários de uma comunidade, por ordem crescente de identificador.
+     *
+     * @param community Identificador da comunidade
+     * @return Identificadores dos proprietários
+     */
+    public int[] getMembers(int community) {
+        int[] members = new int[sizes[community]];
+        int size = 0;
+        for (int v = 0; v < communityOf.length; v++) {
+            if (communityOf[v] == community) {
+                members[size++] = graph.getOwnerId(v);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Retorna o número de proprietários de uma comunidade.
+     *
+     * @param community Identificador da comunidade
+     * @return Número de proprietários
+     */
+    public int getCommunitySize(int community) {
+        return sizes[community];
+    }
+
+    /**
+     * Retorna a área total das propriedades dos proprietários de uma comunidade.
+     *
+     * @param community Identificador da comunidade
+     * @return Área total
+     */
+    public double getCommunityArea(int community) {
+        return areas[community];
+    }
+
+    /**
+     * Retorna o número de adjacências entre proprietários da mesma comunidade.
+     *
+     * @param community Identificador da comunidade
+     * @return Número de adjacências internas
+     */
+    public int getInternalEdges(int community) {
+        return internalEdges[community];
+    }
+
+    /**
+     * Retorna o número de rondas de propagação executadas.
+     *
+     * @return Número de rondas
+     */
+    public int getIterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,379 @@
+package service.analysis;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import service.CsrAdjacency;
+import service.Graph;
+import service.OwnerGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Procura de caminhos entre propriedades adjacentes, entre duas propriedades ou entre as
+ * propriedades de dois proprietários.
+ *
+ * Sem custos, o caminho devolvido é o que atravessa menos propriedades e é encontrado com
+ * uma pesquisa em largura bidirecional. Com custos, por exemplo a área ou o preço de cada
+ * propriedade, o custo de um caminho é a soma dos custos das propriedades por onde entra,
+ * isto é, de todas exceto a primeira, e o caminho de menor custo é encontrado com A*.
+ *
+ * A heurística do A* é a distância entre centróides multiplicada pela menor razão, sobre
+ * todas as arestas, entre o custo de entrar numa propriedade e a distância entre os centróides
+ * da aresta. Com esta razão a heurística nunca sobrestima o custo restante e é consistente,
+ * pelo que o caminho encontrado é ótimo. Os centróides e a razão são calculados uma única vez
+ * na construção, e os vetores de trabalho são reutilizados entre consultas: cada instância
+ * não pode ser usada por várias threads em simultâneo.
+ *
+ * @author Lei-G
+ * @version 1.0
+ */
+public final class PathFinder {
+    private final Graph graph;
+    private final CsrAdjacency adjacency;
+    private final BidirectionalSearch search;
+
+    /** Custo de entrar em cada propriedade, ou null se a procura não tiver custos */
+    private final double[] costs;
+
+    /** Coordenadas dos centróides, NaN para propriedades sem geometria */
+    private final double[] centroidX;
+    private final double[] centroidY;
+
+    /** Custo mínimo por unidade de distância entre centróides */
+    private final double costPerDistance;
+
+    /** Vetores de trabalho do A* */
+    private final double[] bestCost;
+    private final int[] parent;
+    private int[] touched = new int[64];
+    private int touchedCount;
+
+    /**
+     * Cria uma procura de caminhos sem custos, que minimiza o número de propriedades atravessadas.
+     *
+     * @param graph Grafo de propriedades ou de proprietários
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public PathFinder(Graph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Cria uma procura de caminhos com custos, que minimiza a soma dos custos das propriedades
+     * por onde o caminho entra.
+     *
+     * @param graph Grafo de propriedades ou de proprietários
+     * @param cost Custo de cada propriedade, por exemplo {@link Cadastro#getArea()}, ou null para
+     *        minimizar o número de propriedades atravessadas
+     * @throws IllegalArgumentException se o grafo for nulo ou algum custo for negativo ou não finito
+     */
+    public PathFinder(Graph graph, ToDoubleFunction<Cadastro> cost) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        this.graph = graph;
+        this.adjacency = graph.getPropertyAdjacency();
+        this.search = new BidirectionalSearch(adjacency);
+
+        List<Cadastro> cadastros = graph.getCadastros();
+        int n = cadastros.size();
+        if (cost == null) {
+            costs = null;
+            centroidX = null;
+            centroidY = null;
+            costPerDistance = 0;
+            bestCost = null;
+            parent = null;
+            return;
+        }
+
+        costs = new double[n];
+        centroidX = new double[n];
+        centroidY = new double[n];
+        for (int v = 0; v < n; v++) {
+            Cadastro cadastro = cadastros.get(v);
+            costs[v] = cost.applyAsDouble(cadastro);
+            if (!(costs[v] >= 0) || Double.isInfinite(costs[v])) {
+                throw new IllegalArgumentException(Constants.INVALID_COST_ERROR + cadastro.getId());
+            }
+            MultiPolygon shape = cadastro.getShape();
+            Point centroid = shape == null ? null : shape.getCentroid();
+            centroidX[v] = centroid == null || centroid.isEmpty() ? Double.NaN : centroid.getX();
+            centroidY[v] = centroid == null || centroid.isEmpty() ? Double.NaN : centroid.getY();
+        }
+
+        double ratio = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            for (int k = 0; k < adjacency.getDegree(v); k++) {
+                int w = adjacency.getNeighbour(v, k);
+                double distance = Math.hypot(centroidX[v] - centroidX[w], centroidY[v] - centroidY[w]);
+                if (distance > 0) {
+                    ratio = Math.min(ratio, costs[w] / distance);
+                }
+            }
+        }
+        costPerDistance = Double.isInfinite(ratio) ? 0 : ratio;
+
+        bestCost = new double[n];
+        parent = new int[n];
+        Arrays.fill(bestCost, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Procura o melhor caminho entre duas propriedades.
+     *
+     * @param from Propriedade de partida
+     * @param to Propriedade de chegada
+     * @return Propriedades do caminho, da partida à chegada, ou vazio se não existir caminho
+     * @throws IllegalArgumentException se alguma propriedade for nula ou não pertencer ao grafo
+     */
+    public List<Cadastro> findPath(Cadastro from, Cadastro to) {
+        return toProperties(find(new int[]{require(from)}, new int[]{require(to)}));
+    }
+
+    /**
+     * Procura o melhor caminho entre alguma propriedade de um proprietário e alguma
+     * propriedade de outro.
+     *
+     * @param owner1 Identificador do proprietário de partida
+     * @param owner2 Identificador do proprietário de chegada
+     * @return Propriedades do caminho, ou vazio se algum proprietário não tiver propriedades
+     *         no grafo ou não existir caminho
+     */
+    public List<Cadastro> findPathBetweenOwners(int owner1, int owner2) {
+        int[] sources = positionsOf(owner1);
+        int[] targets = positionsOf(owner2);
+        if (sources.length == 0 || targets.length == 0) {
+            return List.of();
+        }
+        return toProperties(find(sources, targets));
+    }
+
+    /**
+     * Calcula o custo de um caminho, isto é, a soma dos custos das propriedades após a primeira.
+     * Sem custos, é o número de saltos.
+     *
+     * @param path Caminho devolvido por esta procura
+     * @return Custo do caminho
+     * @throws IllegalArgumentException se o caminho for nulo ou tiver propriedades fora do grafo
+     */
+    public double getPathCost(List<Cadastro> path) {
+        if (path == null) {
+            throw new IllegalArgumentException(Constants.NULL_PROPERTY_ERROR);
+        }
+        double total = 0;
+        for (int k = 1; k < path.size(); k++) {
+            total += costs == null ? 1 : costs[require(path.get(k))];
+        }
+        return total;
+    }
+
+    /**
+     * Procura a cadeia mais curta de proprietários adjacentes entre dois proprietários.
+     *
+     * @param graph Grafo de proprietários
+     * @param owner1 Identificador do proprietário de partida
+     * @param owner2 Identificador do proprietário de chegada
+     * @return Identificadores dos proprietários da cadeia, ou vazio se algum proprietário não
+     *         tiver adjacências ou não existir cadeia
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public static int[] findOwnerChain(OwnerGraph graph, int owner1, int owner2) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        int source = graph.getOwnerPosition(owner1);
+        int target = graph.getOwnerPosition(owner2);
+        if (source < 0 || target < 0) {
+            return new int[0];
+        }
+
+        int[] chain = new BidirectionalSearch(graph.getOwnerAdjacency()).find(new int[]{source}, new int[]{target});
+        for (int k = 0; k < chain.length; k++) {
+            chain[k] = graph.getOwnerId(chain[k]);
+        }
+        return chain;
+    }
+
+    private int[] find(int[] sources, int[] targets) {
+        return costs == null ? search.find(sources, targets) : aStar(sources, targets);
+    }
+
+    /**
+     * A* de várias origens para vários destinos. A heurística usa a distância do centróide
+     * ao envelope dos centróides dos destinos, que não excede a distância a nenhum deles.
+     */
+    private int[] aStar(int[] sources, int[] targets) {
+        Envelope targetEnvelope = new Envelope();
+        boolean[] isTarget = new boolean[costs.length];
+        for (int target : targets) {
+            isTarget[target] = true;
+            if (!Double.isNaN(centroidX[target])) {
+                targetEnvelope.expandToInclude(centroidX[target], centroidY[target]);
+            }
+        }
+
+        try {
+            MinHeap open = new MinHeap();
+            for (int source : sources) {
+                relax(source, -1, 0);
+                open.push(heuristic(source, targetEnvelope), source);
+            }
+            while (!open.isEmpty()) {
+                double f = open.peekKey();
+                int v = open.pop();
+                if (f > bestCost[v] + heuristic(v, targetEnvelope)) {
+                    continue; // Entrada desatualizada
+                }
+                if (isTarget[v]) {
+                    return reconstruct(v);
+                }
+                for (int k = 0; k < adjacency.getDegree(v); k++) {
+                    int w = adjacency.getNeighbour(v, k);
+                    double g = bestCost[v] + costs[w];
+                    if (g < bestCost[w]) {
+                        relax(w, v, g);
+                        open.push(g + heuristic(w, targetEnvelope), w);
+                    }
+                }
+            }
+            return new int[0];
+        } finally {
+            for (int k = 0; k < touchedCount; k++) {
+                bestCost[touched[k]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private double heuristic(int v, Envelope targetEnvelope) {
+        if (costPerDistance == 0 || Double.isNaN(centroidX[v]) || targetEnvelope.isNull()) {
+            return 0;
+        }
+        double dx = Math.max(0, Math.max(targetEnvelope.getMinX() - centroidX[v], centroidX[v] - targetEnvelope.getMaxX()));
+        double dy = Math.max(0, Math.max(targetEnvelope.getMinY() - centroidY[v], centroidY[v] - targetEnvelope.getMaxY()));
+        return costPerDistance * Math.hypot(dx, dy);
+    }
+
+    private void relax(int v, int from, double g) {
+        if (bestCost[v] == Double.POSITIVE_INFINITY) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = v;
+        }
+        bestCost[v] = g;
+        parent[v] = from;
+    }
+
+    private int[] reconstruct(int target) {
+        int length = 0;
+        for (int v = target; v >= 0; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target; v >= 0; v = parent[v]) {
+            path[--length] = v;
+        }
+        return path;
+    }
+
+    private int require(Cadastro property) {
+        int position = graph.getPosition(property);
+        if (position < 0) {
+            throw new IllegalArgumentException(Constants.UNKNOWN_PROPERTY_ERROR);
+        }
+        return position;
+    }
+
+    private int[] positionsOf(int owner) {
+        List<Cadastro> cadastros = graph.getCadastros();
+        int[] positions = new int[16];
+        int size = 0;
+        for (int v = 0; v < cadastros.size(); v++) {
+            if (cadastros.get(v).getOwner() == owner) {
+                if (size == positions.length) {
+                    positions = Arrays.copyOf(positions, size * 2);
+                }
+                positions[size++] = v;
+            }
+        }
+        return Arrays.copyOf(positions, size);
+    }
+
+    private List<Cadastro> toProperties(int[] path) {
+        List<Cadastro> properties = new ArrayList<>(path.length);
+        for (int v : path) {
+            properties.add(graph.getCadastros().get(v));
+        }
+        return properties;
+    }
+
+    /**
+     * Fila de prioridade mínima de vértices, em vetores primitivos. As entradas repetidas
+     * de um vértice não são removidas: são ignoradas quando saem da fila desatualizadas.
+     */
+    private static final class MinHeap {
+        private double[] keys = new double[64];
+        private int[] values = new int[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        void push(double key, int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int k = size++;
+            while (k > 0) {
+                int up = (k - 1) >>> 1;
+                if (keys[up] <= key) {
+                    break;
+                }
+                keys[k] = keys[up];
+                values[k] = values[up];
+                k = up;
+            }
+            keys[k] = key;
+            values[k] = value;
+        }
+
+        int pop() {
+            int result = values[0];
+            double key = keys[--size];
+            int value = values[size];
+            int k = 0;
+            while (true) {
+                int child = 2 * k + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[k] = keys[child];
+                values[k] = values[child];
+                k = child;
+            }
+            keys[k] = key;
+            values[k] = value;
+            return result;
+        }
+    }
+}
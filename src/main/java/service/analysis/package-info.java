@@ -0,0 +1,9 @@
+/**
+ * Pacote service.analysis contém os algoritmos de análise sobre os grafos de propriedades
+ * e de proprietários. Os algoritmos trabalham sobre as listas de adjacências compactas
+ * dos grafos e devolvem resultados em vetores de inteiros, indexados pela posição de cada vértice.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+package service.analysis;
@@ -0,0 +1,184 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Índice espacial sobre uma lista de cadastros.
+ * Guarda os envelopes numa STRtree e mantém uma geometria preparada por cadastro,
+ * criada apenas quando é pedida pela primeira vez e reutilizada durante a vida do índice.
+ * Os cadastros são identificados pela sua posição na lista original.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class CadastroIndex {
+    /** Lista de cadastros indexados */
+    private final List<Cadastro> cadastros;
+
+    /** Árvore com o envelope de cada cadastro, tendo como item a sua posição na lista */
+    private final STRtree tree;
+
+    /** Geometrias preparadas, criadas a pedido */
+    private final AtomicReferenceArray<PreparedGeometry> preparedShapes;
+
+    /**
+     * Constrói o índice para a lista de cadastros.
+     * Cadastros sem forma geométrica não são inseridos na árvore.
+     * 
+     * @param cadastros Lista de cadastros a indexar
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public CadastroIndex(List<Cadastro> cadastros) {
+        if (cadastros == null) {
+            throw new IllegalArgumentException(Constants.NULL_CADASTROS_ERROR);
+        }
+        // contains(null) não serve: as listas imutáveis lançam NullPointerException
+        for (Cadastro cadastro : cadastros) {
+            if (cadastro == null) {
+                throw new IllegalArgumentException(Constants.NULL_ELEMENTS_ERROR);
+            }
+        }
+
+        this.cadastros = cadastros;
+        this.preparedShapes = new AtomicReferenceArray<>(cadastros.size());
+        this.tree = new STRtree();
+        for (int i = 0; i < cadastros.size(); i++) {
+            MultiPolygon shape = cadastros.get(i).getShape();
+            if (shape != null) {
+                tree.insert(shape.getEnvelopeInternal(), i);
+            }
+        }
+        // Construir já a árvore para que as consultas concorrentes sejam apenas leituras
+        tree.build();
+    }
+
+    /**
+     * Devolve as posições dos cadastros cujo envelope interseta o envelope dado,
+     * por ordem crescente.
+     * 
+     * @param envelope Envelope de pesquisa
+     * @return Posições candidatas ordenadas
+     * @throws IllegalArgumentException se o envelope for nulo
+     */
+    public int[] queryCandidates(Envelope envelope) {
+        if (envelope == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENVELOPE_ERROR);
+        }
+
+        IntBuffer buffer = new IntBuffer();
+        tree.query(envelope, item -> buffer.add((Integer) item));
+        int[] result = buffer.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Devolve as posições posteriores a {@code index} cujos envelopes intersetam o envelope
+     * do cadastro nessa posição, alargado pela distância indicada.
+     * Percorrer todas as posições com este método visita cada par candidato uma única vez.
+     * 
+     * @param index Posição do cadastro de referência
+     * @param distance Distância pela qual o envelope é alargado (0 para interseção estrita)
+     * @return Posições candidatas ordenadas, todas maiores que {@code index}
+     */
+    public int[] queryCandidatesAfter(int index, double distance) {
+        MultiPolygon shape = cadastros.get(index).getShape();
+        if (shape == null) {
+            return new int[0];
+        }
+
+        Envelope envelope = new Envelope(shape.getEnvelopeInternal());
+        if (distance > 0) {
+            envelope.expandBy(distance);
+        }
+        IntBuffer buffer = new IntBuffer();
+        tree.query(envelope, item -> {
+            int candidate = (Integer) item;
+            if (candidate > index) {
+                buffer.add(candidate);
+            }
+        });
+        int[] result = buffer.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Devolve a geometria preparada do cadastro na posição indicada.
+     * 
+     * @param index Posição do cadastro
+     * @return Geometria preparada, ou null se o cadastro não tiver forma
+     */
+    public PreparedGeometry getPreparedShape(int index) {
+        PreparedGeometry prepared = preparedShapes.get(index);
+        if (prepared == null) {
+            MultiPolygon shape = cadastros.get(index).getShape();
+            if (shape == null) {
+                return null;
+            }
+            prepared = PreparedGeometryFactory.prepare(shape);
+            if (!preparedShapes.compareAndSet(index, null, prepared)) {
+                prepared = preparedShapes.get(index);
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Devolve o cadastro na posição indicada.
+     * 
+     * @param index Posição do cadastro
+     * @return O cadastro
+     */
+    public Cadastro get(int index) {
+        return cadastros.get(index);
+    }
+
+    /**
+     * Devolve o número de cadastros indexados.
+     * 
+     * @return Número de cadastros
+     */
+    public int size() {
+        return cadastros.size();
+    }
+
+    /**
+     * Devolve a lista de cadastros indexados.
+     * 
+     * @return Lista de cadastros
+     */
+    public List<Cadastro> getCadastros() {
+        return cadastros;
+    }
+
+    /**
+     * Vetor de inteiros de crescimento dinâmico, usado para recolher resultados
+     * sem criar objetos por elemento.
+     */
+    static final class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
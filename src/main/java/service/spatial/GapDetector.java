@@ -0,0 +1,106 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.operation.distance.DistanceOp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Deteta vizinhos quase adjacentes: pares de propriedades cujas fronteiras estão
+ * a menos de uma tolerância uma da outra sem que se toquem ou intersetem.
+ * Estas falhas fazem com que faltem arestas no {@link service.PropertyGraph}.
+ * 
+ * Os candidatos são obtidos do índice espacial com o envelope alargado pela tolerância,
+ * e as propriedades são avaliadas em paralelo.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class GapDetector {
+    /** Índice espacial das propriedades */
+    private final CadastroIndex index;
+
+    /**
+     * Cria o detetor, construindo um índice espacial para os cadastros.
+     * 
+     * @param cadastros Lista de cadastros
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public GapDetector(List<Cadastro> cadastros) {
+        this(new CadastroIndex(cadastros));
+    }
+
+    /**
+     * Cria o detetor sobre um índice espacial já construído.
+     * 
+     * @param index Índice espacial dos cadastros
+     * @throws IllegalArgumentException se o índice for nulo
+     */
+    public GapDetector(CadastroIndex index) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        this.index = index;
+    }
+
+    /**
+     * Encontra todos os pares de propriedades separados por uma falha não superior à tolerância.
+     * Os pares são devolvidos pela ordem das propriedades na lista.
+     * 
+     * @param tolerance Largura máxima da falha, nas unidades das coordenadas
+     * @return Lista de falhas encontradas
+     * @throws IllegalArgumentException se a tolerância não for positiva
+     * @throws IllegalStateException se ocorrer um erro topológico durante a análise
+     */
+    public List<ParcelGap> detect(double tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException(Constants.INVALID_TOLERANCE_ERROR);
+        }
+
+        return IntStream.range(0, index.size()).parallel()
+                .mapToObj(i -> detectFrom(i, tolerance))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Encontra as falhas entre a propriedade na posição indicada e as propriedades seguintes.
+     * 
+     * @param i Posição da propriedade
+     * @param tolerance Largura máxima da falha
+     * @return Falhas encontradas
+     */
+    private List<ParcelGap> detectFrom(int i, double tolerance) {
+        List<ParcelGap> found = new ArrayList<>();
+        PreparedGeometry prepared = index.getPreparedShape(i);
+        if (prepared == null) {
+            return found;
+        }
+
+        MultiPolygon shape = index.get(i).getShape();
+        try {
+            for (int j : index.queryCandidatesAfter(i, tolerance)) {
+                MultiPolygon other = index.get(j).getShape();
+                if (prepared.intersects(other) || !shape.isWithinDistance(other, tolerance)) {
+                    continue;
+                }
+
+                Coordinate[] nearest = DistanceOp.nearestPoints(shape, other);
+                Coordinate location = new Coordinate(
+                        (nearest[0].x + nearest[1].x) / 2,
+                        (nearest[0].y + nearest[1].y) / 2);
+                found.add(new ParcelGap(index.get(i), index.get(j), nearest[0].distance(nearest[1]), location));
+            }
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.TOPOLOGY_ERROR + e.getMessage(), e);
+        }
+        return found;
+    }
+}
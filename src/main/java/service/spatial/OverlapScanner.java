@@ -0,0 +1,113 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Analisa um conjunto de propriedades à procura de pares cujos interiores se sobrepõem.
+ * Cada propriedade é comparada apenas com os candidatos devolvidos pelo índice espacial,
+ * e as propriedades são processadas em paralelo.
+ * 
+ * Sobreposições são um problema de qualidade dos dados: em
+ * {@link service.Graph#arePropertiesPhysicallyAdjacent} contam como adjacência,
+ * exceto quando uma propriedade está contida na outra.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class OverlapScanner {
+    /** Padrão DE-9IM para interiores que se intersetam */
+    private static final String INTERIORS_INTERSECT = "T********";
+
+    /** Índice espacial das propriedades */
+    private final CadastroIndex index;
+
+    /**
+     * Cria o analisador, construindo um índice espacial para os cadastros.
+     * 
+     * @param cadastros Lista de cadastros
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public OverlapScanner(List<Cadastro> cadastros) {
+        this(new CadastroIndex(cadastros));
+    }
+
+    /**
+     * Cria o analisador sobre um índice espacial já construído.
+     * 
+     * @param index Índice espacial dos cadastros
+     * @throws IllegalArgumentException se o índice for nulo
+     */
+    public OverlapScanner(CadastroIndex index) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        this.index = index;
+    }
+
+    /**
+     * Encontra todos os pares de propriedades cujos interiores se sobrepõem.
+     * Os pares são devolvidos pela ordem das propriedades na lista.
+     * 
+     * @return Lista de sobreposições
+     * @throws IllegalStateException se ocorrer um erro topológico durante a análise
+     */
+    public List<ParcelOverlap> scan() {
+        return IntStream.range(0, index.size()).parallel()
+                .mapToObj(this::scanFrom)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Encontra as sobreposições entre a propriedade na posição indicada e as propriedades seguintes.
+     * 
+     * @param i Posição da propriedade
+     * @return Sobreposições encontradas
+     */
+    private List<ParcelOverlap> scanFrom(int i) {
+        List<ParcelOverlap> found = new ArrayList<>();
+        PreparedGeometry prepared = index.getPreparedShape(i);
+        if (prepared == null) {
+            return found;
+        }
+
+        MultiPolygon shape = index.get(i).getShape();
+        try {
+            for (int j : index.queryCandidatesAfter(i, 0)) {
+                MultiPolygon other = index.get(j).getShape();
+                if (!prepared.intersects(other) || !shape.relate(other, INTERIORS_INTERSECT)) {
+                    continue;
+                }
+
+                double overlapArea = shape.intersection(other).getArea();
+                if (overlapArea > 0) {
+                    found.add(new ParcelOverlap(index.get(i), index.get(j), overlapArea,
+                            percentage(overlapArea, shape.getArea()),
+                            percentage(overlapArea, other.getArea())));
+                }
+            }
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.TOPOLOGY_ERROR + e.getMessage(), e);
+        }
+        return found;
+    }
+
+    /**
+     * Calcula a percentagem de uma área em relação ao total.
+     * 
+     * @param part Área parcial
+     * @param total Área total
+     * @return Percentagem (0 se o total for nulo)
+     */
+    private static double percentage(double part, double total) {
+        return total > 0 ? part / total * 100.0 : 0.0;
+    }
+}
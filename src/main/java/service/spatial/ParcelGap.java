@@ -0,0 +1,24 @@
+package service.spatial;
+
+import model.Cadastro;
+import org.locationtech.jts.geom.Coordinate;
+
+/**
+ * Record que representa uma falha estreita entre duas propriedades vizinhas que não se tocam.
+ * 
+ * @param first Primeira propriedade (a que aparece primeiro na lista)
+ * @param second Segunda propriedade
+ * @param width Largura da falha (distância mínima entre as fronteiras)
+ * @param location Ponto médio entre os pontos mais próximos das duas fronteiras
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public record ParcelGap(Cadastro first, Cadastro second, double width, Coordinate location) {
+
+    @Override
+    public String toString() {
+        return String.format("Falha %d/%d: largura %.3f em (%.3f, %.3f)",
+                first.getId(), second.getId(), width, location.x, location.y);
+    }
+}
@@ -0,0 +1,25 @@
+package service.spatial;
+
+import model.Cadastro;
+
+/**
+ * Record que representa duas propriedades cujos interiores se sobrepõem.
+ * 
+ * @param first Primeira propriedade (a que aparece primeiro na lista)
+ * @param second Segunda propriedade
+ * @param overlapArea Área da sobreposição
+ * @param firstPercentage Percentagem da área da primeira propriedade que está sobreposta
+ * @param secondPercentage Percentagem da área da segunda propriedade que está sobreposta
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public record ParcelOverlap(Cadastro first, Cadastro second, double overlapArea,
+                            double firstPercentage, double secondPercentage) {
+
+    @Override
+    public String toString() {
+        return String.format("Sobreposição %d/%d: área %.2f (%.1f%% / %.1f%%)",
+                first.getId(), second.getId(), overlapArea, firstPercentage, secondPercentage);
+    }
+}
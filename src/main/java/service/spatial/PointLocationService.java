@@ -0,0 +1,146 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Serviço que responde à pergunta "que propriedade contém esta coordenada".
+ * Usa o índice espacial para obter candidatos e confirma cada candidato
+ * com a geometria preparada da propriedade.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class PointLocationService {
+    /** Índice espacial dos cadastros */
+    private final CadastroIndex index;
+
+    /** Fábrica usada para criar os pontos de consulta */
+    private final GeometryFactory geometryFactory;
+
+    /**
+     * Cria o serviço, construindo um índice espacial para os cadastros.
+     * 
+     * @param cadastros Lista de cadastros
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public PointLocationService(List<Cadastro> cadastros) {
+        this(new CadastroIndex(cadastros));
+    }
+
+    /**
+     * Cria o serviço sobre um índice espacial já construído.
+     * 
+     * @param index Índice espacial dos cadastros
+     * @throws IllegalArgumentException se o índice for nulo
+     */
+    public PointLocationService(CadastroIndex index) {
+        if (index == null) {
+            throw new IllegalArgumentException(Constants.NULL_INDEX_ERROR);
+        }
+        this.index = index;
+        this.geometryFactory = new GeometryFactory();
+    }
+
+    /**
+     * Encontra a propriedade que contém a coordenada.
+     * Pontos sobre a fronteira de uma propriedade são considerados dentro dela.
+     * Se várias propriedades contiverem o ponto, devolve a que aparece primeiro na lista.
+     * 
+     * @param x Coordenada x
+     * @param y Coordenada y
+     * @return A propriedade que contém o ponto, ou null se nenhuma o contiver
+     */
+    public Cadastro locate(double x, double y) {
+        int position = locatePosition(new Coordinate(x, y));
+        return position < 0 ? null : index.get(position);
+    }
+
+    /**
+     * Encontra a propriedade que contém a coordenada.
+     * 
+     * @param coordinate Coordenada a localizar
+     * @return A propriedade que contém o ponto, ou null se nenhuma o contiver
+     * @throws IllegalArgumentException se a coordenada for nula
+     */
+    public Cadastro locate(Coordinate coordinate) {
+        if (coordinate == null) {
+            throw new IllegalArgumentException(Constants.NULL_COORDINATE_ERROR);
+        }
+        int position = locatePosition(coordinate);
+        return position < 0 ? null : index.get(position);
+    }
+
+    /**
+     * Localiza um lote de coordenadas numa única chamada.
+     * As coordenadas são processadas em paralelo e o resultado mantém a ordem de entrada.
+     * 
+     * @param coordinates Coordenadas a localizar
+     * @return Vetor com a propriedade de cada coordenada (null quando não há nenhuma)
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public Cadastro[] locateAll(List<Coordinate> coordinates) {
+        if (coordinates == null) {
+            throw new IllegalArgumentException(Constants.NULL_COORDINATE_ERROR);
+        }
+        // contains(null) não serve: as listas imutáveis lançam NullPointerException
+        for (Coordinate coordinate : coordinates) {
+            if (coordinate == null) {
+                throw new IllegalArgumentException(Constants.NULL_COORDINATE_ERROR);
+            }
+        }
+
+        Cadastro[] result = new Cadastro[coordinates.size()];
+        IntStream.range(0, coordinates.size()).parallel().forEach(i -> {
+            int position = locatePosition(coordinates.get(i));
+            result[i] = position < 0 ? null : index.get(position);
+        });
+        return result;
+    }
+
+    /**
+     * Localiza um lote de coordenadas e devolve apenas os proprietários.
+     * 
+     * @param coordinates Coordenadas a localizar
+     * @return Vetor com o proprietário de cada coordenada (0 quando não há propriedade)
+     * @throws IllegalArgumentException se a lista for nula ou contiver elementos nulos
+     */
+    public int[] locateOwners(List<Coordinate> coordinates) {
+        Cadastro[] located = locateAll(coordinates);
+        int[] owners = new int[located.length];
+        for (int i = 0; i < located.length; i++) {
+            owners[i] = located[i] == null ? 0 : located[i].getOwner();
+        }
+        return owners;
+    }
+
+    /**
+     * Encontra a posição da primeira propriedade que contém a coordenada.
+     * 
+     * @param coordinate Coordenada a localizar
+     * @return Posição da propriedade no índice, ou -1 se nenhuma a contiver
+     */
+    private int locatePosition(Coordinate coordinate) {
+        int[] candidates = index.queryCandidates(new Envelope(coordinate));
+        if (candidates.length == 0) {
+            return -1;
+        }
+
+        Point point = geometryFactory.createPoint(coordinate);
+        for (int candidate : candidates) {
+            PreparedGeometry prepared = index.getPreparedShape(candidate);
+            if (prepared != null && prepared.intersects(point)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,235 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import model.Zone;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de junção espacial entre as propriedades e uma camada externa de zonas.
+ * Indexa o lado mais pequeno da junção, percorre o outro lado em paralelo e entrega
+ * cada par (propriedade, zona, área sobreposta) a um consumidor, em lotes,
+ * sem nunca guardar o resultado completo em memória.
+ * 
+ * A ordem dos resultados é determinística: segue a ordem do lado que é percorrido
+ * (as propriedades quando há menos zonas do que propriedades, as zonas caso contrário).
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class SpatialJoinService {
+    /** Cabeçalho do ficheiro CSV de resultados */
+    private static final String CSV_HEADER = "parcel_id;zone_id;overlap_area";
+
+    /** Lista de propriedades */
+    private final List<Cadastro> cadastros;
+
+    /** Lista de zonas */
+    private final List<Zone> zones;
+
+    /**
+     * Cria o motor de junção.
+     * 
+     * @param cadastros Lista de propriedades
+     * @param zones Lista de zonas da camada externa
+     * @throws IllegalArgumentException se alguma das listas for nula ou contiver elementos nulos
+     */
+    public SpatialJoinService(List<Cadastro> cadastros, List<Zone> zones) {
+        if (cadastros == null) {
+            throw new IllegalArgumentException(Constants.NULL_CADASTROS_ERROR);
+        }
+        // contains(null) não serve: as listas imutáveis lançam NullPointerException
+        for (Cadastro cadastro : cadastros) {
+            if (cadastro == null) {
+                throw new IllegalArgumentException(Constants.NULL_ELEMENTS_ERROR);
+            }
+        }
+        if (zones == null) {
+            throw new IllegalArgumentException(Constants.NULL_ZONES_ERROR);
+        }
+        for (Zone zone : zones) {
+            if (zone == null) {
+                throw new IllegalArgumentException(Constants.NULL_ZONES_ERROR);
+            }
+        }
+        this.cadastros = cadastros;
+        this.zones = zones;
+    }
+
+    /**
+     * Executa a junção e entrega cada sobreposição ao consumidor.
+     * Apenas pares com área de interseção positiva são reportados.
+     * O consumidor é sempre chamado a partir da thread que invoca este método.
+     * 
+     * @param sink Consumidor dos resultados
+     * @return Número de resultados entregues
+     * @throws IllegalArgumentException se o consumidor for nulo
+     * @throws IllegalStateException se ocorrer um erro topológico ao calcular uma interseção
+     */
+    public long join(Consumer<ZoneOverlap> sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException(Constants.NULL_SINK_ERROR);
+        }
+        if (zones.size() <= cadastros.size()) {
+            return joinIndexingZones(sink);
+        }
+        return joinIndexingParcels(sink);
+    }
+
+    /**
+     * Executa a junção e devolve todos os resultados numa lista.
+     * 
+     * @return Lista de sobreposições
+     */
+    public List<ZoneOverlap> joinAll() {
+        List<ZoneOverlap> result = new ArrayList<>();
+        join(result::add);
+        return result;
+    }
+
+    /**
+     * Executa a junção e escreve os resultados em formato CSV (separado por ';').
+     * Todas as linhas terminam em '\n', independentemente do sistema operativo.
+     * 
+     * @param writer Destino dos resultados
+     * @return Número de linhas de resultados escritas
+     * @throws IOException se ocorrer um erro de escrita
+     * @throws IllegalArgumentException se o destino for nulo
+     */
+    public long writeCsv(Writer writer) throws IOException {
+        if (writer == null) {
+            throw new IllegalArgumentException(Constants.NULL_SINK_ERROR);
+        }
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try {
+            long count = join(overlap -> {
+                try {
+                    writer.write(String.format(Locale.ROOT, "%d;%s;%.4f\n",
+                            overlap.parcelId(), overlap.zoneId(), overlap.overlapArea()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw new IOException(Constants.FILE_WRITE_ERROR, e.getCause());
+        }
+    }
+
+    /**
+     * Junção com as zonas indexadas, percorrendo as propriedades.
+     */
+    private long joinIndexingZones(Consumer<ZoneOverlap> sink) {
+        STRtree tree = new STRtree();
+        PreparedGeometry[] preparedZones = new PreparedGeometry[zones.size()];
+        for (int i = 0; i < zones.size(); i++) {
+            Geometry shape = zones.get(i).shape();
+            tree.insert(shape.getEnvelopeInternal(), i);
+            preparedZones[i] = PreparedGeometryFactory.prepare(shape);
+        }
+        tree.build();
+
+        return runInBatches(cadastros.size(), sink, i -> {
+            Cadastro cadastro = cadastros.get(i);
+            MultiPolygon shape = cadastro.getShape();
+            List<ZoneOverlap> found = new ArrayList<>();
+            if (shape == null) {
+                return found;
+            }
+            for (int z : sortedItems(tree.query(shape.getEnvelopeInternal()))) {
+                double area = overlapArea(preparedZones[z], shape);
+                if (area > 0) {
+                    found.add(new ZoneOverlap(cadastro.getId(), zones.get(z).id(), area));
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Junção com as propriedades indexadas, percorrendo as zonas.
+     */
+    private long joinIndexingParcels(Consumer<ZoneOverlap> sink) {
+        CadastroIndex index = new CadastroIndex(cadastros);
+
+        return runInBatches(zones.size(), sink, z -> {
+            Zone zone = zones.get(z);
+            PreparedGeometry preparedZone = PreparedGeometryFactory.prepare(zone.shape());
+            List<ZoneOverlap> found = new ArrayList<>();
+            for (int i : index.queryCandidates(zone.shape().getEnvelopeInternal())) {
+                double area = overlapArea(preparedZone, index.get(i).getShape());
+                if (area > 0) {
+                    found.add(new ZoneOverlap(index.get(i).getId(), zone.id(), area));
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Processa os elementos em lotes: cada lote é avaliado em paralelo e os seus
+     * resultados são entregues ao consumidor pela ordem dos elementos.
+     */
+    private long runInBatches(int size, Consumer<ZoneOverlap> sink, IntFunction<List<ZoneOverlap>> task) {
+        long count = 0;
+        for (int start = 0; start < size; start += Constants.SPATIAL_BATCH_SIZE) {
+            int end = Math.min(size, start + Constants.SPATIAL_BATCH_SIZE);
+            List<List<ZoneOverlap>> batch = IntStream.range(start, end).parallel().mapToObj(task).toList();
+            for (List<ZoneOverlap> results : batch) {
+                for (ZoneOverlap overlap : results) {
+                    sink.accept(overlap);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Calcula a área da interseção entre uma zona preparada e uma propriedade.
+     * Evita a operação de overlay quando a propriedade está totalmente dentro da zona.
+     */
+    private static double overlapArea(PreparedGeometry zone, MultiPolygon shape) {
+        if (shape == null || !zone.intersects(shape)) {
+            return 0;
+        }
+        try {
+            if (zone.covers(shape)) {
+                return shape.getArea();
+            }
+            return zone.getGeometry().intersection(shape).getArea();
+        } catch (TopologyException e) {
+            throw new IllegalStateException(Constants.TOPOLOGY_ERROR + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converte os itens devolvidos pela árvore em posições ordenadas.
+     */
+    private static int[] sortedItems(List<?> items) {
+        int[] result = new int[items.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (Integer) items.get(i);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
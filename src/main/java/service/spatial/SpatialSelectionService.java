@@ -0,0 +1,125 @@
+package service.spatial;
+
+import core.Constants;
+import model.Cadastro;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import service.Graph;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de seleção espacial sobre as propriedades de um grafo.
+ * Devolve as propriedades que intersetam um retângulo ou um polígono arbitrário
+ * (um corredor rodoviário, uma zona de cheia), pré-filtrando pelo índice espacial
+ * e confirmando cada candidato com a geometria preparada da área de pesquisa.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public class SpatialSelectionService {
+    /** Índice espacial das propriedades */
+    private final CadastroIndex index;
+
+    /** Fábrica usada para converter retângulos em geometrias */
+    private final GeometryFactory geometryFactory;
+
+    /**
+     * Cria o serviço de seleção sobre as propriedades de um grafo.
+     * 
+     * @param graph Grafo cujas propriedades serão consultadas
+     * @throws IllegalArgumentException se o grafo for nulo
+     */
+    public SpatialSelectionService(Graph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException(Constants.NULL_GRAPH_ERROR);
+        }
+        this.index = graph.getSpatialIndex();
+        this.geometryFactory = new GeometryFactory();
+    }
+
+    /**
+     * Seleciona as propriedades que intersetam um retângulo.
+     * 
+     * @param envelope Retângulo de pesquisa
+     * @return Lista de propriedades selecionadas, pela ordem do grafo
+     * @throws IllegalArgumentException se o envelope for nulo
+     */
+    public List<Cadastro> selectByEnvelope(Envelope envelope) {
+        if (envelope == null) {
+            throw new IllegalArgumentException(Constants.NULL_ENVELOPE_ERROR);
+        }
+        return selectIntersecting(geometryFactory.toGeometry(envelope));
+    }
+
+    /**
+     * Seleciona as propriedades que intersetam uma geometria.
+     * 
+     * @param area Geometria de pesquisa
+     * @return Lista de propriedades selecionadas, pela ordem do grafo
+     * @throws IllegalArgumentException se a geometria for nula
+     */
+    public List<Cadastro> selectIntersecting(Geometry area) {
+        return streamIntersecting(area).toList();
+    }
+
+    /**
+     * Seleciona os IDs das propriedades que intersetam uma geometria.
+     * 
+     * @param area Geometria de pesquisa
+     * @return IDs das propriedades selecionadas, pela ordem do grafo
+     * @throws IllegalArgumentException se a geometria for nula
+     */
+    public int[] selectIdsIntersecting(Geometry area) {
+        return matchingPositions(area).map(i -> index.get(i).getId()).toArray();
+    }
+
+    /**
+     * Devolve as propriedades que intersetam uma geometria como um stream.
+     * O teste exato só é feito quando cada elemento é consumido, pelo que seleções
+     * muito grandes podem ser processadas sem serem guardadas em memória.
+     * 
+     * @param area Geometria de pesquisa
+     * @return Stream das propriedades selecionadas, pela ordem do grafo
+     * @throws IllegalArgumentException se a geometria for nula
+     */
+    public Stream<Cadastro> streamIntersecting(Geometry area) {
+        return matchingPositions(area).mapToObj(index::get);
+    }
+
+    /**
+     * Conta as propriedades que intersetam uma geometria.
+     * 
+     * @param area Geometria de pesquisa
+     * @return Número de propriedades selecionadas
+     * @throws IllegalArgumentException se a geometria for nula
+     */
+    public long countIntersecting(Geometry area) {
+        return matchingPositions(area).count();
+    }
+
+    /**
+     * Devolve as posições das propriedades que intersetam a geometria.
+     * 
+     * @param area Geometria de pesquisa
+     * @return Stream das posições selecionadas
+     */
+    private IntStream matchingPositions(Geometry area) {
+        if (area == null) {
+            throw new IllegalArgumentException(Constants.NULL_GEOMETRY_ERROR);
+        }
+
+        PreparedGeometry preparedArea = PreparedGeometryFactory.prepare(area);
+        int[] candidates = index.queryCandidates(area.getEnvelopeInternal());
+        return IntStream.of(candidates).filter(i -> {
+            MultiPolygon shape = index.get(i).getShape();
+            return shape != null && preparedArea.intersects(shape);
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package service.spatial;
+
+/**
+ * Record que representa a sobreposição entre uma propriedade e uma zona externa.
+ * 
+ * @param parcelId O ID da propriedade
+ * @param zoneId O identificador da zona
+ * @param overlapArea A área da interseção entre a propriedade e a zona
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+public record ZoneOverlap(int parcelId, String zoneId, double overlapArea) {
+}
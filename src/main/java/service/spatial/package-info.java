@@ -0,0 +1,9 @@
+/**
+ * Pacote service.spatial contém os serviços de consulta espacial sobre os cadastros.
+ * Inclui o índice espacial partilhado, a localização de pontos e as restantes
+ * operações que dependem de pré-filtragem por envelope e geometrias preparadas.
+ * 
+ * @author Lei-G
+ * @version 1.0
+ */
+package service.spatial;
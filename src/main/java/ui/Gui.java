@@ -1,6 +1,8 @@
 package ui;
 import model.Cadastro;
 import model.Location;
+import service.BuildMonitor;
+import service.DatasetContext;
 import service.OwnerGraph;
 import service.PropertyGraph;
 import core.Constants;
@@ -9,8 +11,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Classe que implementa a interface gráfica do sistema de gestão de propriedades.
@@ -60,6 +64,9 @@ public class Gui extends JFrame {
     /** List of all cadastral properties */
     private List<Cadastro> cadastros;
 
+    /** Grafos e índices partilhados do conjunto de dados importado */
+    private DatasetContext dataset;
+
     /** Flag indicating if loading operation was cancelled */
     private boolean loadingCancelled = false;
 
@@ -264,6 +271,9 @@ public class Gui extends JFrame {
                 throw new IllegalStateException(Constants.EMPTY_FILE_ERROR);
             }
 
+            // Novo conjunto de dados: os grafos da importação anterior deixam de ser usados
+            dataset = new DatasetContext(cadastros, Path.of(path));
+
             // Habilitar os botões de visualização do grafo e cálculo de média
             viewPropertyGraphButton.setEnabled(true);
             viewOwnerGraphButton.setEnabled(true);
@@ -561,22 +571,26 @@ public class Gui extends JFrame {
             // Criar a janela de carregamento
             JFrame loadingFrame = new JFrame(Constants.PROPERTY_GRAPH_WINDOW_TITLE);
             loadingFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-            loadingFrame.setSize(300, 100);
+            loadingFrame.setSize(300, 120);
             loadingFrame.setLocationRelativeTo(this);
             
             JPanel loadingPanel = new JPanel(new BorderLayout());
             loadingPanel.setBackground(Color.decode(Constants.BACKGROUND_COLOR));
-            JLabel loadingLabel = new JLabel("A carregar...", SwingConstants.CENTER);
+            JLabel loadingLabel = new JLabel(Constants.LOADING_TEXT, SwingConstants.CENTER);
             loadingLabel.setFont(loadingLabel.getFont().deriveFont(Font.BOLD));
             loadingPanel.add(loadingLabel, BorderLayout.CENTER);
+            JProgressBar progressBar = new JProgressBar(0, 100);
+            progressBar.setStringPainted(true);
+            loadingPanel.add(progressBar, BorderLayout.SOUTH);
             loadingFrame.add(loadingPanel);
             loadingFrame.setVisible(true);
 
             // Criar o grafo em uma thread separada
+            BuildMonitor monitor = new BuildMonitor(progressListener(loadingLabel, progressBar));
             propertyGraphWorker = new SwingWorker<PropertyGraph, Void>() {
                 @Override
                 protected PropertyGraph doInBackground() {
-                    return new PropertyGraph(cadastros);
+                    return dataset.getPropertyGraph(monitor);
                 }
 
                 @Override
@@ -612,6 +626,8 @@ public class Gui extends JFrame {
                 @Override
                 public void windowClosing(java.awt.event.WindowEvent e) {
                     loadingCancelled = true;
+                    // Pára a construção, incluindo as tarefas paralelas que a interrupção não alcança
+                    monitor.cancel();
                     if (propertyGraphWorker != null && !propertyGraphWorker.isDone()) {
                         propertyGraphWorker.cancel(true);
                     }
@@ -619,6 +635,7 @@ public class Gui extends JFrame {
                 @Override
                 public void windowClosed(java.awt.event.WindowEvent e) {
                     loadingCancelled = true;
+                    monitor.cancel();
                     if (propertyGraphWorker != null && !propertyGraphWorker.isDone()) {
                         propertyGraphWorker.cancel(true);
                     }
@@ -650,22 +667,26 @@ public class Gui extends JFrame {
             // Criar a janela de carregamento
             JFrame loadingFrame = new JFrame(Constants.OWNER_GRAPH_WINDOW_TITLE);
             loadingFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-            loadingFrame.setSize(300, 100);
+            loadingFrame.setSize(300, 120);
             loadingFrame.setLocationRelativeTo(this);
             
             JPanel loadingPanel = new JPanel(new BorderLayout());
             loadingPanel.setBackground(Color.decode(Constants.BACKGROUND_COLOR));
-            JLabel loadingLabel = new JLabel("A carregar...", SwingConstants.CENTER);
+            JLabel loadingLabel = new JLabel(Constants.LOADING_TEXT, SwingConstants.CENTER);
             loadingLabel.setFont(loadingLabel.getFont().deriveFont(Font.BOLD));
             loadingPanel.add(loadingLabel, BorderLayout.CENTER);
+            JProgressBar progressBar = new JProgressBar(0, 100);
+            progressBar.setStringPainted(true);
+            loadingPanel.add(progressBar, BorderLayout.SOUTH);
             loadingFrame.add(loadingPanel);
             loadingFrame.setVisible(true);
 
             // Criar o grafo em uma thread separada
+            BuildMonitor monitor = new BuildMonitor(progressListener(loadingLabel, progressBar));
             ownerGraphWorker = new SwingWorker<OwnerGraph, Void>() {
                 @Override
                 protected OwnerGraph doInBackground() {
-                    return new OwnerGraph(cadastros);
+                    return dataset.getOwnerGraph(monitor);
                 }
 
                 @Override
@@ -701,6 +722,8 @@ public class Gui extends JFrame {
                 @Override
                 public void windowClosing(java.awt.event.WindowEvent e) {
                     ownerLoadingCancelled = true;
+                    // Pára a construção, incluindo as tarefas paralelas que a interrupção não alcança
+                    monitor.cancel();
                     if (ownerGraphWorker != null && !ownerGraphWorker.isDone()) {
                         ownerGraphWorker.cancel(true);
                     }
@@ -708,6 +731,7 @@ public class Gui extends JFrame {
                 @Override
                 public void windowClosed(java.awt.event.WindowEvent e) {
                     ownerLoadingCancelled = true;
+                    monitor.cancel();
                     if (ownerGraphWorker != null && !ownerGraphWorker.isDone()) {
                         ownerGraphWorker.cancel(true);
                     }
@@ -723,6 +747,24 @@ public class Gui extends JFrame {
         }
     }
 
+    /**
+     * Cria um observador que mostra o progresso de uma construção de grafo numa barra
+     * e numa etiqueta, atualizadas na thread da interface.
+     * 
+     * @param label Etiqueta com o número de propriedades avaliadas e o tempo restante
+     * @param progressBar Barra de progresso, de 0 a 100
+     * @return Observador do progresso
+     */
+    private static BuildMonitor.ProgressListener progressListener(JLabel label, JProgressBar progressBar) {
+        return (processed, total, remainingMillis) -> SwingUtilities.invokeLater(() -> {
+            progressBar.setValue(total == 0 ? 100 : (int) (processed * 100 / total));
+            if (remainingMillis >= 0) {
+                label.setText(String.format(Constants.BUILD_PROGRESS_FORMAT, processed, total,
+                        (remainingMillis + 999) / 1000));
+            }
+        });
+    }
+
     /**
      * Exibe o painel para cálculo da área média de propriedades.
      * 
@@ -764,20 +806,34 @@ public class Gui extends JFrame {
             JButton calculateButton = new JButton(Constants.AVERAGE_PROPERTY_AREA_BUTTON_TEXT);
             styleButton(calculateButton);
             calculateButton.addActionListener(event -> {
-                try {
-                    String district = districtField.getText().isEmpty() ? null : districtField.getText();
-                    String municipality = municipalityField.getText().isEmpty() ? null : municipalityField.getText();
-                    String county = countyField.getText().isEmpty() ? null : countyField.getText();
-
-                    PropertyGraph graph = new PropertyGraph(cadastros);
-                    double averageArea = graph.calculateAverageArea(district, municipality, county);
-                    resultLabel.setText(String.format(Constants.AVERAGE_AREA_RESULT_FORMAT, averageArea));
-                } catch (IllegalArgumentException ex) {
-                    JOptionPane.showMessageDialog(averageFrame,
-                            ex.getMessage(),
-                            Constants.ERROR_TITLE,
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                String district = districtField.getText().isEmpty() ? null : districtField.getText();
+                String municipality = municipalityField.getText().isEmpty() ? null : municipalityField.getText();
+                String county = countyField.getText().isEmpty() ? null : countyField.getText();
+
+                // O grafo pode ainda ter de ser construído: calcular fora da thread da interface
+                calculateButton.setEnabled(false);
+                new SwingWorker<Double, Void>() {
+                    @Override
+                    protected Double doInBackground() {
+                        PropertyGraph graph = dataset.getPropertyGraph();
+                        return graph.calculateAverageArea(district, municipality, county);
+                    }
+
+                    @Override
+                    protected void done() {
+                        calculateButton.setEnabled(true);
+                        try {
+                            resultLabel.setText(String.format(Constants.AVERAGE_AREA_RESULT_FORMAT, get()));
+                        } catch (ExecutionException ex) {
+                            JOptionPane.showMessageDialog(averageFrame,
+                                    ex.getCause().getMessage(),
+                                    Constants.ERROR_TITLE,
+                                    JOptionPane.ERROR_MESSAGE);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }.execute();
             });
 
             panel.add(calculateButton);
@@ -834,20 +890,34 @@ public class Gui extends JFrame {
             JButton calculateButton = new JButton(Constants.AVERAGE_OWNER_AREA_BUTTON_TEXT);
             styleButton(calculateButton);
             calculateButton.addActionListener(event -> {
-                try {
-                    String district = districtField.getText().isEmpty() ? null : districtField.getText();
-                    String municipality = municipalityField.getText().isEmpty() ? null : municipalityField.getText();
-                    String county = countyField.getText().isEmpty() ? null : countyField.getText();
-
-                    OwnerGraph graph = new OwnerGraph(cadastros);
-                    double averageArea = graph.calculateAverageArea(district, municipality, county);
-                    resultLabel.setText(String.format(Constants.AVERAGE_AREA_RESULT_FORMAT, averageArea));
-                } catch (IllegalArgumentException ex) {
-                    JOptionPane.showMessageDialog(averageFrame,
-                            ex.getMessage(),
-                            Constants.ERROR_TITLE,
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                String district = districtField.getText().isEmpty() ? null : districtField.getText();
+                String municipality = municipalityField.getText().isEmpty() ? null : municipalityField.getText();
+                String county = countyField.getText().isEmpty() ? null : countyField.getText();
+
+                // O grafo pode ainda ter de ser construído: calcular fora da thread da interface
+                calculateButton.setEnabled(false);
+                new SwingWorker<Double, Void>() {
+                    @Override
+                    protected Double doInBackground() {
+                        OwnerGraph graph = dataset.getOwnerGraph();
+                        return graph.calculateAverageArea(district, municipality, county);
+                    }
+
+                    @Override
+                    protected void done() {
+                        calculateButton.setEnabled(true);
+                        try {
+                            resultLabel.setText(String.format(Constants.AVERAGE_AREA_RESULT_FORMAT, get()));
+                        } catch (ExecutionException ex) {
+                            JOptionPane.showMessageDialog(averageFrame,
+                                    ex.getCause().getMessage(),
+                                    Constants.ERROR_TITLE,
+                                    JOptionPane.ERROR_MESSAGE);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }.execute();
             });
 
             panel.add(calculateButton);
@@ -899,7 +969,7 @@ public class Gui extends JFrame {
             exchangeWorker = new SwingWorker<PropertyExchangePanel, Void>() {
                 @Override
                 protected PropertyExchangePanel doInBackground() {
-                    return new PropertyExchangePanel(cadastros, Gui.this);
+                    return new PropertyExchangePanel(dataset, Gui.this);
                 }
 
                 @Override
@@ -1,8 +1,7 @@
 package ui;
 
 import model.Cadastro;
-import service.OwnerGraph;
-import service.PropertyGraph;
+import service.DatasetContext;
 import service.exchange.PropertyExchange;
 import service.exchange.PropertyExchangeService;
 import core.Constants;
@@ -48,17 +47,15 @@ public class PropertyExchangePanel extends JPanel {
     /**
      * Constrói o painel de sugestões de troca.
      * 
-     * @param cadastros Lista de cadastros
+     * @param dataset Contexto do conjunto de dados, cujos grafos são reutilizados
      * @param parentFrame Janela pai para posicionamento da tela de carregamento
      */
-    public PropertyExchangePanel(List<Cadastro> cadastros, JFrame parentFrame) {
-        this.cadastros = cadastros;
+    public PropertyExchangePanel(DatasetContext dataset, JFrame parentFrame) {
+        this.cadastros = dataset.getCadastros();
         this.parentFrame = parentFrame;
         
-        // Criar os grafos
-        OwnerGraph ownerGraph = new OwnerGraph(cadastros);
-        PropertyGraph propertyGraph = new PropertyGraph(cadastros);
-        exchangeService = new PropertyExchangeService(ownerGraph, propertyGraph, cadastros);
+        // Os grafos só são construídos na primeira vez que algum painel os pede
+        exchangeService = dataset.getExchangeService();
 
         // Inicializar o painel
         initializePanel();
@@ -0,0 +1,83 @@
+package model;
+
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import core.Constants;
+
+/**
+ * Classe de teste para o registo Zone.
+ * 
+ * Complexidade Ciclomática por método:
+ * - construtor: 4 (3 condições if + 1 retorno)
+ * - fromRecord: 3 (1 condição if + 1 try-catch + 1 retorno)
+ * - getZones: 5 (2 condições if + 1 ciclo + 1 try-catch + 1 retorno)
+ */
+class ZoneTest {
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 4
+     */
+    @Test
+    void constructor1() throws ParseException {
+        Zone zone = new Zone("Z1", new WKTReader().read("POLYGON ((0 0, 0 1, 1 1, 1 0, 0 0))"));
+        assertEquals("Z1", zone.id(), "Zona deve manter o identificador");
+    }
+
+    @Test
+    void constructor2() throws ParseException {
+        var shape = new WKTReader().read("POLYGON ((0 0, 0 1, 1 1, 1 0, 0 0))");
+        assertThrows(IllegalArgumentException.class, () -> new Zone(" ", shape),
+                "Deve lançar IllegalArgumentException para identificador vazio");
+    }
+
+    @Test
+    void constructor3() {
+        assertThrows(IllegalArgumentException.class, () -> new Zone("Z1", null),
+                "Deve lançar IllegalArgumentException para geometria nula");
+    }
+
+    @Test
+    void constructor4() throws ParseException {
+        var line = new WKTReader().read("LINESTRING (0 0, 1 1)");
+        assertThrows(IllegalArgumentException.class, () -> new Zone("Z1", line),
+                "Deve lançar IllegalArgumentException para geometria não poligonal");
+    }
+
+    /**
+     * Testa fromRecord - Complexidade Ciclomática: 3
+     */
+    @Test
+    void fromRecord1() {
+        CSVRecord mockRecord = mock(CSVRecord.class);
+        when(mockRecord.get(Constants.ZONE_ID_INDEX)).thenReturn("Z1");
+        when(mockRecord.get(Constants.ZONE_SHAPE_INDEX)).thenReturn("MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))");
+        assertEquals("Z1", Zone.fromRecord(mockRecord).id(), "Deve criar a zona a partir do registo");
+    }
+
+    @Test
+    void fromRecord2() {
+        CSVRecord mockRecord = mock(CSVRecord.class);
+        when(mockRecord.get(Constants.ZONE_ID_INDEX)).thenReturn("Z1");
+        when(mockRecord.get(Constants.ZONE_SHAPE_INDEX)).thenReturn("INVALID WKT");
+        assertThrows(IllegalArgumentException.class, () -> Zone.fromRecord(mockRecord),
+                "Deve lançar IllegalArgumentException para WKT inválido");
+    }
+
+    @Test
+    void fromRecord3() {
+        assertThrows(IllegalArgumentException.class, () -> Zone.fromRecord(null),
+                "Deve lançar IllegalArgumentException para registo nulo");
+    }
+
+    /**
+     * Testa getZones - Complexidade Ciclomática: 5
+     */
+    @Test
+    void getZones() {
+        assertThrows(Exception.class, () -> Zone.getZones("nonexistent.csv"),
+                "Deve lançar exceção para ficheiro inexistente");
+    }
+}
@@ -0,0 +1,76 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para AdjacencyBuilder
+ *
+ * Complexidade Ciclomática por método:
+ * - build: 4 (3 condições if + 1 retorno)
+ * - collect: 3 (1 ciclo com 1 condição if + 1 retorno)
+ * - BuildTask.compute: 2 (1 condição if + 1 retorno)
+ */
+class AdjacencyBuilderTest {
+    /**
+     * Testa build com índice nulo - Complexidade Ciclomática: 3
+     */
+    @Test
+    void build1() {
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyBuilder.build(null, false, (index, i, edges) -> { }),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa que o modo paralelo produz exatamente as mesmas arestas, pela mesma ordem
+     */
+    @Test
+    void build2() throws ParseException {
+        // Grelha com mais propriedades do que o tamanho de cada partição
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(24));
+        AdjacencyEngine engine = new IndexedAdjacencyEngine();
+        EdgeList sequential = engine.build(index, false);
+        EdgeList parallel = engine.build(index, true);
+        assertEquals(sequential, parallel, "Modo paralelo deve produzir o mesmo resultado");
+        // Numa grelha n x n com vizinhança de 8, há 2n(n-1) lados e 2(n-1)^2 cantos
+        assertEquals(2 * 24 * 23 + 2 * 23 * 23, sequential.size());
+    }
+
+    /**
+     * Testa que as arestas estão ordenadas e guardadas uma única vez
+     */
+    @Test
+    void build3() throws ParseException {
+        EdgeList edges = new IndexedAdjacencyEngine().build(new CadastroIndex(PropertyGraphTest.createGrid(5)), true);
+        for (int k = 0; k < edges.size(); k++) {
+            assertTrue(edges.getSource(k) < edges.getTarget(k), "Origem deve ser menor que o destino");
+            if (k > 0) {
+                assertTrue(edges.getSource(k - 1) < edges.getSource(k)
+                        || (edges.getSource(k - 1) == edges.getSource(k) && edges.getTarget(k - 1) < edges.getTarget(k)),
+                        "Arestas devem estar ordenadas");
+            }
+        }
+    }
+
+    /**
+     * Testa que os grafos construídos em paralelo são iguais aos sequenciais
+     */
+    @Test
+    void parallelGraphs() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(6);
+        PropertyGraph sequential = new PropertyGraph(grid);
+        PropertyGraph parallel = new PropertyGraph(grid, true);
+        for (Cadastro cadastro : grid) {
+            assertEquals(sequential.getAdjacentProperties(cadastro), parallel.getAdjacentProperties(cadastro));
+        }
+
+        OwnerGraph sequentialOwners = new OwnerGraph(grid);
+        OwnerGraph parallelOwners = new OwnerGraph(grid, true);
+        assertEquals(sequentialOwners.getNumberOfOwners(), parallelOwners.getNumberOfOwners());
+        assertEquals(sequentialOwners.getNumberOfAdjacenciesBetweenOwners(), parallelOwners.getNumberOfAdjacenciesBetweenOwners());
+    }
+}
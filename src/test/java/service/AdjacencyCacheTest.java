@@ -0,0 +1,174 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Classe de teste para AdjacencyCache e CachedAdjacencyEngine
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 retorno)
+ * - fingerprint (propriedades): 4 (2 condições if + 1 ciclo + 1 retorno)
+ * - fingerprint (ficheiro): 3 (2 condições if + 1 retorno)
+ * - load: 6 (4 condições if + 1 bloco catch + 1 retorno)
+ * - store: 4 (1 condição if + 2 ciclos + 1 retorno)
+ * - CachedAdjacencyEngine.build: 5 (3 condições if + 1 bloco catch + 1 retorno)
+ * - CachedAdjacencyEngine.lookup: 2 (1 condição if + 1 retorno)
+ */
+class AdjacencyCacheTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Testa o construtor com diretório nulo - Complexidade Ciclomática: 2
+     */
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new AdjacencyCache(null));
+    }
+
+    /**
+     * Testa fingerprint das propriedades - Complexidade Ciclomática: 4
+     */
+    @Test
+    void fingerprint1() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(3);
+        String key = AdjacencyCache.fingerprint(grid, "engine");
+        assertEquals(key, AdjacencyCache.fingerprint(PropertyGraphTest.createGrid(3), "engine"),
+                "Geometrias iguais devem ter a mesma impressão digital");
+
+        List<Cadastro> changed = new ArrayList<>(grid);
+        changed.set(4, PropertyGraphTest.createCadastro(5, "MULTIPOLYGON (((1 1, 1 2, 2 2, 2.5 1, 1 1)))", 1));
+        assertNotEquals(key, AdjacencyCache.fingerprint(changed, "engine"), "Alterar uma geometria deve mudar a chave");
+
+        List<Cadastro> reordered = new ArrayList<>(grid);
+        Collections.swap(reordered, 0, 1);
+        assertNotEquals(key, AdjacencyCache.fingerprint(reordered, "engine"), "Alterar a ordem deve mudar a chave");
+
+        assertNotEquals(key, AdjacencyCache.fingerprint(grid, "other"), "Outro motor deve mudar a chave");
+        assertNotEquals(AdjacencyCache.fingerprint(grid, new SharedEdgeAdjacencyEngine().getCacheIdentity()),
+                AdjacencyCache.fingerprint(grid, new SharedEdgeAdjacencyEngine(true).getCacheIdentity()),
+                "O modo noded deve ter uma chave própria");
+
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyCache.fingerprint((List<Cadastro>) null, "engine"));
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyCache.fingerprint(grid, null));
+    }
+
+    /**
+     * Testa fingerprint de um ficheiro importado - Complexidade Ciclomática: 3
+     */
+    @Test
+    void fingerprint2() throws IOException {
+        Path source = Files.writeString(directory.resolve("cadastros.csv"), "1;2;3\n");
+        String key = AdjacencyCache.fingerprint(source, "engine");
+        assertEquals(key, AdjacencyCache.fingerprint(source, "engine"), "O mesmo ficheiro deve ter a mesma chave");
+        assertNotEquals(key, AdjacencyCache.fingerprint(source, "other"), "Outro motor deve mudar a chave");
+
+        Files.writeString(source, "1;2;3;4\n");
+        assertNotEquals(key, AdjacencyCache.fingerprint(source, "engine"), "Alterar o ficheiro deve mudar a chave");
+
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyCache.fingerprint((Path) null, "engine"));
+        assertThrows(IOException.class, () -> AdjacencyCache.fingerprint(directory.resolve("missing.csv"), "engine"));
+    }
+
+    /**
+     * Testa store seguido de load - Complexidade Ciclomática: 6
+     */
+    @Test
+    void load1() throws ParseException, IOException {
+        AdjacencyCache cache = new AdjacencyCache(directory.resolve("cache"));
+        EdgeList edges = new IndexedAdjacencyEngine().build(new CadastroIndex(PropertyGraphTest.createGrid(5)), false);
+
+        assertNull(cache.load("abc", 25), "Chave inexistente deve devolver null");
+        cache.store("abc", 25, edges);
+        assertEquals(edges, cache.load("abc", 25));
+        assertNull(cache.load("abc", 24), "Número de vértices diferente deve devolver null");
+
+        cache.invalidate("abc");
+        assertNull(cache.load("abc", 25));
+    }
+
+    /**
+     * Testa load com ficheiros corrompidos
+     */
+    @Test
+    void load2() throws IOException {
+        AdjacencyCache cache = new AdjacencyCache(directory);
+        Files.write(directory.resolve("short.adj"), new byte[] {1, 2, 3});
+        assertNull(cache.load("short", 0));
+
+        EdgeList.Builder builder = new EdgeList.Builder();
+        builder.add(0, 1);
+        cache.store("truncated", 2, builder.build());
+        Path file = directory.resolve("truncated.adj");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertNull(cache.load("truncated", 2));
+    }
+
+    /**
+     * Testa que o motor com cache só calcula a lista uma vez - Complexidade Ciclomática: 5
+     */
+    @Test
+    void cachedEngine() throws ParseException {
+        int[] builds = new int[1];
+        AdjacencyEngine counting = (index, parallel) -> {
+            builds[0]++;
+            return new IndexedAdjacencyEngine().build(index, parallel);
+        };
+        CachedAdjacencyEngine engine = new CachedAdjacencyEngine(counting, new AdjacencyCache(directory));
+        List<Cadastro> grid = PropertyGraphTest.createGrid(4);
+
+        PropertyGraph first = new PropertyGraph(grid, engine, false);
+        PropertyGraph second = new PropertyGraph(PropertyGraphTest.createGrid(4), engine, true);
+        assertEquals(1, builds[0], "A segunda construção deve usar a cache");
+        assertEquals(first.getNumberOfAdjacenciesBetweenProperties(), second.getNumberOfAdjacenciesBetweenProperties());
+
+        assertThrows(IllegalArgumentException.class, () -> new CachedAdjacencyEngine(null, new AdjacencyCache(directory)));
+        assertThrows(IllegalArgumentException.class, () -> new CachedAdjacencyEngine(counting, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachedAdjacencyEngine(counting, new AdjacencyCache(directory), null));
+    }
+
+    /**
+     * Testa que a chave do ficheiro importado carrega a lista sem construir o índice espacial
+     * - Complexidade Ciclomática: 2
+     */
+    @Test
+    void cachedEngineWithSource() throws ParseException, IOException {
+        int[] builds = new int[1];
+        AdjacencyEngine counting = (index, parallel) -> {
+            builds[0]++;
+            return new IndexedAdjacencyEngine().build(index, parallel);
+        };
+        Path source = Files.writeString(directory.resolve("cadastros.csv"), "grelha 4x4\n");
+        AdjacencyCache cache = new AdjacencyCache(directory.resolve("cache"));
+
+        PropertyGraph first = new PropertyGraph(PropertyGraphTest.createGrid(4),
+                new CachedAdjacencyEngine(counting, cache, source), false);
+        PropertyGraph second = new PropertyGraph(PropertyGraphTest.createGrid(4),
+                new CachedAdjacencyEngine(counting, cache, source), false);
+        assertEquals(1, builds[0], "A segunda importação do mesmo ficheiro deve usar a cache");
+        assertNull(second.builtSpatialIndex(), "Uma lista encontrada na cache não deve construir o índice");
+        assertEquals(first.getNumberOfAdjacenciesBetweenProperties(), second.getNumberOfAdjacenciesBetweenProperties());
+    }
+
+    /**
+     * Testa que uma cache que não pode ser escrita nem lida não impede a construção
+     */
+    @Test
+    void cachedEngineFailure() throws ParseException, IOException {
+        Path blocked = Files.writeString(directory.resolve("blocked"), "não é um diretório");
+        CachedAdjacencyEngine engine = new CachedAdjacencyEngine(new IndexedAdjacencyEngine(), new AdjacencyCache(blocked));
+        assertEquals(42, new PropertyGraph(PropertyGraphTest.createGrid(4), engine, false)
+                .getNumberOfAdjacenciesBetweenProperties());
+    }
+}
@@ -0,0 +1,74 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para AdjacencyEngineSelector
+ *
+ * Complexidade Ciclomática por método:
+ * - select: 5 (4 condições if + 1 retorno)
+ * - averageVertexCount: 3 (1 ciclo + 1 condição if + 1 retorno)
+ */
+class AdjacencyEngineSelectorTest {
+    /**
+     * Testa select com lista nula - Complexidade Ciclomática: 5
+     */
+    @Test
+    void select1() {
+        assertThrows(IllegalArgumentException.class, () -> AdjacencyEngineSelector.select(null),
+                "Deve lançar IllegalArgumentException para lista nula");
+    }
+
+    /**
+     * Testa select com um conjunto pequeno
+     */
+    @Test
+    void select2() throws ParseException {
+        assertInstanceOf(BruteForceAdjacencyEngine.class, AdjacencyEngineSelector.select(PropertyGraphTest.createGrid(4)));
+    }
+
+    /**
+     * Testa select com geometrias simples
+     */
+    @Test
+    void select3() throws ParseException {
+        assertInstanceOf(IndexedAdjacencyEngine.class, AdjacencyEngineSelector.select(PropertyGraphTest.createGrid(8)));
+    }
+
+    /**
+     * Testa select com geometrias complexas
+     */
+    @Test
+    void select4() throws ParseException {
+        List<Cadastro> cadastros = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            cadastros.add(PropertyGraphTest.createCadastro(i + 1, circle(i * 3, 0), 1));
+        }
+        assertInstanceOf(PreparedAdjacencyEngine.class, AdjacencyEngineSelector.select(cadastros));
+    }
+
+    /**
+     * Testa averageVertexCount - Complexidade Ciclomática: 3
+     */
+    @Test
+    void averageVertexCount1() throws ParseException {
+        assertEquals(0, AdjacencyEngineSelector.averageVertexCount(List.of()), 1e-9);
+        assertEquals(5, AdjacencyEngineSelector.averageVertexCount(PropertyGraphTest.createGrid(3)), 1e-9);
+    }
+
+    private static String circle(double cx, double cy) {
+        StringBuilder sb = new StringBuilder("MULTIPOLYGON (((");
+        for (int k = 0; k <= 16; k++) {
+            double angle = 2 * Math.PI * (k % 16) / 16;
+            if (k > 0) {
+                sb.append(", ");
+            }
+            sb.append(cx + Math.cos(angle)).append(' ').append(cy + Math.sin(angle));
+        }
+        return sb.append(")))").toString();
+    }
+}
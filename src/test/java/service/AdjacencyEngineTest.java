@@ -0,0 +1,81 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste que verifica que todos os motores de adjacências produzem as mesmas arestas
+ */
+class AdjacencyEngineTest {
+    private static final List<AdjacencyEngine> ENGINES = List.of(
+            new BruteForceAdjacencyEngine(),
+            new IndexedAdjacencyEngine(),
+            new PreparedAdjacencyEngine(),
+            new SharedEdgeAdjacencyEngine());
+
+    /**
+     * Testa os motores numa grelha, nos modos sequencial e paralelo
+     */
+    @Test
+    void sameEdges1() throws ParseException {
+        assertSameEdges(new CadastroIndex(PropertyGraphTest.createGrid(20)));
+    }
+
+    /**
+     * Testa os motores com contenção, sobreposição, toque num ponto e propriedades isoladas
+     */
+    @Test
+    void sameEdges2() throws ParseException {
+        List<Cadastro> cadastros = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 0 4, 4 4, 4 0, 1 0, 0 0)))", 1),
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 2),
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((3 3, 3 5, 5 5, 5 3, 3 3)))", 3),
+                PropertyGraphTest.createCadastro(4, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 1),
+                PropertyGraphTest.createCadastro(5, "MULTIPOLYGON (((4 0, 4 2, 6 2, 6 0, 4 0)))", 2),
+                PropertyGraphTest.createCadastro(6, "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 3));
+        EdgeList edges = assertSameEdges(new CadastroIndex(cadastros));
+        assertEquals(3, edges.size(), "Sobreposição, toque num ponto e lado sem vértices coincidentes");
+    }
+
+    /**
+     * Testa que os grafos construídos com qualquer motor são iguais
+     */
+    @Test
+    void sameGraphs() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(6);
+        PropertyGraph reference = new PropertyGraph(grid);
+        OwnerGraph referenceOwners = new OwnerGraph(grid);
+        for (AdjacencyEngine engine : ENGINES) {
+            PropertyGraph graph = new PropertyGraph(grid, engine, true);
+            for (Cadastro cadastro : grid) {
+                assertEquals(reference.getAdjacentProperties(cadastro), graph.getAdjacentProperties(cadastro));
+            }
+            OwnerGraph owners = new OwnerGraph(grid, engine, false);
+            assertEquals(referenceOwners.getNumberOfAdjacenciesBetweenOwners(), owners.getNumberOfAdjacenciesBetweenOwners());
+        }
+    }
+
+    /**
+     * Testa os construtores dos grafos com motor nulo
+     */
+    @Test
+    void nullEngine() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(2);
+        assertThrows(IllegalArgumentException.class, () -> new PropertyGraph(grid, null, false));
+        assertThrows(IllegalArgumentException.class, () -> new OwnerGraph(grid, null, false));
+    }
+
+    private static EdgeList assertSameEdges(CadastroIndex index) {
+        EdgeList reference = ENGINES.get(0).build(index, false);
+        for (AdjacencyEngine engine : ENGINES) {
+            String name = engine.getClass().getSimpleName();
+            assertEquals(reference, engine.build(index, false), name + " sequencial");
+            assertEquals(reference, engine.build(index, true), name + " paralelo");
+        }
+        return reference;
+    }
+}
@@ -0,0 +1,114 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Classe de teste para BuildMonitor e para o cancelamento das construções de grafos
+ *
+ * Complexidade Ciclomática por método:
+ * - checkCancelled: 2 (1 condição if)
+ * - start: 1
+ * - advance: 3 (1 condição if com 2 alternativas)
+ * - getRemainingMillis: 2 (1 condição if + 1 retorno)
+ * - report: 2 (1 condição if)
+ * - AdjacencyEngine.build (com monitor): 2 (1 condição if + 1 retorno)
+ */
+class BuildMonitorTest {
+    /**
+     * Testa que o progresso chega ao total em todos os motores e nos dois modos - Complexidade Ciclomática: 3
+     */
+    @Test
+    void progress() throws ParseException {
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(20));
+        for (AdjacencyEngine engine : List.of(new BruteForceAdjacencyEngine(), new IndexedAdjacencyEngine(),
+                new PreparedAdjacencyEngine(), new SharedEdgeAdjacencyEngine())) {
+            for (boolean parallel : new boolean[]{false, true}) {
+                List<Long> reports = Collections.synchronizedList(new ArrayList<>());
+                BuildMonitor monitor = new BuildMonitor((processed, total, remaining) -> {
+                    assertEquals(400, total);
+                    reports.add(processed);
+                });
+                EdgeList edges = engine.build(index, parallel, monitor);
+                assertEquals(engine.build(index, parallel), edges, "O monitor não deve alterar o resultado");
+                assertEquals(400, monitor.getProcessed());
+                assertTrue(reports.contains(400L), "A conclusão deve ser comunicada");
+                assertTrue(reports.size() <= 2 + core.Constants.PROGRESS_REPORT_STEPS);
+                assertTrue(monitor.getRemainingMillis() >= 0);
+            }
+        }
+    }
+
+    /**
+     * Testa o cancelamento a meio da construção, sequencial e paralela - Complexidade Ciclomática: 3
+     */
+    @Test
+    void cancel() throws ParseException {
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(20));
+        for (boolean parallel : new boolean[]{false, true}) {
+            BuildMonitor[] holder = new BuildMonitor[1];
+            holder[0] = new BuildMonitor((processed, total, remaining) -> {
+                if (processed > 0) {
+                    holder[0].cancel();
+                }
+            });
+            assertThrows(CancellationException.class,
+                    () -> new IndexedAdjacencyEngine().build(index, parallel, holder[0]));
+            assertTrue(holder[0].isCancelled());
+            assertTrue(holder[0].getProcessed() < 400, "A construção deve parar antes do fim");
+        }
+    }
+
+    /**
+     * Testa que o cancelamento é verificado a cada propriedade e não apenas a cada lote de progresso
+     */
+    @Test
+    void cancelWithinBatch() throws ParseException {
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(10));
+        BuildMonitor monitor = new BuildMonitor();
+        int[] collected = new int[1];
+        assertThrows(CancellationException.class, () -> AdjacencyBuilder.build(index, false, monitor,
+                (idx, i, edges) -> {
+                    collected[0]++;
+                    monitor.cancel();
+                }));
+        assertEquals(1, collected[0], "Nenhuma propriedade deve ser avaliada depois do cancelamento");
+    }
+
+    /**
+     * Testa que um monitor já cancelado impede a construção em todos os pontos de entrada - Complexidade Ciclomática: 2
+     */
+    @Test
+    void cancelled() throws ParseException {
+        List<model.Cadastro> cadastros = PropertyGraphTest.createGrid(4);
+        BuildMonitor monitor = new BuildMonitor();
+        monitor.cancel();
+        assertThrows(CancellationException.class,
+                () -> new PropertyGraph(cadastros, new SharedEdgeAdjacencyEngine(), false, monitor));
+        assertThrows(CancellationException.class,
+                () -> new OwnerGraph(cadastros, new IndexedAdjacencyEngine(), true, monitor));
+        // Motor sem suporte próprio: a implementação por omissão verifica antes de começar
+        AdjacencyEngine plain = (index, parallel) -> new IndexedAdjacencyEngine().build(index, parallel);
+        assertThrows(CancellationException.class, () -> plain.build(new CadastroIndex(cadastros), false, monitor));
+        assertTrue(monitor.nested().isCancelled(), "As subtarefas partilham o cancelamento");
+        assertThrows(IllegalArgumentException.class, () -> plain.build(new CadastroIndex(cadastros), false, null));
+    }
+
+    /**
+     * Testa que uma construção cancelada é repetida no pedido seguinte do contexto - Complexidade Ciclomática: 2
+     */
+    @Test
+    void datasetContext() throws ParseException {
+        DatasetContext context = new DatasetContext(PropertyGraphTest.createGrid(4), new IndexedAdjacencyEngine());
+        BuildMonitor monitor = new BuildMonitor();
+        monitor.cancel();
+        assertThrows(CancellationException.class, () -> context.getOwnerGraph(monitor));
+        assertFalse(context.isPropertyGraphBuilt());
+        assertEquals(42, context.getPropertyGraph().getNumberOfAdjacenciesBetweenProperties());
+        assertThrows(IllegalArgumentException.class, () -> context.getPropertyGraph(null));
+    }
+}
@@ -0,0 +1,43 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.stream.IntStream;
+
+/**
+ * Classe de teste para ConcurrentUnionFind
+ *
+ * Complexidade Ciclomática por método:
+ * - find: 3 (1 ciclo + 1 condição if + 1 retorno)
+ * - union: 3 (1 ciclo + 2 condições if)
+ */
+class ConcurrentUnionFindTest {
+    /**
+     * Testa uniões sequenciais - Complexidade Ciclomática: 3
+     */
+    @Test
+    void union() {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(6);
+        sets.union(4, 5);
+        sets.union(5, 2);
+        sets.union(0, 1);
+        assertEquals(2, sets.find(4), "A raiz deve ser a menor posição do conjunto");
+        assertEquals(2, sets.find(5));
+        assertEquals(0, sets.find(1));
+        assertEquals(3, sets.find(3));
+        assertEquals(6, sets.size());
+    }
+
+    /**
+     * Testa uniões concorrentes numa cadeia longa - Complexidade Ciclomática: 3
+     */
+    @Test
+    void concurrentUnion() {
+        int n = 100_000;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        IntStream.range(1, n).parallel().forEach(v -> sets.union(v - 1, v));
+        for (int v = 0; v < n; v++) {
+            assertEquals(0, sets.find(v));
+        }
+    }
+}
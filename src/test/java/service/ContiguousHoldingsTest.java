@@ -0,0 +1,81 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para ContiguousHoldings
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 9 (1 condição if + 1 condição if/else + 5 ciclos + 2 condições if)
+ * - getComponentCount: 2 (1 condição + 1 retorno)
+ * - getOwnerArea: 2 (1 condição + 1 retorno)
+ */
+class ContiguousHoldingsTest {
+    /**
+     * Testa uma cadeia de propriedades do mesmo proprietário, fora de ordem - Complexidade Ciclomática: 9
+     */
+    @Test
+    void chain() throws ParseException {
+        Cadastro a = PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1);
+        Cadastro b = PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 1);
+        Cadastro c = PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((2 0, 2 1, 3 1, 3 0, 2 0)))", 1);
+        Cadastro d = PropertyGraphTest.createCadastro(4, "MULTIPOLYGON (((3 0, 3 1, 4 1, 4 0, 3 0)))", 2);
+        PropertyGraph graph = new PropertyGraph(List.of(c, a, d, b));
+        ContiguousHoldings holdings = new ContiguousHoldings(graph);
+
+        assertEquals(2, holdings.getNumberOfComponents());
+        assertEquals(1, holdings.getComponentCount(1), "A cadeia inteira deve formar uma única exploração");
+        assertEquals(holdings.getComponent(0), holdings.getComponent(1));
+        assertEquals(holdings.getComponent(0), holdings.getComponent(3));
+        assertNotEquals(holdings.getComponent(0), holdings.getComponent(2));
+        assertEquals(3.0, holdings.getComponentArea(holdings.getComponent(0)), 1e-9);
+        assertEquals(1, holdings.getComponentOwner(holdings.getComponent(0)));
+        assertEquals(3.0, holdings.getOwnerArea(1), 1e-9);
+        assertArrayEquals(new int[]{1, 2}, holdings.getOwners());
+        assertEquals(0, holdings.getComponentCount(42));
+        assertEquals(0.0, holdings.getOwnerArea(42), 1e-9);
+    }
+
+    /**
+     * Testa um subconjunto que corta a cadeia
+     */
+    @Test
+    void subset() throws ParseException {
+        Cadastro a = PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1);
+        Cadastro b = PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 1);
+        Cadastro c = PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((2 0, 2 1, 3 1, 3 0, 2 0)))", 1);
+        PropertyGraph graph = new PropertyGraph(List.of(a, b, c));
+        ContiguousHoldings holdings = new ContiguousHoldings(graph, List.of(a, c));
+
+        assertEquals(2, holdings.getComponentCount(1));
+        assertEquals(-1, holdings.getComponent(1), "Propriedade excluída não deve ter componente");
+        assertEquals(2.0, holdings.getOwnerArea(1), 1e-9);
+    }
+
+    /**
+     * Testa as médias numa grelha com proprietários em diagonal
+     */
+    @Test
+    void grid() throws ParseException {
+        PropertyGraph graph = new PropertyGraph(PropertyGraphTest.createGrid(3));
+        ContiguousHoldings holdings = graph.getContiguousHoldings();
+
+        assertSame(holdings, graph.getContiguousHoldings(), "O resultado deve ser calculado uma única vez");
+        assertEquals(5, holdings.getNumberOfComponents());
+        assertEquals(2, holdings.getComponentCount(1));
+        assertEquals(2, holdings.getComponentCount(2));
+        assertEquals(1, holdings.getComponentCount(3));
+        assertEquals(9.0 / 5, holdings.getAverageHoldingArea(), 1e-9);
+        assertEquals(3.0, holdings.getAverageOwnerArea(), 1e-9);
+        assertEquals(3.0, new OwnerGraph(graph).calculateAverageArea("Santa Maria Maior", null, null), 1e-9);
+    }
+
+    @Test
+    void nullGraph() {
+        assertThrows(IllegalArgumentException.class, () -> new ContiguousHoldings(null));
+    }
+}
@@ -0,0 +1,114 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para CsrAdjacency
+ *
+ * Complexidade Ciclomática por método:
+ * - fromEdges: 6 (1 condição if + 2 ciclos + 1 condição if + 1 ciclo + 1 retorno)
+ * - compact: 4 (2 ciclos + 1 condição if + 1 retorno)
+ * - sortRow: 4 (2 ciclos + 1 condição if + 1 ciclo)
+ * - getWeight: 2 (1 condição + 1 retorno)
+ * - areAdjacent: 1 (1 retorno)
+ */
+class CsrAdjacencyTest {
+    /**
+     * Testa fromEdges com parâmetros inválidos - Complexidade Ciclomática: 6
+     */
+    @Test
+    void fromEdges1() {
+        assertThrows(IllegalArgumentException.class, () -> CsrAdjacency.fromEdges(3, null));
+        assertThrows(IllegalArgumentException.class, () -> CsrAdjacency.fromEdges(2, edges(0, 2)),
+                "Deve rejeitar índices fora do intervalo");
+        assertThrows(IllegalArgumentException.class, () -> CsrAdjacency.fromEdges(2, edges(1, 1)),
+                "Deve rejeitar lacetes");
+    }
+
+    /**
+     * Testa a construção com arestas desordenadas e repetidas - Complexidade Ciclomática: 4
+     */
+    @Test
+    void fromEdges2() {
+        CsrAdjacency adjacency = CsrAdjacency.fromEdges(5, edges(3, 1, 0, 3, 1, 3, 0, 1, 4, 0));
+        assertEquals(5, adjacency.getVertexCount());
+        assertEquals(4, adjacency.getEdgeCount(), "Arestas repetidas devem ser contadas uma vez");
+        assertArrayEquals(new int[] {1, 3, 4}, adjacency.getNeighbours(0));
+        assertArrayEquals(new int[] {0, 3}, adjacency.getNeighbours(1));
+        assertArrayEquals(new int[0], adjacency.getNeighbours(2));
+        assertEquals(2, adjacency.getDegree(3));
+        assertEquals(3, adjacency.getNeighbour(0, 1));
+    }
+
+    /**
+     * Testa areAdjacent - Complexidade Ciclomática: 1
+     */
+    @Test
+    void areAdjacent1() {
+        CsrAdjacency adjacency = CsrAdjacency.fromEdges(4, edges(0, 1, 1, 2, 2, 3));
+        assertTrue(adjacency.areAdjacent(0, 1));
+        assertTrue(adjacency.areAdjacent(1, 0));
+        assertTrue(adjacency.areAdjacent(3, 2));
+        assertFalse(adjacency.areAdjacent(0, 2));
+        assertFalse(adjacency.areAdjacent(0, 0));
+    }
+
+    /**
+     * Testa os pesos com arestas desordenadas e repetidas - Complexidade Ciclomática: 4
+     */
+    @Test
+    void weights() {
+        EdgeList.Builder builder = new EdgeList.Builder();
+        builder.add(2, 3, 1.5);
+        builder.add(0, 3, 2.0);
+        builder.add(0, 1, 0.0);
+        builder.add(0, 3, 0.5);
+        CsrAdjacency adjacency = CsrAdjacency.fromEdges(4, builder.build());
+
+        assertEquals(3, adjacency.getEdgeCount(), "Arestas repetidas devem ser juntas");
+        assertArrayEquals(new int[]{0, 2}, adjacency.getNeighbours(3));
+        assertEquals(2.5, adjacency.getWeight(0, 3), 1e-9, "Pesos de arestas repetidas devem ser somados");
+        assertEquals(2.5, adjacency.getWeight(3, 0), 1e-9);
+        assertEquals(1.5, adjacency.getNeighbourWeight(3, 1), 1e-9, "O peso deve acompanhar o vizinho ao ordenar");
+        assertEquals(0.0, adjacency.getWeight(0, 1), 1e-9);
+        assertEquals(0.0, adjacency.getWeight(1, 2), 1e-9, "Vértices não adjacentes têm peso nulo");
+        assertEquals(2, adjacency.getMultiplicity(3, 0), "Arestas repetidas devem ser contadas");
+        assertEquals(1, adjacency.getNeighbourMultiplicity(3, 1));
+        assertEquals(0, adjacency.getMultiplicity(1, 2));
+        assertEquals(1, CsrAdjacency.fromEdges(2, edges(0, 1)).getMultiplicity(1, 0));
+    }
+
+    /**
+     * Testa buildSorted com arestas acrescentadas fora de ordem
+     */
+    @Test
+    void buildSorted() {
+        EdgeList.Builder builder = new EdgeList.Builder();
+        builder.add(1, 2, 3.0);
+        builder.add(0, 2, 2.0);
+        builder.add(0, 1, 1.0);
+        EdgeList sorted = builder.buildSorted(3);
+
+        assertEquals(EdgeList.of(new int[]{0, 0, 1}, new int[]{1, 2, 2}, new double[]{1.0, 2.0, 3.0},
+                new boolean[3], 3), sorted);
+        assertFalse(sorted.isPointOnly(0));
+    }
+
+    /**
+     * Testa a lista vazia
+     */
+    @Test
+    void empty() {
+        assertEquals(0, CsrAdjacency.EMPTY.getVertexCount());
+        assertEquals(0, CsrAdjacency.EMPTY.getEdgeCount());
+    }
+
+    private static EdgeList edges(int... pairs) {
+        EdgeList.Builder builder = new EdgeList.Builder();
+        for (int k = 0; k < pairs.length; k += 2) {
+            builder.add(pairs[k], pairs[k + 1]);
+        }
+        return builder.build();
+    }
+}
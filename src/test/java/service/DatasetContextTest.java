@@ -0,0 +1,151 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Classe de teste para DatasetContext
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 3 (2 condições if + 1 retorno)
+ * - getPropertyGraph: 2 (1 condição if + 1 retorno)
+ * - getOwnerGraph: 2 (1 condição if + 1 retorno)
+ * - getSpatialIndex: 2 (1 operador ternário + 1 retorno)
+ * - getExchangeService: 1 (1 retorno)
+ * - getPropertyGraphMetrics: 1 (1 retorno)
+ * - getOwnerGraphMetrics: 1 (1 retorno)
+ * - Lazy.get: 8 (1 ciclo + 2 condições if + 1 try-catch + 3 catch + 1 retorno)
+ */
+class DatasetContextTest {
+    /**
+     * Testa o construtor com parâmetros inválidos - Complexidade Ciclomática: 3
+     */
+    @Test
+    void constructor() throws ParseException {
+        assertThrows(IllegalArgumentException.class, () -> new DatasetContext(null));
+        assertThrows(IllegalArgumentException.class, () -> new DatasetContext(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatasetContext(PropertyGraphTest.createGrid(2), (AdjacencyEngine) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatasetContext(PropertyGraphTest.createGrid(2), (java.nio.file.Path) null));
+    }
+
+    /**
+     * Testa que os grafos são construídos uma única vez e partilhados
+     */
+    @Test
+    void getGraphs() throws ParseException {
+        int[] builds = new int[1];
+        AdjacencyEngine counting = (index, parallel) -> {
+            builds[0]++;
+            return new IndexedAdjacencyEngine().build(index, parallel);
+        };
+        List<Cadastro> grid = PropertyGraphTest.createGrid(4);
+        DatasetContext dataset = new DatasetContext(grid, counting);
+
+        assertFalse(dataset.isPropertyGraphBuilt());
+        PropertyGraph propertyGraph = dataset.getPropertyGraph();
+        assertTrue(dataset.isPropertyGraphBuilt());
+        assertSame(propertyGraph, dataset.getPropertyGraph());
+        assertSame(dataset.getOwnerGraph(), dataset.getOwnerGraph());
+        assertSame(dataset.getExchangeService(), dataset.getExchangeService());
+        assertSame(propertyGraph.getSpatialIndex(), dataset.getSpatialIndex());
+        assertEquals(1, builds[0], "As adjacências devem ser calculadas uma única vez");
+        assertEquals(new OwnerGraph(grid).getNumberOfAdjacenciesBetweenOwners(),
+                dataset.getOwnerGraph().getNumberOfAdjacenciesBetweenOwners());
+    }
+
+    /**
+     * Testa que o índice espacial não obriga à construção dos grafos
+     */
+    @Test
+    void getSpatialIndex() throws ParseException {
+        DatasetContext dataset = new DatasetContext(PropertyGraphTest.createGrid(3), new IndexedAdjacencyEngine());
+        assertEquals(9, dataset.getSpatialIndex().size());
+        assertSame(dataset.getSpatialIndex(), dataset.getSpatialIndex());
+        assertFalse(dataset.isPropertyGraphBuilt());
+    }
+
+    /**
+     * Testa que uma construção falhada é repetida no pedido seguinte
+     */
+    @Test
+    void failedBuild() throws ParseException {
+        int[] attempts = new int[1];
+        AdjacencyEngine failing = (index, parallel) -> {
+            if (attempts[0]++ == 0) {
+                throw new IllegalStateException(core.Constants.GRAPH_BUILD_ERROR);
+            }
+            return new IndexedAdjacencyEngine().build(index, parallel);
+        };
+        DatasetContext dataset = new DatasetContext(PropertyGraphTest.createGrid(2), failing);
+        assertThrows(IllegalStateException.class, dataset::getPropertyGraph);
+        assertNotNull(dataset.getPropertyGraph());
+    }
+
+    /**
+     * Testa que a lista do contexto não é afetada por alterações à lista importada
+     */
+    @Test
+    void getCadastros() throws ParseException {
+        List<Cadastro> grid = new ArrayList<>(PropertyGraphTest.createGrid(2));
+        DatasetContext dataset = new DatasetContext(grid, new IndexedAdjacencyEngine());
+        Collections.reverse(grid);
+        assertNotEquals(grid, dataset.getCadastros());
+        assertThrows(UnsupportedOperationException.class, () -> dataset.getCadastros().clear());
+    }
+
+    /**
+     * Testa que as estatísticas são calculadas uma única vez - Complexidade Ciclomática: 2
+     */
+    @Test
+    void getMetrics() throws ParseException {
+        DatasetContext context = new DatasetContext(PropertyGraphTest.createGrid(4), new IndexedAdjacencyEngine());
+        assertSame(context.getPropertyGraphMetrics(), context.getPropertyGraphMetrics());
+        assertSame(context.getOwnerGraphMetrics(), context.getOwnerGraphMetrics());
+        assertEquals(16, context.getPropertyGraphMetrics().getVertexCount());
+        assertEquals(3, context.getOwnerGraphMetrics().getVertexCount());
+    }
+
+    /**
+     * Testa que uma construção em curso não bloqueia os restantes pedidos do contexto
+     * e que os pedidos do mesmo grafo recebem o grafo construído - Complexidade Ciclomática: 8
+     */
+    @Test
+    void concurrentBuild() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AdjacencyEngine blocking = (index, parallel) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return new IndexedAdjacencyEngine().build(index, parallel);
+        };
+        DatasetContext dataset = new DatasetContext(PropertyGraphTest.createGrid(3), blocking);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PropertyGraph> first = executor.submit(() -> dataset.getPropertyGraph());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<PropertyGraph> second = executor.submit(() -> dataset.getPropertyGraph());
+
+            // Enquanto o grafo é construído, os restantes pedidos respondem de imediato
+            assertFalse(dataset.isPropertyGraphBuilt());
+            assertEquals(9, dataset.getSpatialIndex().size());
+            assertFalse(second.isDone(), "O segundo pedido deve aguardar a construção em curso");
+
+            release.countDown();
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertTrue(dataset.isPropertyGraphBuilt());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
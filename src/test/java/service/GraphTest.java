@@ -250,4 +250,14 @@ class GraphTest {
         Graph graph = new Graph(testCadastros);
         assertEquals(testCadastros, graph.getCadastros());
     }
+
+    /**
+     * Testa que o índice espacial é construído uma única vez
+     */
+    @Test
+    void getSpatialIndex() {
+        Graph graph = new Graph(testCadastros);
+        assertSame(graph.getSpatialIndex(), graph.getSpatialIndex());
+        assertEquals(testCadastros.size(), graph.getSpatialIndex().size());
+    }
 }
@@ -0,0 +1,155 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para IncrementalGraph
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 5 (1 condição if + 2 ciclos + 1 condição if + 1 retorno)
+ * - addProperty: 3 (2 condições if + 1 retorno)
+ * - insert: 4 (1 ciclo com 1 condição if + 1 ciclo)
+ * - removeProperty: 3 (1 ciclo + 1 condição if + 1 retorno)
+ * - replaceProperty: 3 (2 condições if + 1 retorno)
+ * - findAdjacent: 4 (1 condição if + 1 ciclo com 1 condição if + 1 retorno)
+ * - snapshot: 4 (2 ciclos + 1 condição if + 1 retorno)
+ */
+class IncrementalGraphTest {
+    /**
+     * Testa o construtor com grafo nulo - Complexidade Ciclomática: 5
+     */
+    @Test
+    void constructor1() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalGraph((PropertyGraph) null));
+    }
+
+    /**
+     * Testa que o grafo inicial coincide com os grafos imutáveis
+     */
+    @Test
+    void constructor2() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(4);
+        assertConsistent(new IncrementalGraph(grid), grid);
+    }
+
+    /**
+     * Testa addProperty e removeProperty - Complexidade Ciclomática: 4
+     */
+    @Test
+    void addAndRemove() throws ParseException {
+        List<Cadastro> grid = new ArrayList<>(PropertyGraphTest.createGrid(4));
+        IncrementalGraph graph = new IncrementalGraph(grid);
+
+        Cadastro removed = grid.remove(5);
+        graph.removeProperty(removed);
+        assertConsistent(graph, grid);
+        assertTrue(graph.getAdjacentProperties(removed).isEmpty());
+
+        Cadastro added = PropertyGraphTest.createCadastro(99, "MULTIPOLYGON (((4 0, 4 1, 5 1, 5 0, 4 0)))", 7);
+        graph.addProperty(added);
+        grid.add(added);
+        assertConsistent(graph, grid);
+        assertTrue(graph.areAdjacentOwners(7, grid.get(3).getOwner()));
+
+        assertThrows(IllegalArgumentException.class, () -> graph.addProperty(added), "Propriedade repetida");
+        assertThrows(IllegalArgumentException.class, () -> graph.removeProperty(removed), "Propriedade já removida");
+        assertThrows(IllegalArgumentException.class, () -> graph.addProperty(null));
+    }
+
+    /**
+     * Testa replaceProperty com mudança de proprietário - Complexidade Ciclomática: 3
+     */
+    @Test
+    void replaceProperty1() throws ParseException {
+        List<Cadastro> grid = new ArrayList<>(PropertyGraphTest.createGrid(3));
+        IncrementalGraph graph = new IncrementalGraph(grid);
+
+        // Propriedade isolada do proprietário 9 passa a ser a única ligação deste proprietário
+        Cadastro isolated = PropertyGraphTest.createCadastro(50, "MULTIPOLYGON (((10 10, 10 11, 11 11, 11 10, 10 10)))", 9);
+        graph.addProperty(isolated);
+        grid.add(isolated);
+        assertFalse(graph.areAdjacentOwners(9, 1));
+
+        Cadastro moved = PropertyGraphTest.createCadastro(50, "MULTIPOLYGON (((3 0, 3 1, 4 1, 4 0, 3 0)))", 9);
+        graph.replaceProperty(isolated, moved);
+        grid.set(grid.indexOf(isolated), moved);
+        assertConsistent(graph, grid);
+
+        graph.removeProperty(moved);
+        grid.remove(moved);
+        assertConsistent(graph, grid);
+        assertFalse(graph.areAdjacentOwners(9, grid.get(2).getOwner()), "Última aresta removida deve remover a adjacência");
+    }
+
+    /**
+     * Testa replaceProperty com parâmetros inválidos
+     */
+    @Test
+    void replaceProperty2() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(2);
+        IncrementalGraph graph = new IncrementalGraph(grid);
+        assertThrows(IllegalArgumentException.class, () -> graph.replaceProperty(grid.get(0), null));
+        assertThrows(IllegalArgumentException.class, () -> graph.replaceProperty(grid.get(0), grid.get(1)));
+        assertEquals(4, graph.getNumberOfProperties(), "Substituição inválida não deve alterar o grafo");
+    }
+
+    /**
+     * Testa que uma substituição cuja análise falha deixa o grafo inalterado - Complexidade Ciclomática: 3
+     */
+    @Test
+    void replaceProperty3() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(3);
+        IncrementalGraph graph = new IncrementalGraph(grid);
+        Cadastro center = grid.get(4);
+
+        // Forma auto-intersectante sobre a propriedade 1, que provoca um erro topológico
+        Cadastro invalid = PropertyGraphTest.createCadastro(5, "MULTIPOLYGON (((0 0, 2 2, 0 2, 2 0, 0 0)))", 3);
+        assertThrows(IllegalStateException.class, () -> graph.replaceProperty(center, invalid));
+
+        assertConsistent(graph, grid);
+        assertEquals(8, graph.getAdjacentProperties(center).size(), "A propriedade antiga deve manter os vizinhos");
+        assertTrue(graph.getAdjacentProperties(invalid).isEmpty());
+    }
+
+    /**
+     * Testa snapshot - Complexidade Ciclomática: 4
+     */
+    @Test
+    void snapshot1() throws ParseException {
+        List<Cadastro> grid = new ArrayList<>(PropertyGraphTest.createGrid(4));
+        IncrementalGraph graph = new IncrementalGraph(grid);
+        graph.removeProperty(grid.remove(0));
+
+        PropertyGraph snapshot = graph.snapshot();
+        assertEquals(graph.getNumberOfAdjacenciesBetweenProperties(), snapshot.getNumberOfAdjacenciesBetweenProperties());
+        for (Cadastro cadastro : grid) {
+            assertEquals(graph.getAdjacentProperties(cadastro), snapshot.getAdjacentProperties(cadastro));
+        }
+    }
+
+    /**
+     * Verifica que o grafo atualizável coincide com os grafos construídos de raiz sobre a mesma lista.
+     */
+    private static void assertConsistent(IncrementalGraph graph, List<Cadastro> cadastros) {
+        PropertyGraph properties = new PropertyGraph(cadastros);
+        OwnerGraph owners = new OwnerGraph(properties);
+
+        assertEquals(cadastros.size(), graph.getNumberOfProperties());
+        assertEquals(properties.getNumberOfAdjacenciesBetweenProperties(), graph.getNumberOfAdjacenciesBetweenProperties());
+        for (Cadastro cadastro : cadastros) {
+            assertEquals(properties.getAdjacentProperties(cadastro), graph.getAdjacentProperties(cadastro));
+        }
+        assertEquals(owners.getNumberOfOwners(), graph.getNumberOfOwners());
+        assertEquals(owners.getNumberOfAdjacenciesBetweenOwners(), graph.getNumberOfAdjacenciesBetweenOwners());
+        for (Cadastro a : cadastros) {
+            for (Cadastro b : cadastros) {
+                assertEquals(owners.areAdjacentOwners(a.getOwner(), b.getOwner()),
+                        graph.areAdjacentOwners(a.getOwner(), b.getOwner()));
+            }
+        }
+    }
+}
@@ -194,4 +194,150 @@ class OwnerGraphTest {
         assertTrue(str.endsWith("], adjacencies=[]}"),
                 "Representação em string deve terminar com '], adjacencies=[]}'");
     }
-}
\ No newline at end of file
+
+    /**
+     * Testa a construção a partir de um grafo de propriedades
+     */
+    @Test
+    void fromPropertyGraph1() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(5);
+        PropertyGraph propertyGraph = new PropertyGraph(grid);
+        OwnerGraph projected = new OwnerGraph(propertyGraph);
+        OwnerGraph direct = new OwnerGraph(grid);
+
+        assertEquals(direct.getNumberOfOwners(), projected.getNumberOfOwners(),
+                "Projeção deve ter os mesmos proprietários que a construção geométrica");
+        assertEquals(direct.getNumberOfAdjacenciesBetweenOwners(), projected.getNumberOfAdjacenciesBetweenOwners(),
+                "Projeção deve ter as mesmas adjacências que a construção geométrica");
+        for (Cadastro cadastro : grid) {
+            assertEquals(propertyGraph.getAdjacentProperties(cadastro), projected.getAdjacentProperties(cadastro));
+        }
+        assertEquals(direct.calculateAverageArea("Santa Maria Maior", null, null),
+                projected.calculateAverageArea("Santa Maria Maior", null, null), 1e-9);
+    }
+
+    /**
+     * Testa areAdjacentOwners numa grelha com três proprietários alternados
+     */
+    @Test
+    void areAdjacentOwners() throws ParseException {
+        OwnerGraph graph = new OwnerGraph(PropertyGraphTest.createGrid(4));
+        assertEquals(3, graph.getNumberOfOwners());
+        assertEquals(3, graph.getNumberOfAdjacenciesBetweenOwners());
+        assertTrue(graph.areAdjacentOwners(1, 2));
+        assertTrue(graph.areAdjacentOwners(3, 1));
+        assertFalse(graph.areAdjacentOwners(1, 1));
+        assertFalse(graph.areAdjacentOwners(1, 42), "Proprietário inexistente não deve ser adjacente");
+    }
+
+    /**
+     * Testa o comprimento da fronteira partilhada entre proprietários, somado sobre as propriedades
+     */
+    @Test
+    void sharedBoundaryLength() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(4);
+        PropertyGraph propertyGraph = new PropertyGraph(grid);
+        OwnerGraph graph = new OwnerGraph(propertyGraph);
+
+        for (int owner1 = 1; owner1 <= 3; owner1++) {
+            for (int owner2 = owner1 + 1; owner2 <= 3; owner2++) {
+                double expected = 0;
+                for (Cadastro prop1 : grid) {
+                    for (Cadastro prop2 : grid) {
+                        if (prop1.getOwner() == owner1 && prop2.getOwner() == owner2) {
+                            expected += propertyGraph.getSharedBoundaryLength(prop1, prop2);
+                        }
+                    }
+                }
+                assertTrue(expected > 0);
+                assertEquals(expected, graph.getSharedBoundaryLength(owner1, owner2), 1e-9);
+                assertEquals(expected, graph.getSharedBoundaryLength(owner2, owner1), 1e-9);
+                assertFalse(graph.isPointOnlyAdjacency(owner1, owner2));
+            }
+        }
+        assertEquals(0.0, graph.getSharedBoundaryLength(1, 42), 1e-9);
+    }
+
+    /**
+     * Testa a adjacência apenas por pontos entre proprietários
+     */
+    @Test
+    void isPointOnlyAdjacency() throws ParseException {
+        List<Cadastro> diagonal = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1),
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 1, 1 2, 2 2, 2 1, 1 1)))", 2));
+        OwnerGraph graph = new OwnerGraph(diagonal);
+
+        assertTrue(graph.areAdjacentOwners(1, 2));
+        assertTrue(graph.isPointOnlyAdjacency(1, 2));
+        assertEquals(0.0, graph.getSharedBoundaryLength(1, 2), 1e-9);
+
+        List<Cadastro> overlapping = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 2, 2 2, 2 0, 0 0)))", 1),
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 1, 1 3, 3 3, 3 1, 1 1)))", 2),
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((3 3, 3 4, 4 4, 4 3, 3 3)))", 1));
+        OwnerGraph overlapGraph = new OwnerGraph(overlapping);
+        assertEquals(0.0, overlapGraph.getSharedBoundaryLength(1, 2), 1e-9);
+        assertFalse(overlapGraph.isPointOnlyAdjacency(1, 2), "Um par sobreposto basta para não serem adjacentes por pontos");
+    }
+
+    /**
+     * Testa as multiplicidades e a consulta de vizinhos sem coleções
+     */
+    @Test
+    void edgeMultiplicity() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(4);
+        PropertyGraph propertyGraph = new PropertyGraph(grid);
+        OwnerGraph graph = new OwnerGraph(propertyGraph);
+
+        int total = 0;
+        for (int owner1 = 1; owner1 <= 3; owner1++) {
+            for (int owner2 = owner1 + 1; owner2 <= 3; owner2++) {
+                int expected = 0;
+                for (Cadastro prop1 : grid) {
+                    for (Cadastro prop2 : grid) {
+                        if (prop1.getOwner() == owner1 && prop2.getOwner() == owner2
+                                && propertyGraph.areAdjacentProperties(prop1, prop2)) {
+                            expected++;
+                        }
+                    }
+                }
+                assertEquals(expected, graph.getEdgeMultiplicity(owner1, owner2));
+                assertEquals(expected, graph.getEdgeMultiplicity(owner2, owner1));
+                total += expected;
+            }
+        }
+        assertEquals(total, graph.getNumberOfPropertyEdgesBetweenOwners());
+        assertEquals(0, graph.getEdgeMultiplicity(1, 42));
+
+        assertEquals(2, graph.getOwnerDegree(1));
+        assertEquals(2, graph.getAdjacentOwner(1, 0));
+        assertEquals(3, graph.getAdjacentOwner(1, 1));
+        assertArrayEquals(new int[]{1, 2}, graph.getAdjacentOwners(3));
+        assertEquals(0, graph.getOwnerDegree(42));
+        assertArrayEquals(new int[0], graph.getAdjacentOwners(42));
+        assertThrows(IllegalArgumentException.class, () -> graph.getAdjacentOwner(42, 0));
+    }
+
+    @Test
+    void fromPropertyGraph2() {
+        assertThrows(IllegalArgumentException.class, () -> new OwnerGraph((PropertyGraph) null),
+                "Deve lançar IllegalArgumentException para grafo de propriedades nulo");
+    }
+
+    /**
+     * Testa que a projeção não constrói o índice espacial e partilha o índice já construído
+     */
+    @Test
+    void fromPropertyGraph3() throws ParseException {
+        PropertyGraph source = new PropertyGraph(PropertyGraphTest.createGrid(3));
+        PropertyGraph unindexed = new PropertyGraph(source.getCadastros(), source.propertyAdjacency);
+        OwnerGraph projected = new OwnerGraph(unindexed);
+        assertNull(unindexed.builtSpatialIndex(), "A projeção não deve construir o índice do grafo de origem");
+        assertNull(projected.builtSpatialIndex(), "A projeção não deve construir o seu próprio índice");
+        assertEquals(new OwnerGraph(source).getNumberOfAdjacenciesBetweenOwners(),
+                projected.getNumberOfAdjacenciesBetweenOwners());
+        assertSame(source.getSpatialIndex(), new OwnerGraph(source).getSpatialIndex(),
+                "Um índice já construído deve ser partilhado");
+    }
+}
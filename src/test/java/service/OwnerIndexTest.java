@@ -0,0 +1,58 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para OwnerIndex
+ *
+ * Complexidade Ciclomática por método:
+ * - put: 3 (2 condições if + 1 condição if)
+ * - intern: 2 (1 condição if + 1 retorno)
+ * - get: 2 (1 condição if + 1 retorno)
+ * - keysByPosition: 2 (1 ciclo + 1 condição if)
+ */
+class OwnerIndexTest {
+    /**
+     * Testa intern e get com crescimento da tabela - Complexidade Ciclomática: 2
+     */
+    @Test
+    void intern() {
+        OwnerIndex index = new OwnerIndex(2);
+        for (int owner = 1; owner <= 1000; owner++) {
+            assertEquals(owner - 1, index.intern(owner * 7));
+        }
+        assertEquals(1000, index.size());
+        assertEquals(41, index.intern(42 * 7), "Proprietário existente deve manter a posição");
+        assertEquals(999, index.get(7000));
+        assertEquals(-1, index.get(3), "Proprietário inexistente deve devolver -1");
+        assertEquals(-1, index.get(0));
+        assertEquals(-1, index.get(-7));
+    }
+
+    /**
+     * Testa put com identificadores inválidos - Complexidade Ciclomática: 3
+     */
+    @Test
+    void put() {
+        OwnerIndex index = new OwnerIndex(4);
+        assertThrows(IllegalArgumentException.class, () -> index.put(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.put(-1, 0));
+        index.put(5, 0);
+        index.put(5, 3);
+        assertEquals(1, index.size());
+        assertEquals(3, index.get(5), "put deve substituir a posição anterior");
+    }
+
+    /**
+     * Testa keysByPosition - Complexidade Ciclomática: 2
+     */
+    @Test
+    void keysByPosition() {
+        OwnerIndex index = new OwnerIndex(4);
+        index.intern(30);
+        index.intern(10);
+        index.intern(20);
+        assertArrayEquals(new int[]{30, 10, 20}, index.keysByPosition());
+    }
+}
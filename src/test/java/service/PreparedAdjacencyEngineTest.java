@@ -0,0 +1,86 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para PreparedAdjacencyEngine
+ *
+ * Complexidade Ciclomática por método:
+ * - build: 1 (1 retorno)
+ * - findAdjacent: 2 (1 condição if + 1 retorno)
+ * - areAdjacent: 4 (3 condições if + 1 retorno)
+ * - collect: 4 (1 condição if + 1 ciclo + 1 condição if + 1 retorno)
+ */
+class PreparedAdjacencyEngineTest {
+    private final PreparedAdjacencyEngine engine = new PreparedAdjacencyEngine();
+
+    /**
+     * Testa build com índice nulo - Complexidade Ciclomática: 1
+     */
+    @Test
+    void build1() {
+        assertThrows(IllegalArgumentException.class, () -> engine.build(null, false),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa que os predicados preparados produzem as mesmas arestas que os exatos
+     */
+    @Test
+    void build2() throws ParseException {
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(24));
+        EdgeList exact = new IndexedAdjacencyEngine().build(index, false);
+        assertEquals(exact, engine.build(index, false), "Modo sequencial deve coincidir com os predicados exatos");
+        assertEquals(exact, engine.build(index, true), "Modo paralelo deve coincidir com os predicados exatos");
+    }
+
+    /**
+     * Testa findAdjacent com índice nulo - Complexidade Ciclomática: 2
+     */
+    @Test
+    void findAdjacent1() {
+        assertThrows(IllegalArgumentException.class, () -> engine.findAdjacent(null, 0),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa findAdjacent numa grelha 3x3, a partir do canto inferior esquerdo
+     */
+    @Test
+    void findAdjacent2() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(3);
+        CadastroIndex index = new CadastroIndex(grid);
+        int[] adjacent = engine.findAdjacent(index, 0);
+        assertEquals(3, adjacent.length, "O canto deve ter três vizinhos");
+        for (int j : adjacent) {
+            assertTrue(j > 0, "Apenas posições posteriores devem ser devolvidas");
+        }
+    }
+
+    /**
+     * Testa areAdjacent com propriedades contidas, sobrepostas e afastadas - Complexidade Ciclomática: 4
+     */
+    @Test
+    void areAdjacent1() throws ParseException {
+        List<Cadastro> cadastros = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 4, 4 4, 4 0, 0 0)))", 1),
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 1, 1 2, 2 2, 2 1, 1 1)))", 2),
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((3 3, 3 5, 5 5, 5 3, 3 3)))", 3),
+                PropertyGraphTest.createCadastro(4, "MULTIPOLYGON (((8 8, 8 9, 9 9, 9 8, 8 8)))", 4));
+        CadastroIndex index = new CadastroIndex(cadastros);
+
+        assertFalse(PreparedAdjacencyEngine.areAdjacent(index.getPreparedShape(0), index.getPreparedShape(1)),
+                "Propriedade contida não deve ser adjacente");
+        assertTrue(PreparedAdjacencyEngine.areAdjacent(index.getPreparedShape(0), index.getPreparedShape(2)),
+                "Propriedades sobrepostas devem ser adjacentes");
+        assertFalse(PreparedAdjacencyEngine.areAdjacent(index.getPreparedShape(0), index.getPreparedShape(3)),
+                "Propriedades afastadas não devem ser adjacentes");
+        assertEquals(new IndexedAdjacencyEngine().build(index, false), engine.build(index, false),
+                "Deve coincidir com os predicados exatos");
+    }
+}
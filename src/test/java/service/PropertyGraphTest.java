@@ -9,6 +9,7 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.*;
 import core.Constants;
+import service.spatial.CadastroIndex;
 
 /**
  * Classe de teste para PropertyGraph
@@ -25,7 +26,7 @@ import core.Constants;
  * - getNumberOfAdjacenciesBetweenProperties: 1 (1 retorno)
  * - toString: 1 (1 retorno)
  */
-class PropertyGraphTest {
+public class PropertyGraphTest {
     private List<Cadastro> testCadastros;
 
     @BeforeEach
@@ -194,4 +195,147 @@ class PropertyGraphTest {
         assertTrue(str.endsWith("], adjacencies=[]}"),
                 "Representação em string deve terminar com '], adjacencies=[]}'");
     }
-}
\ No newline at end of file
+
+    /**
+     * Testa que a pré-filtragem pelo índice espacial produz as mesmas adjacências
+     * que a comparação de todos os pares
+     */
+    @Test
+    void buildGraphMatchesPairwise() throws ParseException {
+        List<Cadastro> grid = createGrid(4);
+        PropertyGraph graph = new PropertyGraph(grid);
+
+        int expected = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            for (int j = i + 1; j < grid.size(); j++) {
+                boolean adjacent = Graph.arePropertiesPhysicallyAdjacent(grid.get(i), grid.get(j));
+                assertEquals(adjacent, graph.getAdjacentProperties(grid.get(i)).contains(grid.get(j)));
+                if (adjacent) expected++;
+            }
+        }
+        assertEquals(expected, graph.getNumberOfAdjacenciesBetweenProperties());
+    }
+
+    /**
+     * Testa que ordenar a lista original depois da construção não altera as adjacências
+     */
+    @Test
+    void reorderedSourceList() throws ParseException {
+        List<Cadastro> grid = createGrid(3);
+        Cadastro corner = grid.get(0);
+        Cadastro center = grid.get(4);
+        PropertyGraph graph = new PropertyGraph(grid);
+
+        grid.sort(Comparator.comparingInt(Cadastro::getId).reversed());
+        assertEquals(3, graph.getAdjacentProperties(corner).size(), "O canto deve manter três vizinhos");
+        assertTrue(graph.areAdjacentProperties(corner, center));
+        assertEquals(0, graph.getPosition(corner));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getCadastros().clear());
+        // Listas imutáveis são aceites, incluindo a verificação de elementos nulos
+        assertEquals(20, new PropertyGraph(List.copyOf(grid)).getNumberOfAdjacenciesBetweenProperties());
+    }
+
+    /**
+     * Testa areAdjacentProperties e a vista de vizinhos
+     */
+    @Test
+    void areAdjacentProperties() throws ParseException {
+        List<Cadastro> grid = createGrid(3);
+        PropertyGraph graph = new PropertyGraph(grid);
+        Cadastro center = grid.get(4);
+
+        assertEquals(8, graph.getAdjacentProperties(center).size(), "O centro deve ter oito vizinhos");
+        for (Cadastro cadastro : graph.getAdjacentProperties(center)) {
+            assertTrue(graph.areAdjacentProperties(center, cadastro));
+            assertTrue(graph.areAdjacentProperties(cadastro, center));
+        }
+        assertFalse(graph.areAdjacentProperties(center, center));
+        assertFalse(graph.areAdjacentProperties(center, createCadastro(99, "MULTIPOLYGON (((1 1, 1 2, 2 2, 2 1, 1 1)))", 1)),
+                "Propriedade fora do grafo não deve ser adjacente");
+        assertThrows(IllegalArgumentException.class, () -> graph.areAdjacentProperties(null, center));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getAdjacentProperties(center).clear());
+    }
+
+    /**
+     * Testa o comprimento da fronteira partilhada: vizinhos laterais partilham um lado,
+     * vizinhos diagonais tocam-se apenas num ponto
+     */
+    @Test
+    void sharedBoundaryLength() throws ParseException {
+        List<Cadastro> grid = createGrid(3);
+        PropertyGraph graph = new PropertyGraph(grid);
+        Cadastro center = grid.get(4);
+
+        assertEquals(1.0, graph.getSharedBoundaryLength(center, grid.get(1)), 1e-9);
+        assertEquals(1.0, graph.getSharedBoundaryLength(grid.get(3), center), 1e-9);
+        assertFalse(graph.isPointOnlyAdjacency(center, grid.get(5)));
+        assertEquals(0.0, graph.getSharedBoundaryLength(center, grid.get(0)), 1e-9);
+        assertTrue(graph.isPointOnlyAdjacency(center, grid.get(8)), "Vizinhos diagonais tocam-se apenas num ponto");
+        assertFalse(graph.isPointOnlyAdjacency(grid.get(0), grid.get(8)), "Propriedades não adjacentes não são adjacentes por pontos");
+        assertThrows(IllegalArgumentException.class, () -> graph.getSharedBoundaryLength(center, null));
+    }
+
+    /**
+     * Testa que duas propriedades sobrepostas cujas fronteiras só se cruzam em pontos são
+     * adjacentes mas não adjacentes por pontos, em todos os motores, e que a fronteira
+     * partilhada conta apenas a parte comum de lados colineares
+     */
+    @Test
+    void overlappingSquares() throws ParseException {
+        List<Cadastro> cadastros = List.of(
+                createCadastro(1, "MULTIPOLYGON (((0 0, 0 2, 2 2, 2 0, 0 0)))", 1),
+                // Sobrepõe-se à propriedade 1; as fronteiras cruzam-se em (1 2) e (2 1)
+                createCadastro(2, "MULTIPOLYGON (((1 1, 1 3, 3 3, 3 1, 1 1)))", 2),
+                // Encosta à propriedade 1 ao longo de parte do lado x = 2, sem vértices comuns
+                createCadastro(3, "MULTIPOLYGON (((2 -1, 2 0.5, 4 0.5, 4 -1, 2 -1)))", 3));
+        PropertyGraph graph = new PropertyGraph(cadastros);
+        Cadastro first = cadastros.get(0);
+        Cadastro overlapping = cadastros.get(1);
+        Cadastro side = cadastros.get(2);
+
+        assertTrue(graph.areAdjacentProperties(first, overlapping));
+        assertEquals(0.0, graph.getSharedBoundaryLength(first, overlapping), 1e-9);
+        assertFalse(graph.isPointOnlyAdjacency(first, overlapping), "Propriedades sobrepostas não se tocam apenas em pontos");
+        assertEquals(0.5, graph.getSharedBoundaryLength(first, side), 1e-9);
+        assertFalse(graph.isPointOnlyAdjacency(first, side));
+        assertFalse(graph.areAdjacentProperties(overlapping, side));
+
+        CadastroIndex index = new CadastroIndex(cadastros);
+        EdgeList exact = new BruteForceAdjacencyEngine().build(index, false);
+        assertEquals(exact, new IndexedAdjacencyEngine().build(index, false));
+        assertEquals(exact, new PreparedAdjacencyEngine().build(index, false));
+        assertEquals(exact, new SharedEdgeAdjacencyEngine().build(index, false));
+    }
+
+    /**
+     * Cria uma grelha de size x size propriedades quadradas unitárias, com proprietários alternados.
+     */
+    public static List<Cadastro> createGrid(int size) throws ParseException {
+        List<Cadastro> grid = new ArrayList<>();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int id = y * size + x + 1;
+                String shape = String.format("MULTIPOLYGON (((%d %d, %d %d, %d %d, %d %d, %d %d)))",
+                        x, y, x, y + 1, x + 1, y + 1, x + 1, y, x, y);
+                grid.add(createCadastro(id, shape, (x + y) % 3 + 1));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Cria uma propriedade com o ID, forma e proprietário indicados.
+     */
+    public static Cadastro createCadastro(int id, String shape, int owner) throws ParseException {
+        CSVRecord mockRecord = mock(CSVRecord.class);
+        when(mockRecord.get(Constants.ID_INDEX)).thenReturn(String.valueOf(id)); // ID
+        when(mockRecord.get(Constants.LENGTH_INDEX)).thenReturn("4.0"); // Comprimento
+        when(mockRecord.get(Constants.AREA_INDEX)).thenReturn("1.0"); // Área
+        when(mockRecord.get(Constants.SHAPE_INDEX)).thenReturn(shape); // Forma
+        when(mockRecord.get(Constants.OWNER_INDEX)).thenReturn(String.valueOf(owner)); // Proprietário
+        when(mockRecord.get(Constants.FREGUESIA_INDEX)).thenReturn("Santa Maria Maior"); // Freguesia
+        when(mockRecord.get(Constants.CONCELHO_INDEX)).thenReturn("Lisboa"); // Concelho
+        when(mockRecord.get(Constants.DISTRICT_INDEX)).thenReturn("Lisboa"); // Distrito
+        return new Cadastro(mockRecord);
+    }
+}
@@ -0,0 +1,107 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para SharedEdgeAdjacencyEngine
+ *
+ * Complexidade Ciclomática por método:
+ * - build: 3 (2 condições if + 1 retorno)
+ * - findSharedPairs: 3 (1 ciclo + 1 condição if + 1 retorno)
+ * - addRing: 2 (1 ciclo + 1 retorno)
+ * - matchRecords: 7 (1 condição if + 4 ciclos + 1 condição if + 1 retorno)
+ * - collect: 6 (2 condições if + 2 ciclos + 2 condições if)
+ * - collectShared: 4 (3 condições if + 1 retorno)
+ * - mayContain: 2 (1 bloco catch + 1 retorno)
+ */
+class SharedEdgeAdjacencyEngineTest {
+    private final SharedEdgeAdjacencyEngine engine = new SharedEdgeAdjacencyEngine();
+
+    /**
+     * Testa build com índice nulo - Complexidade Ciclomática: 2
+     */
+    @Test
+    void build1() {
+        assertThrows(IllegalArgumentException.class, () -> engine.build(null, false),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa que a grelha produz as mesmas arestas que os predicados exatos,
+     * incluindo os cantos que se tocam num único ponto
+     */
+    @Test
+    void build2() throws ParseException {
+        CadastroIndex index = new CadastroIndex(PropertyGraphTest.createGrid(24));
+        EdgeList exact = new IndexedAdjacencyEngine().build(index, false);
+        assertEquals(exact, engine.build(index, false), "Modo sequencial deve coincidir com os predicados exatos");
+        assertEquals(exact, engine.build(index, true), "Modo paralelo deve coincidir com os predicados exatos");
+    }
+
+    /**
+     * Testa casos sem vértices coincidentes e com contenção
+     */
+    @Test
+    void build3() throws ParseException {
+        List<Cadastro> cadastros = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 0 4, 4 4, 4 0, 1 0, 0 0)))", 1),
+                // Partilha um segmento com a propriedade 1 mas está contida nela
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 2),
+                // Encosta à propriedade 1 sem vértices coincidentes
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((4 1, 4 3, 6 3, 6 1, 4 1)))", 3),
+                PropertyGraphTest.createCadastro(4, "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 4));
+        CadastroIndex index = new CadastroIndex(cadastros);
+        EdgeList edges = engine.build(index, false);
+        assertEquals(new IndexedAdjacencyEngine().build(index, false), edges, "Deve coincidir com os predicados exatos");
+        assertEquals(1, edges.size(), "Apenas as propriedades 1 e 3 devem ser adjacentes");
+    }
+
+    /**
+     * Testa que o modo noded coincide com os predicados exatos numa grelha, incluindo os
+     * cantos, e ignora os pares que não partilham vértices
+     */
+    @Test
+    void build4() throws ParseException {
+        SharedEdgeAdjacencyEngine nodedEngine = new SharedEdgeAdjacencyEngine(true);
+        CadastroIndex grid = new CadastroIndex(PropertyGraphTest.createGrid(24));
+        EdgeList exact = new IndexedAdjacencyEngine().build(grid, false);
+        assertEquals(exact, nodedEngine.build(grid, false), "Modo sequencial deve coincidir com os predicados exatos");
+        assertEquals(exact, nodedEngine.build(grid, true), "Modo paralelo deve coincidir com os predicados exatos");
+
+        List<Cadastro> cadastros = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 2, 2 2, 2 0, 0 0)))", 1),
+                // Toca a propriedade 1 no canto partilhado (2 2)
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((2 2, 2 3, 3 3, 3 2, 2 2)))", 2),
+                // Encosta à propriedade 1 sem vértices coincidentes: fora de uma cobertura noded
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((2 0.5, 2 1.5, 3 1.5, 3 0.5, 2 0.5)))", 3));
+        EdgeList edges = nodedEngine.build(new CadastroIndex(cadastros), false);
+        assertEquals(1, edges.size(), "Apenas o par que partilha um vértice deve ser avaliado");
+        assertEquals(1, edges.getTarget(0));
+        assertTrue(edges.isPointOnly(0));
+    }
+
+    /**
+     * Testa findSharedPairs - Complexidade Ciclomática: 3
+     */
+    @Test
+    void findSharedPairs1() throws ParseException {
+        List<Cadastro> cadastros = List.of(
+                PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1),
+                // Segmento 1 0 - 1 1 percorrido no sentido inverso
+                PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((1 1, 2 1, 2 0, 1 0, 1 1)))", 2),
+                // Toca a propriedade 1 apenas no canto
+                PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((1 1, 1 2, 2 2, 2 1, 1 1)))", 3));
+        SharedEdgeAdjacencyEngine.SharedPairs pairs = SharedEdgeAdjacencyEngine.findSharedPairs(new CadastroIndex(cadastros));
+        assertEquals(1.0, pairs.getSharedLength(0, pairs.find(0, 1)), 1e-9, "Deve somar o segmento partilhado");
+        assertEquals(1.0, pairs.getSharedLength(1, pairs.find(1, 2)), 1e-9, "Deve somar o segmento partilhado");
+        assertTrue(pairs.find(0, 2) >= 0, "O toque no canto partilha um vértice");
+        assertEquals(0.0, pairs.getSharedLength(0, pairs.find(0, 2)), 1e-9, "Toque num ponto não partilha segmentos");
+        assertEquals(2, pairs.getPartnerCount(0));
+        assertEquals(-1, pairs.find(1, 0), "Os parceiros são apenas as posições posteriores");
+    }
+}
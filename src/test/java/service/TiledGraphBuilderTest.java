@@ -0,0 +1,109 @@
+package service;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.spatial.CadastroIndex;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Classe de teste para TiledGraphBuilder e TiledAdjacency
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 3 (2 condições if + 1 retorno)
+ * - build: 4 (1 condição if + 2 ciclos + 1 retorno)
+ * - partition: 6 (1 ciclo + 3 condições if + 2 ciclos)
+ * - buildTile: 4 (2 ciclos + 1 condição if + 1 retorno)
+ * - TiledAdjacency.read: 4 (3 condições if + 1 retorno)
+ */
+class TiledGraphBuilderTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Testa o construtor com parâmetros inválidos - Complexidade Ciclomática: 3
+     */
+    @Test
+    void constructor() {
+        AdjacencyEngine engine = new IndexedAdjacencyEngine();
+        assertThrows(IllegalArgumentException.class, () -> new TiledGraphBuilder(0, engine));
+        assertThrows(IllegalArgumentException.class, () -> new TiledGraphBuilder(Double.NaN, engine));
+        assertThrows(IllegalArgumentException.class, () -> new TiledGraphBuilder(1, null));
+    }
+
+    /**
+     * Testa que a construção por mosaicos coincide com a construção completa,
+     * com fronteiras de mosaico sobre os lados das propriedades e a meio delas
+     */
+    @Test
+    void build1() throws Exception {
+        Path csv = writeGrid(7);
+        List<Cadastro> cadastros = Cadastro.getCadastros(csv.toString());
+        EdgeList expected = new IndexedAdjacencyEngine().build(new CadastroIndex(cadastros), false);
+
+        for (double tileSize : new double[] {2, 2.5, 100}) {
+            TiledAdjacency tiled = new TiledGraphBuilder(tileSize, new IndexedAdjacencyEngine()).build(csv, directory.resolve("work"));
+            assertEquals(expected, tiled.getEdges(), "Mosaicos de lado " + tileSize);
+            assertEquals(cadastros.size(), tiled.getNumberOfProperties());
+            assertEquals(cadastros.get(10).getId(), tiled.getParcelId(10));
+            assertEquals(cadastros.get(10).getOwner(), tiled.getOwner(10));
+        }
+        try (var files = Files.list(directory.resolve("work"))) {
+            assertEquals(0, files.count(), "Os ficheiros temporários devem ser removidos");
+        }
+    }
+
+    /**
+     * Testa build com ficheiro sem registos válidos - Complexidade Ciclomática: 4
+     */
+    @Test
+    void build2() throws IOException {
+        Path csv = directory.resolve("empty.csv");
+        Files.writeString(csv, "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n");
+        TiledGraphBuilder builder = new TiledGraphBuilder(1, new IndexedAdjacencyEngine());
+        assertThrows(IllegalStateException.class, () -> builder.build(csv, directory));
+    }
+
+    /**
+     * Testa write seguido de read - Complexidade Ciclomática: 4
+     */
+    @Test
+    void writeAndRead() throws Exception {
+        Path csv = writeGrid(4);
+        TiledAdjacency tiled = new TiledGraphBuilder(1.5, new PreparedAdjacencyEngine()).build(csv, directory);
+        Path file = directory.resolve("graph.bin");
+        tiled.write(file);
+
+        TiledAdjacency read = TiledAdjacency.read(file);
+        assertEquals(tiled.getEdges(), read.getEdges());
+        assertEquals(tiled.getNumberOfProperties(), read.getNumberOfProperties());
+        assertEquals(tiled.toCsrAdjacency().getEdgeCount(), read.toCsrAdjacency().getEdgeCount());
+
+        Files.write(file, new byte[] {0, 0, 0, 0, 0, 0, 0, 1});
+        assertThrows(IllegalStateException.class, () -> TiledAdjacency.read(file));
+    }
+
+    /**
+     * Escreve um ficheiro CSV com uma grelha de propriedades e um registo inválido.
+     */
+    private Path writeGrid(int size) throws IOException {
+        StringBuilder sb = new StringBuilder("OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n");
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int id = y * size + x + 1;
+                sb.append(String.format("%d;1;1;4.0;1.0;MULTIPOLYGON (((%d %d, %d %d, %d %d, %d %d, %d %d)));%d;Santa Maria Maior;Lisboa;Lisboa%n",
+                        id, x, y, x, y + 1, x + 1, y + 1, x + 1, y, x, y, (x + y) % 3 + 1));
+            }
+            if (y == 1) {
+                sb.append("999;1;1;4.0;1.0;NOT A SHAPE;1;Santa Maria Maior;Lisboa;Lisboa\n");
+            }
+        }
+        Path csv = directory.resolve("grid.csv");
+        Files.writeString(csv, sb.toString());
+        return csv;
+    }
+}
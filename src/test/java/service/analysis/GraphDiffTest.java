@@ -0,0 +1,152 @@
+package service.analysis;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.io.ParseException;
+import service.IndexedAdjacencyEngine;
+import service.OwnerGraph;
+import service.PropertyGraph;
+import service.PropertyGraphTest;
+import service.TiledAdjacency;
+import service.TiledGraphBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Classe de teste para GraphDiff
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if)
+ * - ofProperties / ofOwners / ofTiled: 2 (1 condição if + 1 retorno)
+ * - sortedEdges: 7 (1 ciclo + 1 ciclo com 1 condição if + 1 ciclo com 1 ciclo e 1 condição if + 1 ciclo)
+ * - countingOrder: 4 (3 ciclos + 1 retorno)
+ * - stream: 7 (1 condição if + 1 ciclo com 5 condições if)
+ */
+class GraphDiffTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Testa que a ordem das propriedades não altera a comparação - Complexidade Ciclomática: 7
+     */
+    @Test
+    void reordered() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(3);
+        List<Cadastro> reversed = new ArrayList<>(grid);
+        Collections.reverse(reversed);
+
+        GraphDiff diff = GraphDiff.ofProperties(new PropertyGraph(grid), new PropertyGraph(reversed));
+        assertTrue(diff.isEmpty(), "As posições mudaram mas as arestas são as mesmas");
+        assertEquals(20, diff.getCommonCount());
+    }
+
+    /**
+     * Testa as arestas removidas e acrescentadas entre propriedades - Complexidade Ciclomática: 7
+     */
+    @Test
+    void properties() throws ParseException {
+        List<Cadastro> before = PropertyGraphTest.createGrid(3);
+        List<Cadastro> after = new ArrayList<>(before);
+        after.remove(4);
+        // Nova parcela à direita da parcela 3, que toca a parcela 6 num ponto
+        after.add(0, PropertyGraphTest.createCadastro(10, "MULTIPOLYGON (((3 0, 3 1, 4 1, 4 0, 3 0)))", 1));
+
+        List<int[]> added = new ArrayList<>();
+        List<int[]> removed = new ArrayList<>();
+        GraphDiff diff = GraphDiff.ofProperties(new PropertyGraph(before), new PropertyGraph(after));
+        diff.stream((id1, id2) -> added.add(new int[]{id1, id2}), (id1, id2) -> removed.add(new int[]{id1, id2}));
+
+        assertEquals(2, diff.getAddedCount());
+        assertEquals(8, diff.getRemovedCount());
+        assertEquals(12, diff.getCommonCount());
+        assertArrayEquals(new int[]{3, 10}, added.get(0));
+        assertArrayEquals(new int[]{6, 10}, added.get(1));
+        int[][] expected = {{1, 5}, {2, 5}, {3, 5}, {4, 5}, {5, 6}, {5, 7}, {5, 8}, {5, 9}};
+        assertEquals(expected.length, removed.size());
+        for (int k = 0; k < expected.length; k++) {
+            assertArrayEquals(expected[k], removed.get(k), "As arestas devem chegar por ordem");
+        }
+    }
+
+    /**
+     * Testa as fronteiras entre proprietários que aparecem quando uma parcela muda de dono - Complexidade Ciclomática: 7
+     */
+    @Test
+    void owners() throws ParseException {
+        List<Cadastro> before = PropertyGraphTest.createGrid(3);
+        List<Cadastro> after = new ArrayList<>(before);
+        after.set(0, PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 4));
+
+        List<int[]> added = new ArrayList<>();
+        GraphDiff diff = GraphDiff.ofOwners(new OwnerGraph(before), new OwnerGraph(after));
+        diff.stream((id1, id2) -> added.add(new int[]{id1, id2}), (id1, id2) -> fail("Nenhuma fronteira desaparece"));
+
+        assertEquals(2, added.size());
+        assertArrayEquals(new int[]{2, 4}, added.get(0));
+        assertArrayEquals(new int[]{3, 4}, added.get(1));
+        assertEquals(3, diff.getCommonCount());
+    }
+
+    /**
+     * Testa a comparação de grafos em mosaicos guardados em disco - Complexidade Ciclomática: 7
+     */
+    @Test
+    void tiled() throws Exception {
+        TiledGraphBuilder builder = new TiledGraphBuilder(1.5, new IndexedAdjacencyEngine());
+        Path file = directory.resolve("before.bin");
+        builder.build(writeCsv("before.csv", false), directory).write(file);
+
+        TiledAdjacency before = TiledAdjacency.read(file);
+        TiledAdjacency after = builder.build(writeCsv("after.csv", true), directory);
+        List<int[]> added = new ArrayList<>();
+        GraphDiff diff = GraphDiff.ofTiled(before, after);
+        diff.stream((id1, id2) -> added.add(new int[]{id1, id2}), (id1, id2) -> fail("Nenhuma aresta desaparece"));
+
+        assertEquals(2, added.size());
+        assertArrayEquals(new int[]{3, 10}, added.get(0));
+        assertArrayEquals(new int[]{6, 10}, added.get(1));
+        assertEquals(20, diff.getCommonCount());
+    }
+
+    /**
+     * Testa identificadores repetidos e parâmetros nulos - Complexidade Ciclomática: 2
+     */
+    @Test
+    void invalid() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(2);
+        List<Cadastro> duplicated = new ArrayList<>(grid);
+        duplicated.add(PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 1));
+        PropertyGraph graph = new PropertyGraph(grid);
+
+        assertThrows(IllegalArgumentException.class, () -> GraphDiff.ofProperties(graph, new PropertyGraph(duplicated)));
+        assertThrows(IllegalArgumentException.class, () -> GraphDiff.ofProperties(null, graph));
+        assertThrows(IllegalArgumentException.class, () -> GraphDiff.ofOwners(new OwnerGraph(grid), null));
+        assertThrows(IllegalArgumentException.class, () -> GraphDiff.ofTiled(null, null));
+        GraphDiff diff = GraphDiff.ofProperties(graph, graph);
+        assertThrows(IllegalArgumentException.class, () -> diff.stream(null, (id1, id2) -> { }));
+    }
+
+    /**
+     * Escreve uma grelha 3x3 em CSV, por ordem inversa e com a parcela 10 se for a versão nova.
+     */
+    private Path writeCsv(String name, boolean newVersion) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                lines.add(String.format("%d;1;1;4.0;1.0;MULTIPOLYGON (((%d %d, %d %d, %d %d, %d %d, %d %d)));%d;Santa Maria Maior;Lisboa;Lisboa%n",
+                        y * 3 + x + 1, x, y, x, y + 1, x + 1, y + 1, x + 1, y, x, y, (x + y) % 3 + 1));
+            }
+        }
+        if (newVersion) {
+            Collections.reverse(lines);
+            lines.add("10;1;1;4.0;1.0;MULTIPOLYGON (((3 0, 3 1, 4 1, 4 0, 3 0)));1;Santa Maria Maior;Lisboa;Lisboa\n");
+        }
+        Path csv = directory.resolve(name);
+        Files.writeString(csv, "OBJECTID;PAR_ID;PAR_NUM;Shape_Length;Shape_Area;geometry;OWNER;Freguesia;Municipio;Ilha\n"
+                + String.join("", lines));
+        return csv;
+    }
+}
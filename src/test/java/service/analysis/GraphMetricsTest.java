@@ -0,0 +1,78 @@
+package service.analysis;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.CsrAdjacency;
+import service.OwnerGraph;
+import service.PropertyGraph;
+import service.PropertyGraphTest;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para GraphMetrics
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 8 (1 condição if + 1 ciclo + 1 ciclo com 1 condição if + 1 ciclo com 2 condições if + 2 condições)
+ * - forOwners: 3 (1 condição if + 1 ciclo com 1 condição if)
+ * - clustering: 5 (1 condição if + 1 ciclo + 1 ciclo com 2 condições if)
+ * - diameter: 4 (1 ciclo + 1 ciclo com 1 condição if + 1 condição if)
+ */
+class GraphMetricsTest {
+    /**
+     * Testa as estatísticas de uma grelha 3x3 com vizinhos diagonais - Complexidade Ciclomática: 8
+     */
+    @Test
+    void grid() throws ParseException {
+        List<Cadastro> cadastros = new ArrayList<>(PropertyGraphTest.createGrid(3));
+        cadastros.add(PropertyGraphTest.createCadastro(99, "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 9));
+        GraphMetrics metrics = GraphMetrics.forProperties(new PropertyGraph(cadastros));
+
+        assertEquals(10, metrics.getVertexCount());
+        assertEquals(20, metrics.getEdgeCount());
+        assertArrayEquals(new int[]{1, 0, 0, 4, 0, 4, 0, 0, 1}, metrics.getDegreeHistogram());
+        assertEquals(8, metrics.getMaxDegree());
+        assertEquals(4.0, metrics.getAverageDegree(), 1e-9);
+        assertEquals(1, metrics.getIsolatedCount());
+        assertEquals(2, metrics.getComponentCount());
+        assertEquals(9, metrics.getLargestComponentSize());
+        assertEquals(2, metrics.getApproximateDiameter());
+        assertEquals(1.0, metrics.getLocalClustering(0), 1e-9, "Os vizinhos de um canto são todos adjacentes");
+        assertEquals(12.0 / 28, metrics.getLocalClustering(4), 1e-9);
+        assertEquals(0.0, metrics.getLocalClustering(9), 1e-9);
+    }
+
+    /**
+     * Testa as estatísticas do grafo de proprietários com um proprietário isolado - Complexidade Ciclomática: 3
+     */
+    @Test
+    void owners() throws ParseException {
+        List<Cadastro> cadastros = new ArrayList<>(PropertyGraphTest.createGrid(4));
+        cadastros.add(PropertyGraphTest.createCadastro(99, "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 9));
+        GraphMetrics metrics = GraphMetrics.forOwners(new OwnerGraph(cadastros));
+
+        assertEquals(4, metrics.getVertexCount());
+        assertEquals(3, metrics.getEdgeCount());
+        assertEquals(1, metrics.getIsolatedCount(), "O proprietário sem fronteiras deve ser isolado");
+        assertEquals(2, metrics.getComponentCount());
+        assertEquals(3, metrics.getLargestComponentSize());
+        assertEquals(1, metrics.getApproximateDiameter());
+        assertEquals(0.75, metrics.getAverageClustering(), 1e-9);
+    }
+
+    /**
+     * Testa o grafo vazio e parâmetros nulos
+     */
+    @Test
+    void empty() {
+        GraphMetrics metrics = new GraphMetrics(CsrAdjacency.EMPTY);
+        assertEquals(0, metrics.getVertexCount());
+        assertEquals(0, metrics.getComponentCount());
+        assertEquals(0, metrics.getApproximateDiameter());
+        assertEquals(0.0, metrics.getAverageDegree(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new GraphMetrics(null));
+        assertThrows(IllegalArgumentException.class, () -> GraphMetrics.forProperties(null));
+        assertThrows(IllegalArgumentException.class, () -> GraphMetrics.forOwners(null));
+    }
+}
@@ -0,0 +1,115 @@
+package service.analysis;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.CsrAdjacency;
+import service.EdgeList;
+import service.OwnerGraph;
+import service.PropertyGraph;
+import service.PropertyGraphTest;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para GraphTraversal
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 atribuição)
+ * - search: 8 (2 condições if + 1 ciclo + 2 condições if + 1 ciclo + 1 condição + 1 ciclo com 2 condições if)
+ * - expand: 4 (2 ciclos + 2 condições if)
+ * - expandParallel: 2 (1 ciclo + 1 retorno)
+ * - propertiesWithinHops: 3 (2 condições if + 1 ciclo)
+ * - ownersWithinHops: 5 (3 condições if + 1 ciclo + 1 retorno)
+ */
+class GraphTraversalTest {
+    /**
+     * Testa as distâncias numa grelha, onde os vizinhos diagonais também são adjacentes - Complexidade Ciclomática: 8
+     */
+    @Test
+    void distances() throws ParseException {
+        PropertyGraph graph = new PropertyGraph(PropertyGraphTest.createGrid(5));
+        GraphTraversal traversal = new GraphTraversal(graph.getPropertyAdjacency());
+
+        int[] distances = traversal.distances(0);
+        assertEquals(0, distances[0]);
+        assertEquals(1, distances[6]);
+        assertEquals(4, distances[24], "A distância na grelha deve ser a de Chebyshev");
+        assertEquals(2, traversal.distances(new int[]{0, 24})[12], "Deve usar a origem mais próxima");
+
+        int[] limited = traversal.distances(new int[]{0}, 2);
+        assertEquals(2, limited[12]);
+        assertEquals(GraphTraversal.UNREACHED, limited[24]);
+    }
+
+    /**
+     * Testa withinHops e parâmetros inválidos
+     */
+    @Test
+    void withinHops() throws ParseException {
+        PropertyGraph graph = new PropertyGraph(PropertyGraphTest.createGrid(5));
+        GraphTraversal traversal = new GraphTraversal(graph.getPropertyAdjacency());
+
+        int[] visited = traversal.withinHops(0, 1);
+        assertEquals(0, visited[0], "A origem deve ser o primeiro vértice visitado");
+        assertEquals(Set.of(0, 1, 5, 6), toSet(visited));
+        assertArrayEquals(new int[]{12}, traversal.withinHops(12, 0));
+        assertEquals(25, traversal.withinHops(12, 2).length);
+
+        assertThrows(IllegalArgumentException.class, () -> traversal.withinHops(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> traversal.withinHops(25, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GraphTraversal(null));
+    }
+
+    /**
+     * Testa a expansão paralela numa estrela com uma fronteira grande - Complexidade Ciclomática: 2
+     */
+    @Test
+    void parallel() {
+        int leaves = 5000;
+        EdgeList.Builder builder = new EdgeList.Builder();
+        for (int i = 1; i <= leaves; i++) {
+            builder.add(0, i);
+            builder.add(i, leaves + i);
+            if (i > 1) {
+                builder.add(i - 1 + leaves, i + leaves);
+            }
+        }
+        CsrAdjacency adjacency = CsrAdjacency.fromEdges(2 * leaves + 1, builder.build());
+
+        GraphTraversal sequential = new GraphTraversal(adjacency, false);
+        GraphTraversal parallel = new GraphTraversal(adjacency, true);
+        assertArrayEquals(sequential.distances(0), parallel.distances(0));
+        assertArrayEquals(sequential.withinHops(0, 2), parallel.withinHops(0, 2),
+                "A ordem de visita deve ser a mesma nos dois modos");
+        assertEquals(2, parallel.distances(0)[2 * leaves]);
+    }
+
+    /**
+     * Testa as consultas por propriedade e por proprietário - Complexidade Ciclomática: 5
+     */
+    @Test
+    void graphQueries() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(5);
+        PropertyGraph graph = new PropertyGraph(grid);
+
+        List<Cadastro> near = GraphTraversal.propertiesWithinHops(graph, grid.get(0), 1);
+        assertEquals(Set.of(grid.get(1), grid.get(5), grid.get(6)), new HashSet<>(near));
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphTraversal.propertiesWithinHops(graph, PropertyGraphTest.createCadastro(99,
+                        "MULTIPOLYGON (((9 9, 9 10, 10 10, 10 9, 9 9)))", 1), 1));
+
+        OwnerGraph owners = new OwnerGraph(graph);
+        assertArrayEquals(new int[]{2, 3}, GraphTraversal.ownersWithinHops(owners, 1, 3));
+        assertArrayEquals(new int[0], GraphTraversal.ownersWithinHops(owners, 42, 3));
+        assertThrows(IllegalArgumentException.class, () -> GraphTraversal.ownersWithinHops(null, 1, 1));
+    }
+
+    private static Set<Integer> toSet(int[] values) {
+        Set<Integer> set = new HashSet<>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,70 @@
+package service.analysis;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.OwnerGraph;
+import service.PropertyGraphTest;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para OwnerCommunities
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 9 (1 condição if + 1 ciclo + 1 ciclo + 1 condição + 1 ciclo com 1 condição if + 2 ciclos com 1 condição if)
+ * - bestLabel: 7 (1 condição if + 2 ciclos + 1 condição if + 1 ciclo com 1 condição if + 1 ciclo)
+ * - getCommunity: 2 (1 condição + 1 retorno)
+ * - getMembers: 2 (1 ciclo + 1 condição if)
+ */
+class OwnerCommunitiesTest {
+    /**
+     * Testa dois blocos separados de proprietários entrelaçados - Complexidade Ciclomática: 9
+     */
+    @Test
+    void twoBlocks() throws ParseException {
+        OwnerGraph graph = new OwnerGraph(createBlocks());
+        for (boolean weighted : new boolean[]{false, true}) {
+            OwnerCommunities communities = new OwnerCommunities(graph, weighted);
+
+            assertEquals(2, communities.getNumberOfCommunities());
+            int first = communities.getCommunity(1);
+            int second = communities.getCommunity(11);
+            assertNotEquals(first, second);
+            assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, communities.getMembers(first));
+            assertEquals(9, communities.getCommunitySize(second));
+            assertEquals(9.0, communities.getCommunityArea(second), 1e-9);
+            assertEquals(20, communities.getInternalEdges(first), "Um bloco 3x3 tem 20 adjacências");
+            assertTrue(communities.getIterations() <= 50);
+        }
+    }
+
+    /**
+     * Testa proprietários sem adjacências e grafo nulo - Complexidade Ciclomática: 2
+     */
+    @Test
+    void unknownOwner() throws ParseException {
+        OwnerCommunities communities = new OwnerCommunities(new OwnerGraph(createBlocks()));
+        assertEquals(-1, communities.getCommunity(42));
+        assertThrows(IllegalArgumentException.class, () -> new OwnerCommunities(null));
+    }
+
+    /**
+     * Cria dois blocos afastados de 3x3 propriedades, cada uma com um proprietário diferente.
+     */
+    private static List<Cadastro> createBlocks() throws ParseException {
+        List<Cadastro> cadastros = new ArrayList<>();
+        for (int block = 0; block < 2; block++) {
+            for (int y = 0; y < 3; y++) {
+                for (int x = 0; x < 3; x++) {
+                    int x0 = x + block * 10;
+                    int owner = block * 10 + y * 3 + x + 1;
+                    String shape = String.format("MULTIPOLYGON (((%d %d, %d %d, %d %d, %d %d, %d %d)))",
+                            x0, y, x0, y + 1, x0 + 1, y + 1, x0 + 1, y, x0, y);
+                    cadastros.add(PropertyGraphTest.createCadastro(owner, shape, owner));
+                }
+            }
+        }
+        return cadastros;
+    }
+}
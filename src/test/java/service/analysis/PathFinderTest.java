@@ -0,0 +1,102 @@
+package service.analysis;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.io.ParseException;
+import service.OwnerGraph;
+import service.PropertyGraph;
+import service.PropertyGraphTest;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Classe de teste para PathFinder
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 6 (2 condições if + 1 ciclo + 1 condição if + 2 ciclos com 1 condição if)
+ * - findPath: 1 (1 retorno)
+ * - findPathBetweenOwners: 2 (1 condição if + 1 retorno)
+ * - findOwnerChain: 4 (2 condições if + 1 ciclo + 1 retorno)
+ * - aStar: 6 (2 ciclos + 1 ciclo + 2 condições if + 1 ciclo com 1 condição if)
+ */
+class PathFinderTest {
+    /**
+     * Testa que a pesquisa bidirecional encontra sempre caminhos mínimos - Complexidade Ciclomática: 1
+     */
+    @Test
+    void findPath() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(5);
+        PropertyGraph graph = new PropertyGraph(grid);
+        PathFinder finder = new PathFinder(graph);
+        GraphTraversal traversal = new GraphTraversal(graph.getPropertyAdjacency());
+
+        for (int source = 0; source < grid.size(); source++) {
+            int[] distances = traversal.distances(source);
+            for (int target = 0; target < grid.size(); target++) {
+                List<Cadastro> path = finder.findPath(grid.get(source), grid.get(target));
+                assertEquals(distances[target] + 1, path.size());
+                assertSame(grid.get(source), path.get(0));
+                assertSame(grid.get(target), path.get(path.size() - 1));
+                for (int k = 1; k < path.size(); k++) {
+                    assertTrue(graph.areAdjacentProperties(path.get(k - 1), path.get(k)));
+                }
+            }
+        }
+        assertEquals(4.0, finder.getPathCost(finder.findPath(grid.get(0), grid.get(24))), 1e-9);
+    }
+
+    /**
+     * Testa o A* com uma propriedade central muito cara - Complexidade Ciclomática: 6
+     */
+    @Test
+    void weighted() throws ParseException {
+        List<Cadastro> grid = PropertyGraphTest.createGrid(3);
+        PropertyGraph graph = new PropertyGraph(grid);
+        Cadastro center = grid.get(4);
+
+        assertEquals(List.of(grid.get(0), center, grid.get(8)), new PathFinder(graph).findPath(grid.get(0), grid.get(8)));
+
+        PathFinder finder = new PathFinder(graph, cadastro -> cadastro == center ? 100 : 1);
+        List<Cadastro> path = finder.findPath(grid.get(0), grid.get(8));
+        assertEquals(4, path.size());
+        assertFalse(path.contains(center), "O caminho deve contornar a propriedade cara");
+        assertEquals(3.0, finder.getPathCost(path), 1e-9);
+        assertEquals(List.of(grid.get(4)), finder.findPath(center, center));
+
+        assertThrows(IllegalArgumentException.class, () -> new PathFinder(graph, cadastro -> -1));
+        assertThrows(IllegalArgumentException.class, () -> new PathFinder(null));
+    }
+
+    /**
+     * Testa caminhos inexistentes e propriedades fora do grafo
+     */
+    @Test
+    void disconnected() throws ParseException {
+        Cadastro a = PropertyGraphTest.createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1);
+        Cadastro b = PropertyGraphTest.createCadastro(2, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 2);
+        PropertyGraph graph = new PropertyGraph(List.of(a, b));
+
+        assertTrue(new PathFinder(graph).findPath(a, b).isEmpty());
+        assertTrue(new PathFinder(graph, Cadastro::getArea).findPath(a, b).isEmpty());
+        assertTrue(new PathFinder(graph).findPathBetweenOwners(1, 42).isEmpty());
+        Cadastro outside = PropertyGraphTest.createCadastro(3, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 1);
+        assertThrows(IllegalArgumentException.class, () -> new PathFinder(graph).findPath(a, outside));
+    }
+
+    /**
+     * Testa os caminhos entre proprietários - Complexidade Ciclomática: 4
+     */
+    @Test
+    void owners() throws ParseException {
+        PropertyGraph graph = new PropertyGraph(PropertyGraphTest.createGrid(4));
+        List<Cadastro> path = new PathFinder(graph, Cadastro::getArea).findPathBetweenOwners(1, 2);
+        assertEquals(2, path.size());
+        assertEquals(1, path.get(0).getOwner());
+        assertEquals(2, path.get(1).getOwner());
+
+        OwnerGraph owners = new OwnerGraph(graph);
+        assertArrayEquals(new int[]{1, 3}, PathFinder.findOwnerChain(owners, 1, 3));
+        assertArrayEquals(new int[]{2}, PathFinder.findOwnerChain(owners, 2, 2));
+        assertArrayEquals(new int[0], PathFinder.findOwnerChain(owners, 1, 42));
+    }
+}
@@ -0,0 +1,70 @@
+package service.spatial;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import static service.PropertyGraphTest.createCadastro;
+import java.util.*;
+
+/**
+ * Classe de teste para GapDetector
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 retorno)
+ * - detect: 2 (1 condição if + 1 retorno)
+ * - detectFrom: 5 (2 condições if + 1 ciclo + 1 try-catch + 1 retorno)
+ */
+class GapDetectorTest {
+    private List<Cadastro> testCadastros;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        testCadastros = new ArrayList<>();
+        testCadastros.add(createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1));
+        // Separada da primeira por uma falha de 0.05
+        testCadastros.add(createCadastro(2, "MULTIPOLYGON (((1.05 0, 1.05 1, 2 1, 2 0, 1.05 0)))", 2));
+        // Toca a primeira propriedade, não é uma falha
+        testCadastros.add(createCadastro(3, "MULTIPOLYGON (((0 1, 0 2, 1 2, 1 1, 0 1)))", 3));
+        // Longe de todas as outras
+        testCadastros.add(createCadastro(4, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 4));
+    }
+
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 2
+     */
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new GapDetector((CadastroIndex) null),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa detect - Complexidade Ciclomática: 2
+     */
+    @Test
+    void detect1() {
+        List<ParcelGap> gaps = new GapDetector(testCadastros).detect(0.1);
+        assertEquals(2, gaps.size(), "Devem ser reportadas as falhas entre 1/2 e 3/2");
+
+        ParcelGap gap = gaps.get(0);
+        assertSame(testCadastros.get(0), gap.first());
+        assertSame(testCadastros.get(1), gap.second());
+        assertEquals(0.05, gap.width(), 1e-9);
+        assertEquals(1.025, gap.location().x, 1e-9);
+    }
+
+    @Test
+    void detect2() {
+        assertTrue(new GapDetector(testCadastros).detect(0.01).isEmpty(),
+                "Falhas maiores do que a tolerância não devem ser reportadas");
+    }
+
+    @Test
+    void detect3() {
+        GapDetector detector = new GapDetector(testCadastros);
+        assertThrows(IllegalArgumentException.class, () -> detector.detect(0),
+                "Deve lançar IllegalArgumentException para tolerância não positiva");
+    }
+}
@@ -0,0 +1,65 @@
+package service.spatial;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import static service.PropertyGraphTest.createCadastro;
+import java.util.*;
+
+/**
+ * Classe de teste para OverlapScanner
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 retorno)
+ * - scan: 1 (1 retorno)
+ * - scanFrom: 5 (2 condições if + 1 ciclo + 1 try-catch + 1 retorno)
+ */
+class OverlapScannerTest {
+    private List<Cadastro> testCadastros;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        testCadastros = new ArrayList<>();
+        testCadastros.add(createCadastro(1, "MULTIPOLYGON (((0 0, 0 2, 2 2, 2 0, 0 0)))", 1));
+        // Sobrepõe-se a um quarto da primeira propriedade
+        testCadastros.add(createCadastro(2, "MULTIPOLYGON (((1 1, 1 3, 3 3, 3 1, 1 1)))", 2));
+        // Apenas toca a primeira propriedade
+        testCadastros.add(createCadastro(3, "MULTIPOLYGON (((-1 0, -1 1, 0 1, 0 0, -1 0)))", 3));
+    }
+
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 2
+     */
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new OverlapScanner((CadastroIndex) null),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa scan - Complexidade Ciclomática: 5
+     */
+    @Test
+    void scan1() {
+        List<ParcelOverlap> overlaps = new OverlapScanner(testCadastros).scan();
+        assertEquals(1, overlaps.size(), "Apenas o par com interiores sobrepostos deve ser reportado");
+
+        ParcelOverlap overlap = overlaps.get(0);
+        assertSame(testCadastros.get(0), overlap.first());
+        assertSame(testCadastros.get(1), overlap.second());
+        assertEquals(1.0, overlap.overlapArea(), 1e-9);
+        assertEquals(25.0, overlap.firstPercentage(), 1e-9);
+        assertEquals(25.0, overlap.secondPercentage(), 1e-9);
+    }
+
+    @Test
+    void scan2() throws ParseException {
+        // Propriedade contida na primeira: também é uma sobreposição de interiores
+        testCadastros.add(createCadastro(4, "MULTIPOLYGON (((0.2 0.2, 0.2 0.6, 0.6 0.6, 0.6 0.2, 0.2 0.2)))", 4));
+        List<ParcelOverlap> overlaps = new OverlapScanner(testCadastros).scan();
+        assertEquals(2, overlaps.size(), "Propriedades contidas devem ser reportadas");
+        assertEquals(100.0, overlaps.get(1).secondPercentage(), 1e-9);
+    }
+}
@@ -0,0 +1,110 @@
+package service.spatial;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.io.ParseException;
+import static org.junit.jupiter.api.Assertions.*;
+import static service.PropertyGraphTest.createCadastro;
+import java.util.*;
+
+/**
+ * Classe de teste para PointLocationService
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 retorno)
+ * - locate: 2 (1 condição if + 1 retorno)
+ * - locateAll: 4 (2 condições if + 1 ciclo + 1 retorno)
+ * - locateOwners: 2 (1 ciclo + 1 retorno)
+ */
+class PointLocationServiceTest {
+    private List<Cadastro> testCadastros;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        testCadastros = new ArrayList<>();
+        testCadastros.add(createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1));
+        testCadastros.add(createCadastro(2, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 2));
+        testCadastros.add(createCadastro(3, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 3));
+    }
+
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 2
+     */
+    @Test
+    void constructor1() {
+        assertNotNull(new PointLocationService(testCadastros), "Serviço deve ser criado com cadastros válidos");
+    }
+
+    @Test
+    void constructor2() {
+        assertThrows(IllegalArgumentException.class, () -> new PointLocationService((CadastroIndex) null),
+                "Deve lançar IllegalArgumentException para índice nulo");
+    }
+
+    /**
+     * Testa locate - Complexidade Ciclomática: 2
+     */
+    @Test
+    void locate1() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        assertEquals(testCadastros.get(2), service.locate(5.5, 5.5), "Deve encontrar a propriedade que contém o ponto");
+    }
+
+    @Test
+    void locate2() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        assertNull(service.locate(3.0, 3.0), "Deve devolver null para um ponto fora de todas as propriedades");
+    }
+
+    @Test
+    void locate3() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        assertEquals(testCadastros.get(0), service.locate(new Coordinate(1.0, 0.5)),
+                "Ponto na fronteira partilhada deve devolver a primeira propriedade da lista");
+    }
+
+    @Test
+    void locate4() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        assertThrows(IllegalArgumentException.class, () -> service.locate(null),
+                "Deve lançar IllegalArgumentException para coordenada nula");
+    }
+
+    /**
+     * Testa locateAll - Complexidade Ciclomática: 4
+     */
+    @Test
+    void locateAll1() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        Cadastro[] result = service.locateAll(List.of(new Coordinate(0.5, 0.5), new Coordinate(1.5, 0.5), new Coordinate(9, 9)));
+        assertArrayEquals(new Cadastro[]{testCadastros.get(0), testCadastros.get(1), null}, result,
+                "Resultado deve manter a ordem das coordenadas de entrada");
+    }
+
+    @Test
+    void locateAll2() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        assertThrows(IllegalArgumentException.class, () -> service.locateAll(null),
+                "Deve lançar IllegalArgumentException para lista nula");
+    }
+
+    @Test
+    void locateAll3() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        List<Coordinate> coordinates = Arrays.asList(new Coordinate(0.5, 0.5), null);
+        assertThrows(IllegalArgumentException.class, () -> service.locateAll(coordinates),
+                "Deve lançar IllegalArgumentException para coordenadas nulas");
+    }
+
+    /**
+     * Testa locateOwners - Complexidade Ciclomática: 2
+     */
+    @Test
+    void locateOwners() {
+        PointLocationService service = new PointLocationService(testCadastros);
+        int[] owners = service.locateOwners(List.of(new Coordinate(1.5, 0.5), new Coordinate(9, 9)));
+        assertArrayEquals(new int[]{2, 0}, owners, "Deve devolver o proprietário ou 0 quando não há propriedade");
+    }
+}
@@ -0,0 +1,111 @@
+package service.spatial;
+
+import model.Cadastro;
+import model.Zone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import static org.junit.jupiter.api.Assertions.*;
+import static service.PropertyGraphTest.createCadastro;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.*;
+
+/**
+ * Classe de teste para SpatialJoinService
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 7 (4 condições if + 2 ciclos + 1 retorno)
+ * - join: 3 (2 condições if + 1 retorno)
+ * - joinAll: 1 (1 retorno)
+ * - writeCsv: 3 (1 condição if + 1 try-catch + 1 retorno)
+ */
+class SpatialJoinServiceTest {
+    private List<Cadastro> testCadastros;
+    private List<Zone> testZones;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        testCadastros = new ArrayList<>();
+        testCadastros.add(createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1));
+        testCadastros.add(createCadastro(2, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 2));
+        testCadastros.add(createCadastro(3, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 3));
+
+        WKTReader reader = new WKTReader();
+        testZones = new ArrayList<>();
+        // Zona que cobre a primeira propriedade e metade da segunda
+        testZones.add(new Zone("A", reader.read("POLYGON ((-1 -1, 1.5 -1, 1.5 2, -1 2, -1 -1))")));
+        // Zona que apenas toca a terceira propriedade
+        testZones.add(new Zone("B", reader.read("POLYGON ((6 5, 7 5, 7 6, 6 6, 6 5))")));
+    }
+
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 7
+     */
+    @Test
+    void constructor1() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialJoinService(null, testZones),
+                "Deve lançar IllegalArgumentException para lista de cadastros nula");
+    }
+
+    @Test
+    void constructor2() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialJoinService(testCadastros, null),
+                "Deve lançar IllegalArgumentException para lista de zonas nula");
+    }
+
+    @Test
+    void constructor3() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpatialJoinService(testCadastros, Arrays.asList(testZones.get(0), null)),
+                "Deve lançar IllegalArgumentException para zonas nulas");
+    }
+
+    @Test
+    void constructor4() {
+        assertDoesNotThrow(() -> new SpatialJoinService(List.copyOf(testCadastros), List.copyOf(testZones)),
+                "Listas imutáveis devem ser aceites");
+    }
+
+    /**
+     * Testa join com as zonas indexadas - Complexidade Ciclomática: 3
+     */
+    @Test
+    void join1() {
+        List<ZoneOverlap> result = new SpatialJoinService(testCadastros, testZones).joinAll();
+        assertEquals(2, result.size(), "Apenas as sobreposições com área positiva devem ser reportadas");
+        assertEquals(new ZoneOverlap(1, "A", 1.0), result.get(0));
+        assertEquals(2, result.get(1).parcelId());
+        assertEquals(0.5, result.get(1).overlapArea(), 1e-9);
+    }
+
+    /**
+     * Testa join com as propriedades indexadas (mais zonas do que propriedades)
+     */
+    @Test
+    void join2() {
+        List<ZoneOverlap> result = new SpatialJoinService(testCadastros.subList(0, 1), testZones).joinAll();
+        assertEquals(List.of(new ZoneOverlap(1, "A", 1.0)), result,
+                "Resultado deve ser o mesmo qualquer que seja o lado indexado");
+    }
+
+    @Test
+    void join3() {
+        SpatialJoinService service = new SpatialJoinService(testCadastros, testZones);
+        assertThrows(IllegalArgumentException.class, () -> service.join(null),
+                "Deve lançar IllegalArgumentException para consumidor nulo");
+    }
+
+    /**
+     * Testa writeCsv - Complexidade Ciclomática: 3
+     */
+    @Test
+    void writeCsv() throws IOException {
+        StringWriter writer = new StringWriter();
+        long count = new SpatialJoinService(testCadastros, testZones).writeCsv(writer);
+        assertEquals(2, count, "Deve devolver o número de linhas de resultados");
+        assertEquals("parcel_id;zone_id;overlap_area\n1;A;1.0000\n2;A;0.5000\n", writer.toString(),
+                "Todas as linhas devem terminar em '\\n'");
+    }
+}
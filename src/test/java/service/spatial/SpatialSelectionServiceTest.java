@@ -0,0 +1,100 @@
+package service.spatial;
+
+import model.Cadastro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import service.PropertyGraph;
+import static org.junit.jupiter.api.Assertions.*;
+import static service.PropertyGraphTest.createCadastro;
+import java.util.*;
+
+/**
+ * Classe de teste para SpatialSelectionService
+ *
+ * Complexidade Ciclomática por método:
+ * - construtor: 2 (1 condição if + 1 retorno)
+ * - selectByEnvelope: 2 (1 condição if + 1 retorno)
+ * - selectIntersecting: 2 (1 condição if + 1 retorno)
+ * - selectIdsIntersecting: 1 (1 retorno)
+ * - streamIntersecting: 1 (1 retorno)
+ * - countIntersecting: 1 (1 retorno)
+ */
+class SpatialSelectionServiceTest {
+    private List<Cadastro> testCadastros;
+    private SpatialSelectionService service;
+
+    @BeforeEach
+    void setUp() throws ParseException {
+        testCadastros = new ArrayList<>();
+        testCadastros.add(createCadastro(1, "MULTIPOLYGON (((0 0, 0 1, 1 1, 1 0, 0 0)))", 1));
+        testCadastros.add(createCadastro(2, "MULTIPOLYGON (((1 0, 1 1, 2 1, 2 0, 1 0)))", 2));
+        testCadastros.add(createCadastro(3, "MULTIPOLYGON (((5 5, 5 6, 6 6, 6 5, 5 5)))", 3));
+        service = new SpatialSelectionService(new PropertyGraph(testCadastros));
+    }
+
+    /**
+     * Testa o construtor - Complexidade Ciclomática: 2
+     */
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialSelectionService(null),
+                "Deve lançar IllegalArgumentException para grafo nulo");
+    }
+
+    /**
+     * Testa selectByEnvelope - Complexidade Ciclomática: 2
+     */
+    @Test
+    void selectByEnvelope1() {
+        List<Cadastro> selected = service.selectByEnvelope(new Envelope(0.5, 1.5, 0.2, 0.8));
+        assertEquals(List.of(testCadastros.get(0), testCadastros.get(1)), selected,
+                "Deve selecionar as propriedades intersetadas pelo retângulo");
+    }
+
+    @Test
+    void selectByEnvelope2() {
+        assertThrows(IllegalArgumentException.class, () -> service.selectByEnvelope(null),
+                "Deve lançar IllegalArgumentException para envelope nulo");
+    }
+
+    /**
+     * Testa selectIntersecting - Complexidade Ciclomática: 2
+     */
+    @Test
+    void selectIntersecting1() throws ParseException {
+        // Triângulo cujo envelope interseta a terceira propriedade mas cuja geometria não
+        List<Cadastro> selected = service.selectIntersecting(new WKTReader().read("POLYGON ((0 5, 5.5 8, 0 10, 0 5))"));
+        assertTrue(selected.isEmpty(), "Deve excluir candidatos cujo envelope interseta mas a geometria não");
+
+        selected = service.selectIntersecting(new WKTReader().read("POLYGON ((3 0, 7 0, 7 7, 3 0))"));
+        assertEquals(List.of(testCadastros.get(2)), selected, "Deve selecionar a propriedade intersetada");
+    }
+
+    @Test
+    void selectIntersecting2() {
+        assertThrows(IllegalArgumentException.class, () -> service.selectIntersecting(null),
+                "Deve lançar IllegalArgumentException para geometria nula");
+    }
+
+    /**
+     * Testa selectIdsIntersecting - Complexidade Ciclomática: 1
+     */
+    @Test
+    void selectIdsIntersecting() throws ParseException {
+        int[] ids = service.selectIdsIntersecting(new WKTReader().read("POLYGON ((1.5 0.5, 5.5 0.5, 5.5 5.5, 1.5 5.5, 1.5 0.5))"));
+        assertArrayEquals(new int[]{2, 3}, ids, "Deve devolver os IDs das propriedades selecionadas");
+    }
+
+    /**
+     * Testa streamIntersecting e countIntersecting - Complexidade Ciclomática: 1
+     */
+    @Test
+    void streamIntersecting() throws ParseException {
+        var area = new WKTReader().read("POLYGON ((-1 -1, 10 -1, 10 10, -1 10, -1 -1))");
+        assertEquals(3, service.streamIntersecting(area).count(), "Stream deve conter todas as propriedades");
+        assertEquals(3, service.countIntersecting(area), "Contagem deve coincidir com o stream");
+    }
+}